@@ -32,11 +32,17 @@ public abstract class AbstractProjectImporter implements IProjectImporter {
 
 	protected File rootFolder;
 	protected Collection<java.nio.file.Path> directories;
+	/**
+	 * The directories found by {@link #discover(IProgressMonitor)}, before
+	 * excluding the projects imported in the meantime.
+	 */
+	protected volatile Collection<java.nio.file.Path> discoveredDirectories;
 
 	@Override
 	public void initialize(File rootFolder) {
 		if (!Objects.equals(this.rootFolder, rootFolder)) {
 			reset();
+			discoveredDirectories = null;
 		}
 		this.rootFolder = rootFolder;
 	}
@@ -55,6 +61,22 @@ public abstract class AbstractProjectImporter implements IProjectImporter {
 	@Override
 	public abstract void reset();
 
+	/**
+	 * Removes the directories located at, or below, any of the given locations.
+	 *
+	 * @param directories
+	 *            the candidate directories
+	 * @param locations
+	 *            the locations to exclude
+	 * @return the remaining directories, in their original order.
+	 */
+	protected static Collection<Path> excludeLocations(Collection<Path> directories, Collection<Path> locations) {
+		if (directories == null || directories.isEmpty() || locations.isEmpty()) {
+			return directories;
+		}
+		return directories.stream().filter(dir -> locations.stream().noneMatch(location -> dir.startsWith(location))).collect(Collectors.toList());
+	}
+
 	protected static Preferences getPreferences() {
 		return (JavaLanguageServerPlugin.getPreferencesManager() == null || JavaLanguageServerPlugin.getPreferencesManager().getPreferences() == null) ? new Preferences() : JavaLanguageServerPlugin.getPreferencesManager().getPreferences();
 	}
@@ -15,12 +15,15 @@ package org.eclipse.jdt.ls.core.internal;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics;
 import org.eclipse.lsp4j.Registration;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.Unregistration;
@@ -71,8 +74,34 @@ public class BaseJDTLanguageServer {
 		}
 	}
 
+	/**
+	 * Registers the given capabilities which aren't registered yet, with a
+	 * single request.
+	 */
+	public void registerCapabilities(List<Registration> registrations) {
+		if (client != null) {
+			List<Registration> added = registrations.stream().filter(registration -> registeredCapabilities.add(registration.getId())).collect(Collectors.toList());
+			if (!added.isEmpty()) {
+				client.registerCapability(new RegistrationParams(added));
+			}
+		}
+	}
+
+	/**
+	 * Unregisters the given capabilities which are registered, with a single
+	 * request.
+	 */
+	public void unregisterCapabilities(List<Unregistration> unregistrations) {
+		if (client != null) {
+			List<Unregistration> removed = unregistrations.stream().filter(unregistration -> registeredCapabilities.remove(unregistration.getId())).collect(Collectors.toList());
+			if (!removed.isEmpty()) {
+				client.unregisterCapability(new UnregistrationParams(removed));
+			}
+		}
+	}
+
 	protected <R> CompletableFuture<R> computeAsync(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync(cc -> code.apply(toMonitor(cc)));
+		return CompletableFutures.computeAsync(Metrics.track(cc -> code.apply(toMonitor(cc))));
 	}
 
 	protected IProgressMonitor toMonitor(CancelChecker checker) {
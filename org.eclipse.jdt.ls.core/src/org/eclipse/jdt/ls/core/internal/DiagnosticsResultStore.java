@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Keeps the last known diagnostics of every document, together with a result
+ * id derived from their content. The result id is what pull diagnostic
+ * requests (<code>textDocument/diagnostic</code> and
+ * <code>workspace/diagnostic</code>) hand out to clients, so that a client
+ * asking again with the same id can be answered with an "unchanged" report.
+ *
+ * The results are kept in memory only, the documents which weren't reported
+ * since the server started are answered from their problem markers.
+ */
+public class DiagnosticsResultStore {
+
+	private final Map<String, DiagnosticsResult> results = new ConcurrentHashMap<>();
+	private volatile boolean pullEnabled;
+
+	/**
+	 * @return whether the client pulls the diagnostics, instead of having them
+	 *         pushed
+	 */
+	public boolean isPullEnabled() {
+		return pullEnabled;
+	}
+
+	public void setPullEnabled(boolean pullEnabled) {
+		this.pullEnabled = pullEnabled;
+	}
+
+	/**
+	 * Records the diagnostics of the given document.
+	 *
+	 * @param uri
+	 *            the client uri of the document
+	 * @param diagnostics
+	 *            the current diagnostics of the document
+	 * @return the recorded result
+	 */
+	public DiagnosticsResult update(String uri, List<Diagnostic> diagnostics) {
+		List<Diagnostic> items = diagnostics == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(diagnostics));
+		String resultId = computeResultId(items);
+		return results.compute(uri, (key, previous) -> {
+			if (previous != null && previous.getResultId().equals(resultId)) {
+				return previous;
+			}
+			return new DiagnosticsResult(uri, resultId, items);
+		});
+	}
+
+	/**
+	 * @return the last recorded result of the given document, or
+	 *         <code>null</code> if none was recorded yet
+	 */
+	public DiagnosticsResult get(String uri) {
+		return uri == null ? null : results.get(uri);
+	}
+
+	/**
+	 * @return all the recorded results
+	 */
+	public Collection<DiagnosticsResult> getAll() {
+		return Collections.unmodifiableCollection(results.values());
+	}
+
+	public void remove(String uri) {
+		if (uri != null) {
+			results.remove(uri);
+		}
+	}
+
+	/**
+	 * Removes the results of the documents in the given folder, e.g. of a
+	 * removed project.
+	 */
+	public void removeAll(String folderUri) {
+		if (folderUri != null) {
+			String prefix = folderUri.endsWith("/") ? folderUri : folderUri + "/";
+			results.keySet().removeIf(uri -> uri.startsWith(prefix));
+		}
+	}
+
+	public void clear() {
+		results.clear();
+	}
+
+	/**
+	 * Computes a stable identifier of the given diagnostics. Don't rely on
+	 * {@link Diagnostic#hashCode()} here, it mixes in enum identity hash codes
+	 * which differ from one JVM to the next.
+	 */
+	public static String computeResultId(List<Diagnostic> diagnostics) {
+		long hash = 0xcbf29ce484222325L;
+		for (Diagnostic diagnostic : diagnostics) {
+			hash = hash(hash, diagnostic.getMessage());
+			hash = hash(hash, diagnostic.getSource());
+			hash = hash(hash, diagnostic.getSeverity() == null ? -1 : diagnostic.getSeverity().getValue());
+			if (diagnostic.getCode() != null) {
+				hash = hash(hash, diagnostic.getCode().isLeft() ? diagnostic.getCode().getLeft() : String.valueOf(diagnostic.getCode().getRight()));
+			}
+			Range range = diagnostic.getRange();
+			if (range != null) {
+				hash = hash(hash, range.getStart());
+				hash = hash(hash, range.getEnd());
+			}
+			if (diagnostic.getTags() != null) {
+				hash = hash(hash, diagnostic.getTags().size());
+				for (int i = 0; i < diagnostic.getTags().size(); i++) {
+					hash = hash(hash, diagnostic.getTags().get(i).getValue());
+				}
+			}
+		}
+		return diagnostics.size() + "-" + Long.toHexString(hash);
+	}
+
+	private static long hash(long hash, Position position) {
+		if (position == null) {
+			return hash(hash, -1);
+		}
+		return hash(hash(hash, position.getLine()), position.getCharacter());
+	}
+
+	private static long hash(long hash, String value) {
+		if (value == null) {
+			return hash(hash, -1);
+		}
+		for (int i = 0; i < value.length(); i++) {
+			hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+		}
+		return hash(hash, value.length());
+	}
+
+	private static long hash(long hash, int value) {
+		return (hash ^ value) * 0x100000001b3L;
+	}
+
+	public static class DiagnosticsResult {
+
+		private final String uri;
+		private final String resultId;
+		private final List<Diagnostic> diagnostics;
+
+		DiagnosticsResult(String uri, String resultId, List<Diagnostic> diagnostics) {
+			this.uri = uri;
+			this.resultId = resultId;
+			this.diagnostics = diagnostics;
+		}
+
+		public String getUri() {
+			return uri;
+		}
+
+		public String getResultId() {
+			return resultId;
+		}
+
+		public List<Diagnostic> getDiagnostics() {
+			return diagnostics;
+		}
+	}
+}
@@ -23,7 +23,12 @@ public enum EventType {
 	/**
 	 * projects imported event.
 	 */
-	ProjectsImported(200);
+	ProjectsImported(200),
+
+	/**
+	 * startup timeline event.
+	 */
+	StartupTimeline(300);
 	
 	private final int value;
 	
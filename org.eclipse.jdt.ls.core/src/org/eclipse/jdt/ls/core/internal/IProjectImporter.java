@@ -26,6 +26,21 @@ public interface IProjectImporter {
 
 	boolean applies(IProgressMonitor monitor) throws OperationCanceledException, CoreException;
 
+	/**
+	 * Performs the workspace independent part of the project detection, e.g.
+	 * scanning the file system for build files, so that
+	 * {@link #applies(IProgressMonitor)} can reuse its result. It is called
+	 * concurrently for all the root folders before any project is imported,
+	 * implementations must not modify the workspace.
+	 *
+	 * @param monitor
+	 *            progress monitor, only meant to check for cancellation.
+	 * @throws CoreException
+	 * @throws OperationCanceledException
+	 */
+	default void discover(IProgressMonitor monitor) throws OperationCanceledException, CoreException {
+	}
+
 	/**
 	 * Check whether the importer applies to the given project configurations.
 	 * @param projectConfigurations Collection of the project configurations.
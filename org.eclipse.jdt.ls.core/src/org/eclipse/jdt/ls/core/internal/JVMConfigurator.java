@@ -14,8 +14,11 @@ package org.eclipse.jdt.ls.core.internal;
 
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -75,14 +78,7 @@ public class JVMConfigurator implements IVMInstallChangedListener {
 
 		IVMInstall vm = findVM(jvmHome, null);
 		if (vm == null) {
-			IVMInstallType installType = JavaRuntime.getVMInstallType(StandardVMType.ID_STANDARD_VM_TYPE);
-			if (installType == null || installType.getVMInstalls().length == 0) {
-				// https://github.com/eclipse/eclipse.jdt.ls/issues/1646
-				IVMInstallType macInstallType = JavaRuntime.getVMInstallType(MAC_OSX_VM_TYPE);
-				if (macInstallType != null) {
-					installType = macInstallType;
-				}
-			}
+			IVMInstallType installType = getVMInstallType();
 			long unique = System.currentTimeMillis();
 			while (installType.findVMInstall(String.valueOf(unique)) != null) {
 				unique++;
@@ -109,6 +105,15 @@ public class JVMConfigurator implements IVMInstallChangedListener {
 		boolean changed = false;
 		boolean defaultVMSet = false;
 		Set<RuntimeEnvironment> runtimes = preferences.getRuntimes();
+		// probing an installation may launch it, probe them all at once
+		List<File> installations = new ArrayList<>();
+		for (RuntimeEnvironment runtime : runtimes) {
+			File file = runtime.isValid() ? runtime.getInstallationFile() : null;
+			if (file != null && file.isDirectory()) {
+				installations.add(file);
+			}
+		}
+		Map<File, JVMProbeCache.Probe> probes = installations.isEmpty() ? Collections.emptyMap() : JVMProbeCache.getInstance().probe(installations, getVMInstallType());
 		for (RuntimeEnvironment runtime : runtimes) {
 			if (runtime.isValid()) {
 				File file = runtime.getInstallationFile();
@@ -116,14 +121,8 @@ public class JVMConfigurator implements IVMInstallChangedListener {
 					URL javadocURL = runtime.getJavadocURL();
 					IPath sourcePath = runtime.getSourcePath();
 					IVMInstall vm = findVM(file, runtime.getName());
-					IVMInstallType installType = JavaRuntime.getVMInstallType(StandardVMType.ID_STANDARD_VM_TYPE);
-					if (installType == null || installType.getVMInstalls().length == 0) {
-						// https://github.com/eclipse/eclipse.jdt.ls/issues/1646
-						IVMInstallType macInstallType = JavaRuntime.getVMInstallType(MAC_OSX_VM_TYPE);
-						if (macInstallType != null) {
-							installType = macInstallType;
-						}
-					}
+					IVMInstallType installType = getVMInstallType();
+					JVMProbeCache.Probe probe = probes.get(file);
 					VMStandin vmStandin;
 					if (vm == null) {
 						long unique = System.currentTimeMillis();
@@ -138,7 +137,7 @@ public class JVMConfigurator implements IVMInstallChangedListener {
 						changed = changed || !runtime.getName().equals(vm.getName()) || !runtime.getInstallationFile().equals(vm.getInstallLocation());
 					}
 
-					IStatus status = installType.validateInstallLocation(file);
+					IStatus status = probe != null ? probe.getStatus() : installType.validateInstallLocation(file);
 					if (!status.isOK()) {
 						if (Objects.equals(file.getName(), "bin")) {
 							sendNotification(connection, "Invalid runtime for " + runtime.getName() + ": 'bin' should be removed from the path (" + runtime.getPath() + ").");
@@ -158,8 +157,11 @@ public class JVMConfigurator implements IVMInstallChangedListener {
 						if (vm != null && vm.getLibraryLocations() != null) {
 							libs = vm.getLibraryLocations();
 						} else {
-							StandardVMType svt = (StandardVMType) installType;
-							libs = svt.getDefaultLibraryLocations(file);
+							libs = probe != null ? probe.getLibraryLocations() : null;
+							if (libs == null) {
+								StandardVMType svt = (StandardVMType) installType;
+								libs = svt.getDefaultLibraryLocations(file);
+							}
 						}
 						boolean libChanged = false;
 						if (libs != null) {
@@ -209,6 +211,18 @@ public class JVMConfigurator implements IVMInstallChangedListener {
 		return changed;
 	}
 
+	private static IVMInstallType getVMInstallType() {
+		IVMInstallType installType = JavaRuntime.getVMInstallType(StandardVMType.ID_STANDARD_VM_TYPE);
+		if (installType == null || installType.getVMInstalls().length == 0) {
+			// https://github.com/eclipse/eclipse.jdt.ls/issues/1646
+			IVMInstallType macInstallType = JavaRuntime.getVMInstallType(MAC_OSX_VM_TYPE);
+			if (macInstallType != null) {
+				installType = macInstallType;
+			}
+		}
+		return installType;
+	}
+
 	private static void sendNotification(JavaClientConnection connection, String message) {
 		if (connection == null) {
 			return;
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.launching.IVMInstallType;
+import org.eclipse.jdt.launching.LibraryLocation;
+
+/**
+ * Remembers the result of probing the JDK installations configured by
+ * <code>java.configuration.runtimes</code>: whether they are valid, and their
+ * default libraries, which may require launching the JDK.
+ *
+ * The results are persisted, and are only computed again for the
+ * installations whose <code>release</code> or <code>lib/modules</code> file
+ * changed.
+ */
+final class JVMProbeCache {
+
+	private static final String SERIALIZATION_FILE_NAME = ".jvm-probes";
+
+	private static JVMProbeCache instance;
+
+	private final Map<String, Probe> probes;
+	private final File stateFile;
+
+	JVMProbeCache(File stateLocation) {
+		this.stateFile = stateLocation == null ? null : new File(stateLocation, SERIALIZATION_FILE_NAME);
+		if (stateFile != null && stateFile.isFile()) {
+			probes = deserializeProbes();
+		} else {
+			probes = new HashMap<>();
+		}
+	}
+
+	static synchronized JVMProbeCache getInstance() {
+		if (instance == null) {
+			JavaLanguageServerPlugin plugin = JavaLanguageServerPlugin.getInstance();
+			instance = new JVMProbeCache(plugin == null ? null : plugin.getStateLocation().toFile());
+		}
+		return instance;
+	}
+
+	/**
+	 * Probes the given installations, in parallel, unless they were already
+	 * probed and haven't changed since.
+	 *
+	 * @return the probes, by installation
+	 */
+	synchronized Map<File, Probe> probe(Collection<File> installations, IVMInstallType installType) {
+		Map<File, Probe> result = new HashMap<>();
+		Map<File, CompletableFuture<Probe>> futures = new HashMap<>();
+		for (File installation : new LinkedHashSet<>(installations)) {
+			long stamp = getStamp(installation);
+			Probe probe = stamp == 0 ? null : probes.get(getKey(installation, installType));
+			if (probe != null && probe.stamp == stamp) {
+				result.put(installation, probe);
+			} else {
+				futures.put(installation, CompletableFuture.supplyAsync(() -> Probe.compute(installation, installType, stamp)));
+			}
+		}
+		if (futures.isEmpty()) {
+			return result;
+		}
+		boolean changed = false;
+		for (Map.Entry<File, CompletableFuture<Probe>> entry : futures.entrySet()) {
+			Probe probe = entry.getValue().join();
+			result.put(entry.getKey(), probe);
+			// the invalid installations are probed again, to report why they're invalid
+			if (probe.stamp != 0 && probe.getStatus().isOK()) {
+				probes.put(getKey(entry.getKey(), installType), probe);
+				changed = true;
+			} else {
+				changed |= probes.remove(getKey(entry.getKey(), installType)) != null;
+			}
+		}
+		if (changed) {
+			serializeProbes();
+		}
+		return result;
+	}
+
+	private static String getKey(File installation, IVMInstallType installType) {
+		return installType.getId() + ":" + installation.getAbsolutePath();
+	}
+
+	/**
+	 * @return a stamp which changes when the JDK at the given location is
+	 *         updated, or 0 if it can't be computed
+	 */
+	private static long getStamp(File installation) {
+		File release = new File(installation, "release");
+		File modules = new File(installation, "lib/modules");
+		if (!release.isFile() && !modules.isFile()) {
+			return 0;
+		}
+		long stamp = 17;
+		stamp = 31 * stamp + release.lastModified();
+		stamp = 31 * stamp + release.length();
+		stamp = 31 * stamp + modules.lastModified();
+		stamp = 31 * stamp + modules.length();
+		return stamp == 0 ? 1 : stamp;
+	}
+
+	private void serializeProbes() {
+		if (stateFile == null) {
+			return;
+		}
+		try (ObjectOutputStream outStream = new ObjectOutputStream(new FileOutputStream(stateFile))) {
+			outStream.writeObject(probes);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while serialization of JVM probes", e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Probe> deserializeProbes() {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(stateFile))) {
+			return (Map<String, Probe>) ois.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of JVM probes", e);
+			return new HashMap<>();
+		}
+	}
+
+	/**
+	 * The result of probing a JDK installation.
+	 */
+	static final class Probe implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final long stamp;
+		/**
+		 * The status of an installation which was just probed, <code>null</code>
+		 * for a valid installation read from the cache
+		 */
+		private final transient IStatus status;
+		/**
+		 * The path, source path, package root, javadoc, index and external
+		 * annotations of each default library
+		 */
+		private final String[][] libraries;
+
+		private Probe(long stamp, IStatus status, String[][] libraries) {
+			this.stamp = stamp;
+			this.status = status;
+			this.libraries = libraries;
+		}
+
+		private static Probe compute(File installation, IVMInstallType installType, long stamp) {
+			IStatus status = installType.validateInstallLocation(installation);
+			if (!status.isOK()) {
+				return new Probe(stamp, status, null);
+			}
+			LibraryLocation[] libs = installType.getDefaultLibraryLocations(installation);
+			String[][] libraries = null;
+			if (libs != null) {
+				libraries = new String[libs.length][];
+				for (int i = 0; i < libs.length; i++) {
+					LibraryLocation lib = libs[i];
+					libraries[i] = new String[] { toString(lib.getSystemLibraryPath()), toString(lib.getSystemLibrarySourcePath()), toString(lib.getPackageRootPath()), toString(lib.getJavadocLocation()), toString(lib.getIndexLocation()),
+							toString(lib.getExternalAnnotationsPath()) };
+				}
+			}
+			return new Probe(stamp, status, libraries);
+		}
+
+		IStatus getStatus() {
+			return status == null ? Status.OK_STATUS : status;
+		}
+
+		/**
+		 * @return the default libraries of the installation, or
+		 *         <code>null</code> if they are unknown
+		 */
+		LibraryLocation[] getLibraryLocations() {
+			if (libraries == null) {
+				return null;
+			}
+			List<LibraryLocation> libs = new ArrayList<>(libraries.length);
+			try {
+				for (String[] library : libraries) {
+					libs.add(new LibraryLocation(toPath(library[0]), toPath(library[1]), toPath(library[2]), toURL(library[3]), toURL(library[4]), toPath(library[5])));
+				}
+			} catch (MalformedURLException e) {
+				return null;
+			}
+			return libs.toArray(new LibraryLocation[libs.size()]);
+		}
+
+		private static String toString(IPath path) {
+			return path == null ? null : path.toPortableString();
+		}
+
+		private static String toString(URL url) {
+			return url == null ? null : url.toExternalForm();
+		}
+
+		private static IPath toPath(String path) {
+			return path == null ? null : Path.fromPortableString(path);
+		}
+
+		private static URL toURL(String url) throws MalformedURLException {
+			return url == null ? null : new URL(url);
+		}
+	}
+}
@@ -15,10 +15,16 @@ package org.eclipse.jdt.ls.core.internal;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore.DiagnosticsResult;
 import org.eclipse.jdt.ls.core.internal.handlers.LogHandler;
 import org.eclipse.jdt.ls.core.internal.lsp.ExecuteCommandProposedClient;
 import org.eclipse.lsp4j.ApplyWorkspaceEditParams;
@@ -35,6 +41,7 @@ import org.eclipse.lsp4j.ShowMessageRequestParams;
 import org.eclipse.lsp4j.UnregistrationParams;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.services.LanguageClient;
 
 import com.google.common.collect.ImmutableList;
@@ -73,15 +80,37 @@ public class JavaClientConnection {
 		@JsonNotification("language/progressReport")
 		void sendProgressReport(ProgressReport report);
 
+		/**
+		 * The diagnostic refresh request is sent from a server to a client which
+		 * pulls the diagnostics, to ask the client to pull them again (LSP 3.17).
+		 */
+		@JsonRequest("workspace/diagnostic/refresh")
+		CompletableFuture<Void> refreshDiagnostics();
+
 	}
 
+	/**
+	 * The delay before a pulling client is asked to refresh its diagnostics, so
+	 * that the diagnostics published by a build result in a single refresh.
+	 */
+	private static final long DIAGNOSTICS_REFRESH_DELAY = 200;
+
 	private final LogHandler logHandler;
 	private final JavaLanguageClient client;
+	private final Job diagnosticsRefreshJob;
 
 	public JavaClientConnection(JavaLanguageClient client) {
 		this.client = client;
 		logHandler = new LogHandler();
 		logHandler.install(this);
+		diagnosticsRefreshJob = new Job("Refresh diagnostics") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				client.refreshDiagnostics();
+				return Status.OK_STATUS;
+			}
+		};
+		diagnosticsRefreshJob.setSystem(true);
 	}
 
 	public Object executeClientCommand(Duration timeout, String id, Object... params) throws InterruptedException, ExecutionException, TimeoutException {
@@ -183,9 +212,28 @@ public class JavaClientConnection {
 	}
 
 	public void publishDiagnostics(PublishDiagnosticsParams diagnostics){
+		DiagnosticsResultStore store = JavaLanguageServerPlugin.getDiagnosticsResultStore();
+		if (store != null) {
+			DiagnosticsResult previous = store.get(diagnostics.getUri());
+			DiagnosticsResult result = store.update(diagnostics.getUri(), diagnostics.getDiagnostics());
+			if (store.isPullEnabled()) {
+				// the client pulls the diagnostics from the store, ask it to pull them again when they changed
+				if (result != previous) {
+					refreshDiagnostics();
+				}
+				return;
+			}
+		}
 		client.publishDiagnostics(diagnostics);
 	}
 
+	private void refreshDiagnostics() {
+		int state = diagnosticsRefreshJob.getState();
+		if (state != Job.SLEEPING && state != Job.WAITING) {
+			diagnosticsRefreshJob.schedule(DIAGNOSTICS_REFRESH_DELAY);
+		}
+	}
+
 
 	/**
 	 * Sends a message to client to apply the given workspace edit.
@@ -226,6 +274,7 @@ public class JavaClientConnection {
 		if (logHandler != null) {
 			logHandler.uninstall();
 		}
+		diagnosticsRefreshJob.cancel();
 	}
 
 }
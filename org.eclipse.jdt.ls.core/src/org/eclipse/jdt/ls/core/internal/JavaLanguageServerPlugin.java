@@ -66,11 +66,17 @@ import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.managers.DigestStore;
 import org.eclipse.jdt.ls.core.internal.managers.ISourceDownloader;
+import org.eclipse.jdt.ls.core.internal.managers.JarIdentityIndex;
 import org.eclipse.jdt.ls.core.internal.managers.MavenSourceDownloader;
+import org.eclipse.jdt.ls.core.internal.managers.PomChangeClassifier;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.managers.StandardProjectsManager;
+import org.eclipse.jdt.ls.core.internal.managers.WorkspaceSnapshot;
+import org.eclipse.jdt.ls.core.internal.metrics.MessageMetrics;
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsReporter;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.StandardPreferenceManager;
+import org.eclipse.jdt.ls.core.internal.search.text.TokenIndex;
 import org.eclipse.jdt.ls.core.internal.syntaxserver.SyntaxLanguageServer;
 import org.eclipse.jdt.ls.core.internal.syntaxserver.SyntaxProjectsManager;
 import org.eclipse.jface.text.templates.TemplateVariableResolver;
@@ -129,6 +135,10 @@ public class JavaLanguageServerPlugin extends Plugin {
 	private LanguageServer languageServer;
 	private ProjectsManager projectsManager;
 	private DigestStore digestStore;
+	private JarIdentityIndex jarIdentityIndex;
+	private PomChangeClassifier pomChangeClassifier;
+	private WorkspaceSnapshot workspaceSnapshot;
+	private TokenIndex tokenIndex;
 	private ContentProviderManager contentProviderManager;
 
 	private BaseJDTLanguageServer protocol;
@@ -142,6 +152,10 @@ public class JavaLanguageServerPlugin extends Plugin {
 
 	private DiagnosticsState nonProjectDiagnosticsState;
 
+	private DiagnosticsResultStore diagnosticsResultStore;
+
+	private MetricsReporter metricsReporter;
+
 	public static LanguageServer getLanguageServer() {
 		return pluginInstance == null ? null : pluginInstance.languageServer;
 	}
@@ -156,6 +170,13 @@ public class JavaLanguageServerPlugin extends Plugin {
 	 */
 	@Override
 	public void start(BundleContext bundleContext) throws Exception {
+		StartupTimeline.begin();
+		try (StartupTimeline.Phase phase = StartupTimeline.phase("Activate " + IConstants.PLUGIN_ID)) {
+			doStart(bundleContext);
+		}
+	}
+
+	private void doStart(BundleContext bundleContext) throws Exception {
 		super.start(bundleContext);
 		try {
 			Platform.getBundle(ResourcesPlugin.PI_RESOURCES).start(Bundle.START_TRANSIENT);
@@ -188,6 +209,12 @@ public class JavaLanguageServerPlugin extends Plugin {
 		fDefaultPreferenceStore.put(JavaManipulationPlugin.CODEASSIST_FAVORITE_STATIC_MEMBERS, "");
 
 		digestStore = new DigestStore(getStateLocation().toFile());
+		workspaceSnapshot = new WorkspaceSnapshot(getStateLocation().toFile());
+		jarIdentityIndex = new JarIdentityIndex(getStateLocation().toFile());
+		pomChangeClassifier = new PomChangeClassifier(getStateLocation().toFile());
+		if (!JDTEnvironmentUtils.isSyntaxServer()) {
+			tokenIndex = new TokenIndex(getStateLocation().toFile());
+		}
 		try {
 			ResourcesPlugin.getWorkspace().addSaveParticipant(IConstants.PLUGIN_ID, projectsManager);
 		} catch (CoreException e) {
@@ -195,6 +222,8 @@ public class JavaLanguageServerPlugin extends Plugin {
 		}
 		contentProviderManager = new ContentProviderManager(preferenceManager);
 		nonProjectDiagnosticsState = new DiagnosticsState();
+		diagnosticsResultStore = new DiagnosticsResultStore();
+		metricsReporter = MetricsReporter.start();
 		logInfo(getClass() + " is started");
 		configureProxy();
 		// turn off substring code completion if isn't explicitly set
@@ -385,7 +414,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 				AsynchronousSocketChannel socketChannel = serverSocket.accept().get();
 				InputStream in = Channels.newInputStream(socketChannel);
 				OutputStream out = Channels.newOutputStream(socketChannel);
-				Function<MessageConsumer, MessageConsumer> messageConsumer = it -> it;
+				Function<MessageConsumer, MessageConsumer> messageConsumer = new MessageMetrics();
 				launcher = Launcher.createIoLauncher(protocol, JavaLanguageClient.class, in, out, executorService, messageConsumer);
 			} catch (InterruptedException | ExecutionException e) {
 				throw new RuntimeException("Error when opening a socket channel at " + host + ":" + port + ".", e);
@@ -400,6 +429,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 			} else {
 				wrapper = new ParentProcessWatcher(this.languageServer);
 			}
+			wrapper = new MessageMetrics().andThen(wrapper);
 			launcher = Launcher.createLauncher(protocol, JavaLanguageClient.class, in, out, executorService, wrapper);
 		}
 		protocol.connectClient(launcher.getRemoteProxy());
@@ -416,6 +446,18 @@ public class JavaLanguageServerPlugin extends Plugin {
 		JavaLanguageServerPlugin.pluginInstance = null;
 		JavaLanguageServerPlugin.context = null;
 		ResourcesPlugin.getWorkspace().removeSaveParticipant(IConstants.PLUGIN_ID);
+		if (metricsReporter != null) {
+			metricsReporter.stop();
+			metricsReporter = null;
+		}
+		if (tokenIndex != null) {
+			tokenIndex.close();
+			tokenIndex = null;
+		}
+		if (jarIdentityIndex != null) {
+			jarIdentityIndex.close();
+			jarIdentityIndex = null;
+		}
 		projectsManager = null;
 		contentProviderManager = null;
 		languageServer = null;
@@ -433,6 +475,10 @@ public class JavaLanguageServerPlugin extends Plugin {
 		return pluginInstance.nonProjectDiagnosticsState;
 	}
 
+	public static DiagnosticsResultStore getDiagnosticsResultStore() {
+		return pluginInstance == null ? null : pluginInstance.diagnosticsResultStore;
+	}
+
 	public static void log(IStatus status) {
 		if (context != null) {
 			Platform.getLog(JavaLanguageServerPlugin.context.getBundle()).log(status);
@@ -495,6 +541,33 @@ public class JavaLanguageServerPlugin extends Plugin {
 		return pluginInstance.digestStore;
 	}
 
+	public static WorkspaceSnapshot getWorkspaceSnapshot() {
+		return pluginInstance == null ? null : pluginInstance.workspaceSnapshot;
+	}
+
+	public static PomChangeClassifier getPomChangeClassifier() {
+		return pluginInstance == null ? null : pluginInstance.pomChangeClassifier;
+	}
+
+	/**
+	 * @return the index of the text files, or <code>null</code> if the text
+	 *         searches can't be narrowed down
+	 */
+	public static TokenIndex getTokenIndex() {
+		return pluginInstance == null ? null : pluginInstance.tokenIndex;
+	}
+
+	public static JarIdentityIndex getJarIdentityIndex() {
+		return pluginInstance == null ? null : pluginInstance.jarIdentityIndex;
+	}
+
+	//Public for testing purposes
+	public static void setJarIdentityIndex(JarIdentityIndex jarIdentityIndex) {
+		if (pluginInstance != null) {
+			pluginInstance.jarIdentityIndex = jarIdentityIndex;
+		}
+	}
+
 	/**
 	 * @return
 	 */
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.commands;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.IConstants;
+import org.eclipse.jdt.ls.core.internal.commands.ProjectCommand.ClasspathResult;
+import org.eclipse.jdt.ls.core.internal.managers.UpdateClasspathJob;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics.CacheMetrics;
+
+/**
+ * Caches the launch classpaths resolved by
+ * {@link ProjectCommand#getClasspaths(String, ProjectCommand.ClasspathOptions)}
+ * per project and scope.
+ *
+ * Since a classpath may depend on the other projects of the workspace, the
+ * whole cache is dropped when the classpath of any project changes, when a
+ * project is added, removed, opened or closed, and when a project update or a
+ * classpath update job completes. No cached classpath is served while such a
+ * job is pending.
+ */
+final class ClasspathResultCache {
+
+	private static final int FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private static ClasspathResultCache instance;
+
+	private final CacheMetrics metrics = Metrics.getCacheMetrics("classpaths");
+
+	private final Map<Key, ClasspathResult> cache = new ConcurrentHashMap<>();
+	/**
+	 * Incremented on every invalidation, so that a classpath resolved before an
+	 * invalidation is not cached after it.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private ClasspathResultCache() {
+	}
+
+	static synchronized ClasspathResultCache getInstance() {
+		if (instance == null) {
+			instance = new ClasspathResultCache();
+			JavaCore.addElementChangedListener(instance::elementChanged, ElementChangedEvent.POST_CHANGE);
+			Job.getJobManager().addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					if (affectsClasspaths(event.getJob())) {
+						instance.clear();
+					}
+				}
+			});
+		}
+		return instance;
+	}
+
+	/**
+	 * @return the cached classpath of the given project and scope, or
+	 *         <code>null</code> if it must be resolved
+	 */
+	ClasspathResult get(IProject project, String scope) {
+		if (isUpdatePending()) {
+			metrics.miss();
+			return null;
+		}
+		return metrics.lookup(cache.get(new Key(project, scope)));
+	}
+
+	/**
+	 * @return the current generation, to pass to
+	 *         {@link #put(IProject, String, ClasspathResult, long)}
+	 */
+	long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Caches the given classpath, unless the cache was invalidated since the
+	 * given generation.
+	 */
+	void put(IProject project, String scope, ClasspathResult result, long resolvedGeneration) {
+		Key key = new Key(project, scope);
+		cache.put(key, result);
+		if (generation.get() != resolvedGeneration || isUpdatePending()) {
+			cache.remove(key, result);
+		}
+	}
+
+	void clear() {
+		generation.incrementAndGet();
+		cache.clear();
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		if (!cache.isEmpty() && affectsClasspaths(event.getDelta())) {
+			clear();
+		}
+	}
+
+	private static boolean affectsClasspaths(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+			if ((delta.getFlags() & IJavaElementDelta.F_CLASSPATH_CHANGED) != 0) {
+				return true;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (affectsClasspaths(child)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+			return delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & FLAGS) != 0;
+		}
+		return false;
+	}
+
+	private static boolean affectsClasspaths(Job job) {
+		return job instanceof UpdateClasspathJob || job.belongsTo(IConstants.JOBS_FAMILY);
+	}
+
+	private static boolean isUpdatePending() {
+		return Job.getJobManager().find(IConstants.JOBS_FAMILY).length > 0 || UpdateClasspathJob.getInstance().getState() != Job.NONE;
+	}
+
+	private static class Key {
+		private final IProject project;
+		private final String scope;
+
+		Key(IProject project, String scope) {
+			this.project = project;
+			this.scope = scope;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(project, scope);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return Objects.equals(project, other.project) && Objects.equals(scope, other.scope);
+		}
+	}
+}
@@ -145,6 +145,12 @@ public class ProjectCommand {
 	 */
 	public static ClasspathResult getClasspaths(String uri, ClasspathOptions options) throws CoreException, URISyntaxException {
 		IJavaProject javaProject = getJavaProjectFromUri(uri);
+		ClasspathResultCache cache = ClasspathResultCache.getInstance();
+		ClasspathResult cachedResult = cache.get(javaProject.getProject(), options.scope);
+		if (cachedResult != null) {
+			return cachedResult;
+		}
+		long generation = cache.getGeneration();
 		Optional<IBuildSupport> bs = JavaLanguageServerPlugin.getProjectsManager().getBuildSupport(javaProject.getProject());
 		if (!bs.isPresent()) {
 			throw new CoreException(new Status(IStatus.ERROR, IConstants.PLUGIN_ID, "No BuildSupport for the project: " + javaProject.getElementName()));
@@ -170,6 +176,7 @@ public class ProjectCommand {
 		}, schedulingRule, IWorkspace.AVOID_UPDATE, new NullProgressMonitor());
 
 		if (result[0] != null) {
+			cache.put(javaProject.getProject(), options.scope, result[0], generation);
 			return result[0];
 		}
 
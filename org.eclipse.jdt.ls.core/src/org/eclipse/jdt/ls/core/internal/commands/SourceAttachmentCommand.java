@@ -42,6 +42,7 @@ import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.managers.JarIdentityIndex;
 
 import com.google.gson.JsonSyntaxException;
 
@@ -100,6 +101,13 @@ public class SourceAttachmentCommand {
 
 		String jarPath = jarResource != null ? jarResource.getLocation().toOSString() : entryWrapper.original.getPath().toOSString();
 		String sourceAttachmentPath = entryWrapper.original.getSourceAttachmentPath() != null ? entryWrapper.original.getSourceAttachmentPath().toOSString() : null;
+		if (sourceAttachmentPath == null) {
+			// suggest the source jar already known for the jar, if any
+			JarIdentityIndex.Identity identity = JavaLanguageServerPlugin.getJarIdentityIndex().get(Path.fromOSString(jarPath));
+			if (identity != null && identity.getSources() != null && identity.getSources().toFile().isFile()) {
+				sourceAttachmentPath = identity.getSources().toOSString();
+			}
+		}
 		String sourceAttachmentEncoding = getSourceAttachmentEncoding(entryWrapper.original);
 		return new SourceAttachmentResult(null, new SourceAttachmentAttribute(jarPath, sourceAttachmentPath, sourceAttachmentEncoding, entryWrapper.canEditEncoding));
 	}
@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.CoreException;
@@ -28,12 +29,17 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageDeclaration;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.SourceRange;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ExpressionStatement;
@@ -56,6 +62,7 @@ import org.eclipse.jdt.ls.core.internal.corext.template.java.JavaContextType;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResolveHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponse;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponses;
+import org.eclipse.jdt.ls.core.internal.handlers.JsonRpcHelpers;
 import org.eclipse.jdt.ls.core.internal.preferences.CodeGenerationTemplate;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
@@ -79,6 +86,11 @@ public class SnippetCompletionProposal extends CompletionProposal {
 	private static String PACKAGEHEADER = "package_header";
 	private static String CURSOR = "cursor";
 
+	/**
+	 * The snippets of the generic templates, by template pattern
+	 */
+	private static final Map<String, String> snippets = new ConcurrentHashMap<>();
+
 	private Template template;
 
 	public SnippetCompletionProposal(Template template) {
@@ -126,7 +138,7 @@ public class SnippetCompletionProposal extends CompletionProposal {
 						}
 						try {
 							TokenScanner scanner = new TokenScanner(cu);
-							int curr = scanner.readNext(0, true);
+							int curr = scanner.readNext(getScanStart(cu, completionContext), true);
 							int previous = curr;
 							while (scanner.getCurrentEndOffset() < completionContext.getTokenStart()) {
 								previous = curr;
@@ -173,6 +185,38 @@ public class SnippetCompletionProposal extends CompletionProposal {
 			return false;
 		}
 
+		/**
+		 * Returns the offset from which the token preceding the completion
+		 * token can be found, i.e. the end of the last member before it, so
+		 * that only a few tokens are scanned instead of the whole beginning of
+		 * the compilation unit.
+		 */
+		private static int getScanStart(ICompilationUnit cu, CompletionContext completionContext) throws JavaModelException {
+			int tokenStart = completionContext.getTokenStart();
+			IJavaElement parent = completionContext.getEnclosingElement();
+			int start = 0;
+			if (parent instanceof IParent && parent instanceof ISourceReference) {
+				ISourceRange range = ((ISourceReference) parent).getSourceRange();
+				if (SourceRange.isAvailable(range) && range.getOffset() <= tokenStart) {
+					start = range.getOffset();
+				}
+			} else {
+				parent = cu;
+			}
+			for (IJavaElement child : ((IParent) parent).getChildren()) {
+				if (child instanceof ISourceReference) {
+					ISourceRange range = ((ISourceReference) child).getSourceRange();
+					if (!SourceRange.isAvailable(range) || range.getOffset() > tokenStart) {
+						continue;
+					}
+					int end = range.getOffset() + range.getLength();
+					// a member containing the token starts with its modifiers
+					start = Math.max(start, end <= tokenStart ? end : range.getOffset());
+				}
+			}
+			return start;
+		}
+
 		CompletionContext getCompletionContext() {
 			return completionContext;
 		}
@@ -225,7 +269,11 @@ public class SnippetCompletionProposal extends CompletionProposal {
 			return Collections.emptyList();
 		}
 		ICompilationUnit cu = scc.getCompilationUnit();
-		IDocument document = new Document(cu.getSource());
+		// the templates only read the document around the completion token, there's no need to copy it
+		IDocument document = JsonRpcHelpers.toDocument(cu.getBuffer());
+		if (document == null) {
+			return Collections.emptyList();
+		}
 		DocumentTemplateContext javaContext = contextType.createContext(document, completionContext.getOffset(), completionToken.length, cu);
 		Template[] templates = null;
 		if ((tokenLocation & CompletionContext.TL_STATEMENT_START) != 0) {
@@ -239,7 +287,8 @@ public class SnippetCompletionProposal extends CompletionProposal {
 		}
 
 		String uri = JDTUtils.toURI(cu);
-		Template[] availableTemplates = Arrays.stream(templates).filter(t -> javaContext.canEvaluate(t)).toArray(Template[]::new);
+		String prefix = new String(completionToken).toLowerCase();
+		Template[] availableTemplates = Arrays.stream(templates).filter(t -> t.getName().toLowerCase().startsWith(prefix) && javaContext.canEvaluate(t)).toArray(Template[]::new);
 		List<CompletionProposal> proposals = new ArrayList<>();
 		for (int i = 0; i < availableTemplates.length; i++) {
 			Template template = availableTemplates[i];
@@ -247,7 +296,7 @@ public class SnippetCompletionProposal extends CompletionProposal {
 			item.setLabel(template.getName());
 			item.setKind(CompletionItemKind.Snippet);
 			item.setInsertTextFormat(InsertTextFormat.Snippet);
-			item.setInsertText(SnippetUtils.templateToSnippet(template.getPattern()));
+			item.setInsertText(snippets.computeIfAbsent(template.getPattern(), SnippetUtils::templateToSnippet));
 			item.setDetail(template.getDescription());
 
 			Map<String, String> data = new HashMap<>(3);
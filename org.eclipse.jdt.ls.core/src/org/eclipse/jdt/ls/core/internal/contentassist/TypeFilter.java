@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.contentassist;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringTokenizer;
 
 import org.eclipse.core.runtime.preferences.DefaultScope;
@@ -23,7 +25,6 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
-import org.eclipse.jdt.internal.ui.util.StringMatcher;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 
 /**
@@ -42,7 +43,7 @@ public class TypeFilter {
 	}
 
 	public static boolean isFiltered(char[] fullTypeName) {
-		return getDefault().filter(new String(fullTypeName));
+		return getDefault().filter(fullTypeName);
 	}
 
 	public static boolean isFiltered(char[] packageName, char[] typeName) {
@@ -74,31 +75,39 @@ public class TypeFilter {
 		}
 	}
 
-	private StringMatcher[] fStringMatchers;
+	private volatile TypeFilterMatcher fMatcher;
 
 	public TypeFilter() {
-		fStringMatchers= null;
+		fMatcher= null;
 	}
 
-	private synchronized StringMatcher[] getStringMatchers() {
-		if (fStringMatchers == null) {
-			String str = getPreference(TYPEFILTER_ENABLED);
-			StringTokenizer tok= new StringTokenizer(str, ";"); //$NON-NLS-1$
-			int nTokens= tok.countTokens();
-
-			fStringMatchers= new StringMatcher[nTokens];
-			for (int i= 0; i < nTokens; i++) {
-				String curr= tok.nextToken();
-				if (curr.length() > 0) {
-					fStringMatchers[i]= new StringMatcher(curr, false, false);
+	private TypeFilterMatcher getMatcher() {
+		TypeFilterMatcher matcher= fMatcher;
+		if (matcher == null) {
+			synchronized (this) {
+				matcher= fMatcher;
+				if (matcher == null) {
+					List<String> patterns= new ArrayList<>();
+					String str = getPreference(TYPEFILTER_ENABLED);
+					if (str != null) {
+						StringTokenizer tok= new StringTokenizer(str, ";"); //$NON-NLS-1$
+						while (tok.hasMoreTokens()) {
+							String curr= tok.nextToken();
+							if (curr.length() > 0) {
+								patterns.add(curr);
+							}
+						}
+					}
+					matcher= new TypeFilterMatcher(patterns);
+					fMatcher= matcher;
 				}
 			}
 		}
-		return fStringMatchers;
+		return matcher;
 	}
 
 	public boolean hasFilters() {
-		return getStringMatchers().length > 0;
+		return !getMatcher().isEmpty();
 	}
 
 	/**
@@ -106,14 +115,15 @@ public class TypeFilter {
 	 * @return <code>true</code> iff the given type is filtered out
 	 */
 	public boolean filter(String fullTypeName) {
-		StringMatcher[] matchers= getStringMatchers();
-		for (int i= 0; i < matchers.length; i++) {
-			StringMatcher curr= matchers[i];
-			if (curr.match(fullTypeName)) {
-				return true;
-			}
-		}
-		return false;
+		return getMatcher().matches(fullTypeName);
+	}
+
+	/**
+	 * @param fullTypeName fully-qualified type name
+	 * @return <code>true</code> iff the given type is filtered out
+	 */
+	public boolean filter(char[] fullTypeName) {
+		return getMatcher().matches(fullTypeName);
 	}
 
 	public static String getPreference(String key) {
@@ -125,7 +135,7 @@ public class TypeFilter {
 	}
 
 	public void dispose() {
-		fStringMatchers = null;
+		fMatcher = null;
 	}
 
 }
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matches fully qualified type names against the patterns of
+ * <code>java.completion.filteredTypes</code>, where <code>*</code> matches any
+ * sequence of characters and <code>?</code> matches any character.
+ *
+ * The exact names and the prefixes (e.g. <code>java.awt.*</code>), which are
+ * the bulk of the filters, are compiled into a single trie, so that a name is
+ * matched against all of them in one pass. The other patterns are matched one
+ * after the other. Matching doesn't allocate.
+ */
+final class TypeFilterMatcher {
+
+	private final Node root = new Node();
+	private final char[][] wildcardPatterns;
+	private final boolean empty;
+
+	TypeFilterMatcher(List<String> patterns) {
+		List<char[]> wildcards = new ArrayList<>();
+		for (String pattern : patterns) {
+			int star = pattern.indexOf('*');
+			if (pattern.indexOf('?') < 0 && (star < 0 || star == pattern.length() - 1)) {
+				Node node = root;
+				int length = star < 0 ? pattern.length() : star;
+				for (int i = 0; i < length; i++) {
+					node = node.add(pattern.charAt(i));
+				}
+				if (star < 0) {
+					node.exact = true;
+				} else {
+					node.prefix = true;
+				}
+			} else {
+				wildcards.add(pattern.toCharArray());
+			}
+		}
+		this.wildcardPatterns = wildcards.toArray(new char[0][]);
+		this.empty = patterns.isEmpty();
+	}
+
+	boolean isEmpty() {
+		return empty;
+	}
+
+	boolean matches(char[] name) {
+		return matches(name, null, name.length);
+	}
+
+	boolean matches(String name) {
+		return matches(null, name, name.length());
+	}
+
+	private boolean matches(char[] chars, String string, int length) {
+		Node node = root;
+		for (int i = 0; node != null && !node.prefix && i < length; i++) {
+			node = node.get(charAt(chars, string, i));
+		}
+		if (node != null && (node.prefix || node.exact)) {
+			return true;
+		}
+		for (char[] pattern : wildcardPatterns) {
+			if (matches(pattern, chars, string, length)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean matches(char[] pattern, char[] chars, String string, int length) {
+		int p = 0;
+		int n = 0;
+		// the position of the last star in the pattern, and the position in the name it was last tried from
+		int star = -1;
+		int mark = 0;
+		while (n < length) {
+			if (p < pattern.length && pattern[p] == '*') {
+				star = p++;
+				mark = n;
+			} else if (p < pattern.length && (pattern[p] == '?' || pattern[p] == charAt(chars, string, n))) {
+				p++;
+				n++;
+			} else if (star >= 0) {
+				p = star + 1;
+				n = ++mark;
+			} else {
+				return false;
+			}
+		}
+		while (p < pattern.length && pattern[p] == '*') {
+			p++;
+		}
+		return p == pattern.length;
+	}
+
+	private static char charAt(char[] chars, String string, int index) {
+		return chars != null ? chars[index] : string.charAt(index);
+	}
+
+	private static class Node {
+		private static final char[] NO_KEYS = new char[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		/**
+		 * The sorted characters of the children
+		 */
+		private char[] keys = NO_KEYS;
+		private Node[] children = NO_CHILDREN;
+		/**
+		 * Whether a pattern ends at this node
+		 */
+		private boolean exact;
+		/**
+		 * Whether a pattern ending with <code>*</code> ends at this node
+		 */
+		private boolean prefix;
+
+		Node get(char c) {
+			int index = Arrays.binarySearch(keys, c);
+			return index < 0 ? null : children[index];
+		}
+
+		Node add(char c) {
+			int index = Arrays.binarySearch(keys, c);
+			if (index >= 0) {
+				return children[index];
+			}
+			index = -index - 1;
+			char[] newKeys = new char[keys.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, index);
+			System.arraycopy(children, 0, newChildren, 0, index);
+			System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+			System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+			Node child = new Node();
+			newKeys[index] = c;
+			newChildren[index] = child;
+			keys = newKeys;
+			children = newChildren;
+			return child;
+		}
+	}
+}
@@ -147,6 +147,8 @@ import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.rename.CuCollectingSearchRequestor;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.rename.MethodChecks;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.rename.RippleMethodFinder2;
+import org.eclipse.jdt.ls.core.internal.corext.refactoring.util.ASTBatchParser;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
@@ -746,7 +748,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 
 	private ITypeHierarchy getCachedTypeHierarchy(IProgressMonitor monitor) throws JavaModelException {
 		if (fCachedTypeHierarchy == null) {
-			fCachedTypeHierarchy= fMethod.getDeclaringType().newTypeHierarchy(new SubProgressMonitor(monitor, 1));
+			fCachedTypeHierarchy= TypeHierarchyCache.getTypeHierarchy(fMethod.getDeclaringType(), new SubProgressMonitor(monitor, 1));
 		}
 		return fCachedTypeHierarchy;
 	}
@@ -764,7 +766,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 				return RefactoringStatus.createFatalErrorStatus(message);
 			}
 			if (fMethod.getDeclaringType().isInterface()) {
-				fTopMethod= MethodChecks.overridesAnotherMethod(fMethod, fMethod.getDeclaringType().newSupertypeHierarchy(new SubProgressMonitor(monitor, 1)));
+				fTopMethod= MethodChecks.overridesAnotherMethod(fMethod, TypeHierarchyCache.getSupertypeHierarchy(fMethod.getDeclaringType(), new SubProgressMonitor(monitor, 1)));
 				monitor.worked(1);
 			} else if (MethodChecks.isVirtual(fMethod)) {
 				ITypeHierarchy hierarchy= getCachedTypeHierarchy(new SubProgressMonitor(monitor, 1));
@@ -1466,61 +1468,70 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 	private TextChangeManager createChangeManager(IProgressMonitor pm, RefactoringStatus result) throws CoreException {
 		pm.beginTask(RefactoringCoreMessages.ChangeSignatureRefactoring_preview, 2);
 		fChangeManager= new TextChangeManager();
-		boolean isNoArgConstructor= isNoArgConstructor();
-		Map<ICompilationUnit, Set<IType>> namedSubclassMapping= null;
+		final boolean isNoArgConstructor= isNoArgConstructor();
+		final Map<ICompilationUnit, Set<IType>> namedSubclassMapping;
 		if (isNoArgConstructor){
 			//create only when needed;
 			namedSubclassMapping= createNamedSubclassMapping(new SubProgressMonitor(pm, 1));
 		}else{
+			namedSubclassMapping= null;
 			pm.worked(1);
 		}
+		Map<ICompilationUnit, SearchResultGroup> groups= new LinkedHashMap<>();
+		List<ICompilationUnit> otherCus= new ArrayList<>();
 		for (SearchResultGroup occurrence : fOccurrences) {
-			if (pm.isCanceled()) {
-				throw new OperationCanceledException();
-			}
-			SearchResultGroup group= occurrence;
-			ICompilationUnit cu= group.getCompilationUnit();
-			if (cu == null) {
+			ICompilationUnit cu= occurrence.getCompilationUnit();
+			if (cu == null || groups.containsKey(cu)) {
 				continue;
 			}
-			CompilationUnitRewrite cuRewrite;
-			if (cu.equals(getCu())) {
-				cuRewrite= fBaseCuRewrite;
-			} else {
-				cuRewrite= new CompilationUnitRewrite(cu);
-				cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
-			}
-			//IntroduceParameterObjectRefactoring needs to update declarations first:
-			List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
-			for (ASTNode node : ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot())) {
-				OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(node, cuRewrite, result);
-				if (update instanceof DeclarationUpdate) {
-					update.updateNode();
-				} else {
-					deferredUpdates.add(update);
-				}
+			groups.put(cu, occurrence);
+			if (!cu.equals(getCu())) {
+				otherCus.add(cu);
 			}
-			for (OccurrenceUpdate<? extends ASTNode> occurrenceUpdate : deferredUpdates) {
-				occurrenceUpdate.updateNode();
+		}
+		if (groups.containsKey(getCu())) {
+			updateOccurrences(groups.get(getCu()), fBaseCuRewrite, isNoArgConstructor, namedSubclassMapping, result);
+		}
+		// the other units are parsed concurrently, their changes are still created in the order of the occurrences
+		ASTBatchParser.parse(otherCus, (cu, ast) -> {
+			CompilationUnitRewrite cuRewrite= new CompilationUnitRewrite(cu, ast);
+			cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
+			updateOccurrences(groups.get(cu), cuRewrite, isNoArgConstructor, namedSubclassMapping, result);
+		}, new SubProgressMonitor(pm, 1));
+
+		pm.done();
+		return fChangeManager;
+	}
+
+	private void updateOccurrences(SearchResultGroup group, CompilationUnitRewrite cuRewrite, boolean isNoArgConstructor, Map<ICompilationUnit, Set<IType>> namedSubclassMapping, RefactoringStatus result) throws CoreException {
+		ICompilationUnit cu= group.getCompilationUnit();
+		//IntroduceParameterObjectRefactoring needs to update declarations first:
+		List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
+		for (ASTNode node : ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot())) {
+			OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(node, cuRewrite, result);
+			if (update instanceof DeclarationUpdate) {
+				update.updateNode();
+			} else {
+				deferredUpdates.add(update);
 			}
+		}
+		for (OccurrenceUpdate<? extends ASTNode> occurrenceUpdate : deferredUpdates) {
+			occurrenceUpdate.updateNode();
+		}
 
-			if (isNoArgConstructor && namedSubclassMapping.containsKey(cu)){
-				//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
-				for (IType subtype : namedSubclassMapping.get(cu)) {
-					AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
-					if (subtypeNode != null) {
-						modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
-					}
+		if (isNoArgConstructor && namedSubclassMapping.containsKey(cu)){
+			//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
+			for (IType subtype : namedSubclassMapping.get(cu)) {
+				AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
+				if (subtypeNode != null) {
+					modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
 				}
 			}
-			TextChange change= cuRewrite.createChange(true);
-			if (change != null) {
-				fChangeManager.manage(cu, change);
-			}
 		}
-
-		pm.done();
-		return fChangeManager;
+		TextChange change= cuRewrite.createChange(true);
+		if (change != null) {
+			fChangeManager.manage(cu, change);
+		}
 	}
 
 	private Map<ICompilationUnit, Set<IType>> createNamedSubclassMapping(IProgressMonitor pm) throws JavaModelException{
@@ -82,6 +82,7 @@ import org.eclipse.jdt.ls.core.internal.corext.refactoring.RefactoringCoreMessag
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.RefactoringSearchEngine;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.participants.JavaProcessors;
 import org.eclipse.jdt.ls.core.internal.corext.util.SearchUtils;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.GroupCategorySet;
@@ -316,7 +317,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		}
 		final NullProgressMonitor monitor= new NullProgressMonitor();
 		if (MethodChecks.isVirtual(getter)) {
-			final ITypeHierarchy hierarchy= getter.getDeclaringType().newTypeHierarchy(monitor);
+			final ITypeHierarchy hierarchy= TypeHierarchyCache.getTypeHierarchy(getter.getDeclaringType(), monitor);
 			if (MethodChecks.isDeclaredInInterface(getter, hierarchy, monitor) != null || MethodChecks.overridesAnotherMethod(getter, hierarchy) != null) {
 				return RefactoringCoreMessages.RenameFieldRefactoring_declared_in_supertype;
 			}
@@ -341,7 +342,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		}
 		final NullProgressMonitor monitor= new NullProgressMonitor();
 		if (MethodChecks.isVirtual(setter)) {
-			final ITypeHierarchy hierarchy= setter.getDeclaringType().newTypeHierarchy(monitor);
+			final ITypeHierarchy hierarchy= TypeHierarchyCache.getTypeHierarchy(setter.getDeclaringType(), monitor);
 			if (MethodChecks.isDeclaredInInterface(setter, hierarchy, monitor) != null || MethodChecks.overridesAnotherMethod(setter, hierarchy) != null) {
 				return RefactoringCoreMessages.RenameFieldRefactoring_declared_in_supertype;
 			}
@@ -104,6 +104,7 @@ import org.eclipse.jdt.ls.core.internal.corext.refactoring.util.QualifiedNameFin
 import org.eclipse.jdt.ls.core.internal.corext.util.Changes;
 import org.eclipse.jdt.ls.core.internal.corext.util.QualifiedNameSearchResult;
 import org.eclipse.jdt.ls.core.internal.corext.util.SearchUtils;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.GroupCategory;
@@ -1454,7 +1455,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 					final IType declaringType = currentMethod.getDeclaringType();
 					ITypeHierarchy hierarchy = null;
 					if (!declaringType.isInterface()) {
-						hierarchy = declaringType.newTypeHierarchy(new NullProgressMonitor());
+						hierarchy = TypeHierarchyCache.getTypeHierarchy(declaringType, new NullProgressMonitor());
 					}
 
 					final IMethod topmost = MethodChecks.getTopmostMethod(currentMethod, hierarchy, new NullProgressMonitor());
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.corext.refactoring.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+/**
+ * Parses the compilation units affected by a refactoring with bindings.
+ *
+ * The units are parsed in windows whose size depends on the available memory.
+ * The units of a window are parsed in batches (see
+ * {@link ASTParser#createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}),
+ * several batches at once, then handed over one by one, in their original
+ * order, to the caller, so that the changes created from the ASTs don't
+ * depend on the scheduling of the batches.
+ */
+public class ASTBatchParser {
+
+	private static final int MIN_BATCH_SIZE = 10;
+
+	/**
+	 * Receives the AST of each compilation unit.
+	 */
+	public interface ASTHandler {
+		void handle(ICompilationUnit unit, CompilationUnit ast) throws CoreException;
+	}
+
+	private ASTBatchParser() {
+	}
+
+	/**
+	 * Parses the given compilation units and passes their ASTs to the handler,
+	 * in the order of the units. The handler is always called in the calling
+	 * thread.
+	 *
+	 * @param units
+	 *            the compilation units to parse
+	 * @param handler
+	 *            the handler of the ASTs
+	 * @param monitor
+	 *            the progress monitor
+	 * @throws CoreException
+	 *             if the handler fails
+	 */
+	public static void parse(List<ICompilationUnit> units, ASTHandler handler, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, units.size());
+		int windowSize = getWindowSize(Runtime.getRuntime().maxMemory());
+		for (int start = 0; start < units.size(); start += windowSize) {
+			List<ICompilationUnit> window = units.subList(start, Math.min(start + windowSize, units.size()));
+			Map<ICompilationUnit, CompilationUnit> asts = parseWindow(window, subMonitor);
+			for (ICompilationUnit unit : window) {
+				if (subMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				CompilationUnit ast = asts.remove(unit);
+				if (ast == null) {
+					ast = RefactoringASTParser.parseWithASTProvider(unit, true, null);
+				}
+				handler.handle(unit, ast);
+				subMonitor.worked(1);
+			}
+		}
+	}
+
+	/**
+	 * Returns how many ASTs may be kept in memory at once.
+	 */
+	static int getWindowSize(long maxMemory) {
+		if (maxMemory == Long.MAX_VALUE) {
+			return 500;
+		}
+		// leaves about 4MB per AST and its binding environment
+		return (int) Math.max(25, Math.min(500, maxMemory / (4 * 0x100000)));
+	}
+
+	private static Map<ICompilationUnit, CompilationUnit> parseWindow(List<ICompilationUnit> window, IProgressMonitor monitor) {
+		// the units parsed together must belong to the same project
+		Map<IJavaProject, List<ICompilationUnit>> unitsByProject = new LinkedHashMap<>();
+		for (ICompilationUnit unit : window) {
+			unitsByProject.computeIfAbsent(unit.getJavaProject(), p -> new ArrayList<>()).add(unit);
+		}
+		int parallelism = ForkJoinPool.getCommonPoolParallelism();
+		List<CompletableFuture<Map<ICompilationUnit, CompilationUnit>>> futures = new ArrayList<>();
+		for (Map.Entry<IJavaProject, List<ICompilationUnit>> entry : unitsByProject.entrySet()) {
+			List<ICompilationUnit> projectUnits = entry.getValue();
+			int batchSize = Math.max(MIN_BATCH_SIZE, (projectUnits.size() + parallelism - 1) / parallelism);
+			for (int start = 0; start < projectUnits.size(); start += batchSize) {
+				List<ICompilationUnit> batch = projectUnits.subList(start, Math.min(start + batchSize, projectUnits.size()));
+				futures.add(CompletableFuture.supplyAsync(() -> parseBatch(entry.getKey(), batch, monitor)));
+			}
+		}
+		Map<ICompilationUnit, CompilationUnit> asts = new HashMap<>();
+		for (CompletableFuture<Map<ICompilationUnit, CompilationUnit>> future : futures) {
+			try {
+				asts.putAll(future.join());
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof OperationCanceledException) {
+					throw (OperationCanceledException) e.getCause();
+				}
+				// the units of the batch are parsed again one by one
+			}
+		}
+		return asts;
+	}
+
+	private static Map<ICompilationUnit, CompilationUnit> parseBatch(IJavaProject project, List<ICompilationUnit> batch, IProgressMonitor monitor) {
+		Map<ICompilationUnit, CompilationUnit> asts = new HashMap<>();
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		ASTParser parser = ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setProject(project);
+		parser.setResolveBindings(true);
+		parser.setStatementsRecovery(IASTSharedValues.SHARED_AST_STATEMENT_RECOVERY);
+		parser.setBindingsRecovery(IASTSharedValues.SHARED_BINDING_RECOVERY);
+		parser.setCompilerOptions(RefactoringASTParser.getCompilerOptions(project));
+		parser.createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				asts.put(source, ast);
+			}
+		}, new NullProgressMonitor());
+		return asts;
+	}
+}
@@ -28,10 +28,14 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
+import org.eclipse.jdt.ls.core.internal.IConstants;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.ls.core.internal.corext.util.PatternConstructor;
 import org.eclipse.jdt.ls.core.internal.corext.util.QualifiedNameSearchResult;
@@ -39,6 +43,7 @@ import org.eclipse.jdt.ls.core.internal.search.text.TextSearchEngine;
 import org.eclipse.jdt.ls.core.internal.search.text.TextSearchMatchAccess;
 import org.eclipse.jdt.ls.core.internal.search.text.TextSearchRequestor;
 import org.eclipse.jdt.ls.core.internal.search.text.TextSearchScope;
+import org.eclipse.jdt.ls.core.internal.search.text.TokenIndex;
 import org.eclipse.ltk.core.refactoring.GroupCategory;
 import org.eclipse.ltk.core.refactoring.GroupCategorySet;
 import org.eclipse.ltk.core.refactoring.TextChange;
@@ -144,7 +149,13 @@ public class QualifiedNameFinder {
 		TextSearchEngine engine = TextSearchEngine.createDefault();
 		Pattern searchPattern= PatternConstructor.createPattern(pattern, true, false);
 
-		engine.search(createScope(filePatterns, root), collector, searchPattern, monitor);
+		IFile[] files= createScope(filePatterns, root).evaluateFilesInScope(new MultiStatus(IConstants.PLUGIN_ID, IStatus.OK, "", null)); //$NON-NLS-1$
+		TokenIndex index= JavaLanguageServerPlugin.getTokenIndex();
+		if (index != null) {
+			// only read the files which contain all the segments of the name
+			files= index.filter(files, pattern);
+		}
+		engine.search(files, collector, searchPattern, monitor);
 	}
 
 	private static TextSearchScope createScope(String filePatterns, IProject root) {
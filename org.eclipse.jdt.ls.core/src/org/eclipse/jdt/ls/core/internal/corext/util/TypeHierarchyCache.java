@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.corext.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics.CacheMetrics;
+
+/**
+ * Shares the complete type hierarchies (supertypes and subtypes) of the most
+ * recently used types between the requests and refactorings of the server.
+ *
+ * A cached hierarchy listens to the Java element deltas affecting it, and is
+ * dropped as soon as one of them is reported, so that a hierarchy returned by
+ * the cache is always up to date. Only the hierarchies of the primary working
+ * copies are cached, see {@link SuperTypeHierarchyCache} for the supertype
+ * hierarchies.
+ */
+public class TypeHierarchyCache {
+
+	private static final int CACHE_SIZE = 8;
+	private static final CacheMetrics metrics = Metrics.getCacheMetrics("typeHierarchies");
+
+	private static final Map<Key, Entry> fgCache = new LinkedHashMap<Key, Entry>(CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			if (size() > CACHE_SIZE) {
+				eldest.getValue().dispose();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private TypeHierarchyCache() {
+		// no instance
+	}
+
+	/**
+	 * Returns the hierarchy of the given type in the workspace.
+	 *
+	 * @see IType#newTypeHierarchy(IProgressMonitor)
+	 */
+	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		return getTypeHierarchy(type, (IJavaProject) null, monitor);
+	}
+
+	/**
+	 * Returns the hierarchy of the given type in the workspace, considering the
+	 * working copies of the given owner. Only the hierarchies of the primary
+	 * working copies are cached.
+	 *
+	 * @see IType#newTypeHierarchy(WorkingCopyOwner, IProgressMonitor)
+	 */
+	public static ITypeHierarchy getTypeHierarchy(IType type, WorkingCopyOwner owner, IProgressMonitor monitor) throws JavaModelException {
+		if (owner != null && owner != DefaultWorkingCopyOwner.PRIMARY) {
+			return type.newTypeHierarchy(owner, monitor);
+		}
+		return getTypeHierarchy(type, (IJavaProject) null, monitor);
+	}
+
+	/**
+	 * Returns the hierarchy of the given type in the given project, or in the
+	 * workspace if the project is <code>null</code>.
+	 *
+	 * @see IType#newTypeHierarchy(IJavaProject, WorkingCopyOwner,
+	 *      IProgressMonitor)
+	 */
+	public static ITypeHierarchy getTypeHierarchy(IType type, IJavaProject project, IProgressMonitor monitor) throws JavaModelException {
+		Key key = new Key(type, project);
+		ITypeHierarchy hierarchy = metrics.lookup(getCached(key));
+		if (hierarchy != null) {
+			return hierarchy;
+		}
+		if (project == null) {
+			hierarchy = type.newTypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor);
+		} else {
+			hierarchy = type.newTypeHierarchy(project, DefaultWorkingCopyOwner.PRIMARY, monitor);
+		}
+		put(key, hierarchy);
+		return hierarchy;
+	}
+
+	/**
+	 * Returns a hierarchy containing at least all the supertypes of the given
+	 * type: the complete hierarchy of the type if it is cached, its supertype
+	 * hierarchy otherwise.
+	 *
+	 * @see IType#newSupertypeHierarchy(IProgressMonitor)
+	 */
+	public static ITypeHierarchy getSupertypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		ITypeHierarchy hierarchy = getCached(new Key(type, null));
+		if (hierarchy != null) {
+			return hierarchy;
+		}
+		return SuperTypeHierarchyCache.getTypeHierarchy(type, monitor);
+	}
+
+	/**
+	 * Drops all the cached hierarchies.
+	 */
+	public static void clear() {
+		synchronized (fgCache) {
+			for (Entry entry : fgCache.values()) {
+				entry.dispose();
+			}
+			fgCache.clear();
+		}
+	}
+
+	private static ITypeHierarchy getCached(Key key) {
+		synchronized (fgCache) {
+			Entry entry = fgCache.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.isStale()) {
+				fgCache.remove(key);
+				entry.dispose();
+				return null;
+			}
+			return entry.hierarchy;
+		}
+	}
+
+	private static void put(Key key, ITypeHierarchy hierarchy) {
+		synchronized (fgCache) {
+			removeStaleEntries();
+			Entry old = fgCache.put(key, new Entry(hierarchy));
+			if (old != null) {
+				old.dispose();
+			}
+		}
+	}
+
+	private static void removeStaleEntries() {
+		for (Iterator<Entry> iter = fgCache.values().iterator(); iter.hasNext();) {
+			Entry entry = iter.next();
+			if (entry.isStale()) {
+				entry.dispose();
+				iter.remove();
+			}
+		}
+	}
+
+	private static class Entry implements ITypeHierarchyChangedListener {
+		private final ITypeHierarchy hierarchy;
+		private volatile boolean stale;
+
+		Entry(ITypeHierarchy hierarchy) {
+			this.hierarchy = hierarchy;
+			hierarchy.addTypeHierarchyChangedListener(this);
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			stale = true;
+		}
+
+		boolean isStale() {
+			return stale || !hierarchy.exists();
+		}
+
+		void dispose() {
+			hierarchy.removeTypeHierarchyChangedListener(this);
+		}
+	}
+
+	private static class Key {
+		private final IType type;
+		private final IJavaProject project;
+
+		Key(IType type, IJavaProject project) {
+			this.type = type;
+			this.project = project;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(type, project);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return Objects.equals(type, other.type) && Objects.equals(project, other.project);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.corrections;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks the time spent by the processors computing the code actions of a
+ * request, and decides which processors are deferred to keep the request
+ * within the time allotted to it.
+ *
+ * The cost of each processor is remembered across requests: a processor is
+ * deferred when the budget is spent, or when its last known cost exceeds what
+ * is left of the budget. The code actions of the deferred processors are
+ * computed later, see
+ * {@link org.eclipse.jdt.ls.core.internal.handlers.CodeActionHandler}.
+ */
+public class CorrectionBudget {
+
+	/**
+	 * The average time spent by each processor, in nanoseconds.
+	 */
+	private static final Map<String, Long> costs = new ConcurrentHashMap<>();
+
+	private final long start = System.nanoTime();
+	private final long budget;
+	private final Map<String, Long> timings = new LinkedHashMap<>();
+	private final Map<String, Integer> deferred = new LinkedHashMap<>();
+
+	/**
+	 * @param budget
+	 *            the time allotted to the request, in milliseconds. 0 or lower
+	 *            for no limit.
+	 */
+	public CorrectionBudget(long budget) {
+		this.budget = budget > 0 ? TimeUnit.MILLISECONDS.toNanos(budget) : Long.MAX_VALUE;
+	}
+
+	public static CorrectionBudget unlimited() {
+		return new CorrectionBudget(0);
+	}
+
+	public boolean isLimited() {
+		return budget != Long.MAX_VALUE;
+	}
+
+	public boolean isExceeded() {
+		return isLimited() && System.nanoTime() - start > budget;
+	}
+
+	/**
+	 * @return the time spent since the request started, in milliseconds
+	 */
+	public long getElapsed() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	/**
+	 * Tells whether the given processor must be deferred, and records it if so:
+	 * the budget is spent, or the processor is known to take longer than what
+	 * is left of it.
+	 *
+	 * @param processor
+	 *            the name of the processor
+	 */
+	public synchronized boolean defer(String processor) {
+		if (!isLimited()) {
+			return false;
+		}
+		Long cost = costs.get(processor);
+		if (isExceeded() || (cost != null && System.nanoTime() - start + cost > budget)) {
+			deferred.merge(processor, 1, Integer::sum);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Records the time spent by the given processor, and updates its known
+	 * cost.
+	 *
+	 * @param processor
+	 *            the name of the processor
+	 * @param processorStart
+	 *            when the processor started, as given by
+	 *            {@link System#nanoTime()}
+	 */
+	public synchronized void record(String processor, long processorStart) {
+		long time = System.nanoTime() - processorStart;
+		timings.merge(processor, time, Long::sum);
+		costs.merge(processor, time, (cost, newCost) -> (cost + newCost) / 2);
+	}
+
+	public synchronized boolean hasDeferred() {
+		return !deferred.isEmpty();
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(timings.entrySet().stream().map(e -> e.getKey() + "=" + TimeUnit.NANOSECONDS.toMillis(e.getValue()) + "ms").collect(Collectors.joining(", ")));
+		if (!deferred.isEmpty()) {
+			builder.append("; deferred: ").append(deferred.entrySet().stream().map(e -> e.getValue() > 1 ? e.getKey() + " x" + e.getValue() : e.getKey()).collect(Collectors.joining(", ")));
+		}
+		return builder.toString();
+	}
+}
@@ -49,6 +49,12 @@ import org.eclipse.jdt.ls.core.internal.text.correction.ModifierCorrectionSubPro
  */
 public class QuickFixProcessor {
 
+	/**
+	 * The name the time spent fixing a problem is recorded under, see
+	 * {@link CorrectionBudget}
+	 */
+	public static final String PROCESSOR_NAME = "quickfix";
+
 	private static int moveBack(int offset, int start, String ignoreCharacters, ICompilationUnit cu) {
 		try {
 			IBuffer buf = cu.getBuffer();
@@ -65,6 +71,15 @@ public class QuickFixProcessor {
 	}
 
 	public List<ChangeCorrectionProposal> getCorrections(IInvocationContext context, IProblemLocationCore[] locations) throws CoreException {
+		return getCorrections(context, locations, CorrectionBudget.unlimited());
+	}
+
+	/**
+	 * Computes the quick fixes of the given problems. The problems the budget
+	 * can't afford are deferred, but the first problem, the one closest to the
+	 * request, is always fixed.
+	 */
+	public List<ChangeCorrectionProposal> getCorrections(IInvocationContext context, IProblemLocationCore[] locations, CorrectionBudget budget) throws CoreException {
 		if (locations == null || locations.length == 0) {
 			return Collections.emptyList();
 		}
@@ -75,7 +90,12 @@ public class QuickFixProcessor {
 			IProblemLocationCore curr = locations[i];
 			Integer id = Integer.valueOf(curr.getProblemId());
 			if (handledProblems.add(id)) {
+				if (handledProblems.size() > 1 && budget.defer(PROCESSOR_NAME)) {
+					continue;
+				}
+				long start = System.nanoTime();
 				process(context, curr, resultingCollections);
+				budget.record(PROCESSOR_NAME, start);
 			}
 		}
 		return resultingCollections;
@@ -233,10 +233,11 @@ public class SimilarElementsRequestor extends CompletionRequestor {
 		if (!isKind(kind)) {
 			return;
 		}
-		String fullName= new String(Signature.toCharArray(Signature.getTypeErasure(typeNameSig)));
-		if (TypeFilter.isFiltered(fullName)) {
+		char[] fullTypeName= Signature.toCharArray(Signature.getTypeErasure(typeNameSig));
+		if (TypeFilter.isFiltered(fullTypeName)) {
 			return;
 		}
+		String fullName= new String(fullTypeName);
 		if (NameMatcher.isSimilarName(fName, Signature.getSimpleName(fullName))) {
 			addResult(new SimilarElement(kind, fullName, relevance));
 		}
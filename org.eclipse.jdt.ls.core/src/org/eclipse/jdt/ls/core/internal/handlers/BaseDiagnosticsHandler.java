@@ -25,6 +25,7 @@ import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -275,5 +276,9 @@ public abstract class BaseDiagnosticsHandler implements IProblemRequestor {
 		problems.clear();
 		PublishDiagnosticsParams $ = new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList());
 		this.connection.publishDiagnostics($);
+		DiagnosticsResultStore store = JavaLanguageServerPlugin.getDiagnosticsResultStore();
+		if (store != null) {
+			store.remove($.getUri());
+		}
 	}
 }
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -55,6 +56,7 @@ import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
@@ -161,7 +163,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 	}
 
 	private IStatus performValidation(IProgressMonitor monitor) throws JavaModelException {
-		long start = System.currentTimeMillis();
+		long start = System.nanoTime();
 
 		List<ICompilationUnit> cusToReconcile;
 		synchronized (toReconcile) {
@@ -184,7 +186,9 @@ public abstract class BaseDocumentLifeCycleHandler {
 			cu.makeConsistent(progress);
 			//cu.reconcile(ICompilationUnit.NO_AST, false, null, progress.newChild(1));
 		}
-		JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		long duration = System.nanoTime() - start;
+		Metrics.record("reconcile", duration);
+		JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ". Took " + TimeUnit.NANOSECONDS.toMillis(duration) + " ms");
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
@@ -206,7 +210,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 	}
 
 	private IStatus publishDiagnostics(IProgressMonitor monitor) throws JavaModelException {
-		long start = System.currentTimeMillis();
+		long start = System.nanoTime();
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
@@ -233,7 +237,9 @@ public abstract class BaseDocumentLifeCycleHandler {
 				publishDiagnostics(unit, progress.newChild(1));
 			}
 		}
-		JavaLanguageServerPlugin.logInfo("Validated " + toValidate.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		long duration = System.nanoTime() - start;
+		Metrics.record("validate", duration);
+		JavaLanguageServerPlugin.logInfo("Validated " + toValidate.size() + ". Took " + TimeUnit.NANOSECONDS.toMillis(duration) + " ms");
 		return Status.OK_STATUS;
 	}
 
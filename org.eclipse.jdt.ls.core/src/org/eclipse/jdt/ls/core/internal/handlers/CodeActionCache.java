@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics.CacheMetrics;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.CodeActionParams;
+import org.eclipse.lsp4j.Command;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Remembers the last code actions computed for each document, so that a
+ * client asking again for the same selection, e.g. while the cursor moves back
+ * and forth, gets them without computing them again.
+ *
+ * The AST the code actions were computed from stands for the document
+ * version: the shared AST of a document is replaced on every change.
+ *
+ * The proposals the code actions are resolved from aren't cached, they hold
+ * the AST they were computed from, which would then never be collected. The
+ * data of the cached code actions which are resolved lazily is
+ * {@link #UNRESOLVED} instead.
+ */
+public class CodeActionCache {
+
+	/**
+	 * The data of a cached code action whose proposal must be computed again
+	 * to resolve it.
+	 */
+	public static final Object UNRESOLVED = new Object();
+
+	private static final int MAX_SIZE = 16;
+	private static final CacheMetrics metrics = Metrics.getCacheMetrics("codeActions");
+
+	private final Map<Key, List<Either<Command, CodeAction>>> cache = new LinkedHashMap<Key, List<Either<Command, CodeAction>>>(MAX_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, List<Either<Command, CodeAction>>> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * @return a copy of the code actions computed for the same request, or
+	 *         <code>null</code> if none were cached
+	 */
+	public synchronized List<Either<Command, CodeAction>> get(CodeActionParams params, CompilationUnit astRoot, Map<String, Object> formattingOptions, Preferences preferences) {
+		List<Either<Command, CodeAction>> codeActions = metrics.lookup(cache.get(new Key(params, astRoot, formattingOptions, preferences)));
+		return codeActions == null ? null : copy(codeActions);
+	}
+
+	/**
+	 * Caches a copy of the given code actions, without their proposals, before
+	 * their data fields are populated.
+	 */
+	public synchronized void put(CodeActionParams params, CompilationUnit astRoot, Map<String, Object> formattingOptions, Preferences preferences, List<Either<Command, CodeAction>> codeActions) {
+		Key key = new Key(params, astRoot, formattingOptions, preferences);
+		// the actions computed on an older AST of the document are obsolete
+		cache.keySet().removeIf(k -> Objects.equals(k.uri, key.uri) && k.getASTRoot() != astRoot);
+		List<Either<Command, CodeAction>> cached = copy(codeActions);
+		for (Either<Command, CodeAction> codeAction : cached) {
+			if (codeAction.isRight() && codeAction.getRight().getData() != null) {
+				codeAction.getRight().setData(UNRESOLVED);
+			}
+		}
+		cache.put(key, cached);
+	}
+
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	private static List<Either<Command, CodeAction>> copy(List<Either<Command, CodeAction>> codeActions) {
+		List<Either<Command, CodeAction>> result = new ArrayList<>(codeActions.size());
+		for (Either<Command, CodeAction> codeAction : codeActions) {
+			result.add(codeAction.isRight() ? Either.forRight(copy(codeAction.getRight())) : codeAction);
+		}
+		return result;
+	}
+
+	private static CodeAction copy(CodeAction codeAction) {
+		CodeAction result = new CodeAction(codeAction.getTitle());
+		result.setKind(codeAction.getKind());
+		result.setDiagnostics(codeAction.getDiagnostics());
+		result.setIsPreferred(codeAction.getIsPreferred());
+		result.setDisabled(codeAction.getDisabled());
+		result.setEdit(codeAction.getEdit());
+		result.setCommand(codeAction.getCommand());
+		result.setData(codeAction.getData());
+		return result;
+	}
+
+	private static class Key {
+		private final String uri;
+		private final WeakReference<CompilationUnit> astRoot;
+		private final Object range;
+		private final Object context;
+		private final Map<String, Object> formattingOptions;
+		private final WeakReference<Preferences> preferences;
+		/**
+		 * The filtered types are changed in place, see
+		 * {@link Preferences#setFilteredTypes(List)}.
+		 */
+		private final List<String> filteredTypes;
+		private final int hashCode;
+
+		Key(CodeActionParams params, CompilationUnit astRoot, Map<String, Object> formattingOptions, Preferences preferences) {
+			this.uri = params.getTextDocument().getUri();
+			this.astRoot = new WeakReference<>(astRoot);
+			this.range = params.getRange();
+			this.context = params.getContext();
+			this.formattingOptions = formattingOptions == null ? Collections.emptyMap() : new LinkedHashMap<>(formattingOptions);
+			this.preferences = new WeakReference<>(preferences);
+			this.filteredTypes = preferences == null || preferences.getFilteredTypes() == null ? Collections.emptyList() : Arrays.asList(preferences.getFilteredTypes());
+			this.hashCode = Objects.hash(uri, System.identityHashCode(astRoot), range, context, this.formattingOptions, System.identityHashCode(preferences), filteredTypes);
+		}
+
+		CompilationUnit getASTRoot() {
+			return astRoot.get();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			CompilationUnit ast = getASTRoot();
+			Preferences prefs = preferences.get();
+			//@formatter:off
+			return hashCode == other.hashCode
+					&& ast != null && ast == other.getASTRoot()
+					&& prefs == other.preferences.get()
+					&& Objects.equals(uri, other.uri)
+					&& Objects.equals(range, other.range)
+					&& Objects.equals(context, other.context)
+					&& Objects.equals(formattingOptions, other.formattingOptions)
+					&& Objects.equals(filteredTypes, other.filteredTypes);
+			//@formatter:on
+		}
+	}
+}
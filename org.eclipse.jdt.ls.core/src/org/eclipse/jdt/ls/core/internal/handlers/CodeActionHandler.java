@@ -17,16 +17,22 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.JavaCore;
@@ -39,6 +45,7 @@ import org.eclipse.jdt.ls.core.internal.ChangeUtil;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaCodeActionKind;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.corrections.CorrectionBudget;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
 import org.eclipse.jdt.ls.core.internal.corrections.InnovationContext;
 import org.eclipse.jdt.ls.core.internal.corrections.QuickFixProcessor;
@@ -66,6 +73,12 @@ public class CodeActionHandler {
 	public static final ResponseStore<Either<ChangeCorrectionProposal, CodeActionProposal>> codeActionStore
 		= new ResponseStore<>(ForkJoinPool.commonPool().getParallelism());
 	public static final String COMMAND_ID_APPLY_EDIT = "java.apply.workspaceEdit";
+	public static final String CODE_ACTION_COMPLETION_JOBS = "CodeActionCompletionJobs";
+	/**
+	 * Requests taking longer than this (in milliseconds) have their processor
+	 * timings logged.
+	 */
+	private static final long SLOW_REQUEST_THRESHOLD = 1000;
 
 	private QuickFixProcessor quickFixProcessor;
 	private RefactorProcessor refactorProcessor;
@@ -74,9 +87,15 @@ public class CodeActionHandler {
 	private NonProjectFixProcessor nonProjectFixProcessor;
 
 	private PreferenceManager preferenceManager;
+	private CodeActionCache codeActionCache;
 
 	public CodeActionHandler(PreferenceManager preferenceManager) {
+		this(preferenceManager, null);
+	}
+
+	public CodeActionHandler(PreferenceManager preferenceManager, CodeActionCache codeActionCache) {
 		this.preferenceManager = preferenceManager;
+		this.codeActionCache = codeActionCache;
 		this.quickFixProcessor = new QuickFixProcessor();
 		this.sourceAssistProcessor = new SourceAssistProcessor(preferenceManager);
 		this.quickAssistProcessor = new QuickAssistProcessor(preferenceManager);
@@ -84,7 +103,33 @@ public class CodeActionHandler {
 		this.nonProjectFixProcessor = new NonProjectFixProcessor(preferenceManager);
 	}
 
+	/**
+	 * Why the code actions are computed.
+	 */
+	private enum Computation {
+		/**
+		 * A code action request: the cached code actions are served, and the
+		 * processors the time budget can't afford are deferred.
+		 */
+		REQUEST,
+		/**
+		 * The completion, in the background, of a request whose processors were
+		 * deferred: all the code actions are computed and cached, for the next
+		 * identical request.
+		 */
+		COMPLETION,
+		/**
+		 * A cached code action is resolved: all the code actions are computed,
+		 * their data fields hold the proposals.
+		 */
+		RESOLVE
+	}
+
 	public List<Either<Command, CodeAction>> getCodeActionCommands(CodeActionParams params, IProgressMonitor monitor) {
+		return getCodeActionCommands(params, Computation.REQUEST, monitor);
+	}
+
+	private List<Either<Command, CodeAction>> getCodeActionCommands(CodeActionParams params, Computation computation, IProgressMonitor monitor) {
 		if (monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
@@ -124,6 +169,20 @@ public class CodeActionHandler {
 			return Collections.emptyList();
 		}
 
+		Preferences preferences = preferenceManager.getPreferences();
+		if (codeActionCache != null && computation == Computation.REQUEST) {
+			List<Either<Command, CodeAction>> cachedCodeActions = codeActionCache.get(params, astRoot, formattingOptions, preferences);
+			if (cachedCodeActions != null) {
+				for (Either<Command, CodeAction> codeAction : cachedCodeActions) {
+					if (codeAction.isRight() && codeAction.getRight().getData() == CodeActionCache.UNRESOLVED) {
+						codeAction.getRight().setData(createResolvingProposal(params, codeAction.getRight()));
+					}
+				}
+				populateDataFields(cachedCodeActions);
+				return cachedCodeActions;
+			}
+		}
+
 		int start = DiagnosticsHelper.getStartOffset(unit, params.getRange());
 		int end = DiagnosticsHelper.getEndOffset(unit, params.getRange());
 		InnovationContext context = new InnovationContext(unit, start, end - start);
@@ -153,10 +212,13 @@ public class CodeActionHandler {
 		List<Either<Command, CodeAction>> codeActions = new ArrayList<>();
 		List<ChangeCorrectionProposal> proposals = new ArrayList<>();
 		ChangeCorrectionProposalComparator comparator = new ChangeCorrectionProposalComparator();
+		CorrectionBudget budget = computation == Computation.REQUEST ? createBudget(preferences.getCodeActionTimeBudget()) : CorrectionBudget.unlimited();
 		if (containsKind(codeActionKinds, CodeActionKind.QuickFix)) {
 			try {
+				long processorStart = System.nanoTime();
 				codeActions.addAll(nonProjectFixProcessor.getCorrections(params, context, locations));
-				List<ChangeCorrectionProposal> quickfixProposals = this.quickFixProcessor.getCorrections(context, locations);
+				budget.record("nonProjectFix", processorStart);
+				List<ChangeCorrectionProposal> quickfixProposals = this.quickFixProcessor.getCorrections(context, locations, budget);
 				quickfixProposals.sort(comparator);
 				proposals.addAll(quickfixProposals);
 			} catch (CoreException e) {
@@ -167,9 +229,11 @@ public class CodeActionHandler {
 			return Collections.emptyList();
 		}
 
-		if (containsKind(codeActionKinds, CodeActionKind.Refactor)) {
+		if (containsKind(codeActionKinds, CodeActionKind.Refactor) && !budget.defer("refactor")) {
 			try {
+				long processorStart = System.nanoTime();
 				List<ChangeCorrectionProposal> refactorProposals = this.refactorProcessor.getProposals(params, context, locations);
+				budget.record("refactor", processorStart);
 				refactorProposals.sort(comparator);
 				proposals.addAll(refactorProposals);
 			} catch (CoreException e) {
@@ -179,9 +243,11 @@ public class CodeActionHandler {
 		if (monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
-		if (containsKind(codeActionKinds, JavaCodeActionKind.QUICK_ASSIST)) {
+		if (containsKind(codeActionKinds, JavaCodeActionKind.QUICK_ASSIST) && !budget.defer("quickassist")) {
 			try {
+				long processorStart = System.nanoTime();
 				List<ChangeCorrectionProposal> quickassistProposals = this.quickAssistProcessor.getAssists(params, context, locations);
+				budget.record("quickassist", processorStart);
 				quickassistProposals.sort(comparator);
 				proposals.addAll(quickassistProposals);
 			} catch (CoreException e) {
@@ -192,29 +258,106 @@ public class CodeActionHandler {
 			return Collections.emptyList();
 		}
 		try {
+			long conversionStart = System.nanoTime();
+			// without resolve support, the edits of all the proposals are computed up-front
+			boolean computesEdits = !preferenceManager.getClientPreferences().isResolveCodeActionSupported();
+			Set<Either<Command, CodeAction>> uniqueCodeActions = new HashSet<>(codeActions);
 			for (ChangeCorrectionProposal proposal : proposals) {
+				// the quick fixes are always kept, they fix the problems the request was made for
+				if (computesEdits && !CodeActionKind.QuickFix.equals(proposal.getKind()) && budget.isExceeded() && budget.defer("conversion")) {
+					break;
+				}
 				Optional<Either<Command, CodeAction>> codeActionFromProposal = getCodeActionFromProposal(proposal, params.getContext());
-				if (codeActionFromProposal.isPresent() && !codeActions.contains(codeActionFromProposal.get())) {
+				if (codeActionFromProposal.isPresent() && uniqueCodeActions.add(codeActionFromProposal.get())) {
 					codeActions.add(codeActionFromProposal.get());
 				}
 			}
+			budget.record("conversion", conversionStart);
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problem converting proposal to code actions", e);
 		}
 		if (monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
-		if (containsKind(codeActionKinds, CodeActionKind.Source)) {
+		if (containsKind(codeActionKinds, CodeActionKind.Source) && !budget.defer("source")) {
+			long processorStart = System.nanoTime();
 			codeActions.addAll(sourceAssistProcessor.getSourceActionCommands(params, context, locations, monitor));
+			budget.record("source", processorStart);
 		}
 		if (monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
 
+		long elapsed = budget.getElapsed();
+		if (budget.hasDeferred() || elapsed > SLOW_REQUEST_THRESHOLD) {
+			JavaLanguageServerPlugin.logInfo("Code actions computed in " + elapsed + "ms: " + budget);
+		}
+		if (computation == Computation.RESOLVE) {
+			return codeActions;
+		}
+		if (codeActionCache != null) {
+			if (!budget.hasDeferred()) {
+				codeActionCache.put(params, astRoot, formattingOptions, preferences, codeActions);
+			} else {
+				// a partial result must not be served for the next identical request, the complete one is
+				scheduleCompletion(params);
+			}
+		}
+		if (computation == Computation.COMPLETION) {
+			return codeActions;
+		}
 		populateDataFields(codeActions);
 		return codeActions;
 	}
 
+	/**
+	 * Computes all the code actions of the given request in the background, and
+	 * caches them.
+	 */
+	private void scheduleCompletion(CodeActionParams params) {
+		Job job = new Job("Complete code actions") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				getCodeActionCommands(params, Computation.COMPLETION, monitor);
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return CODE_ACTION_COMPLETION_JOBS.equals(family);
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Returns a proposal resolving the given cached code action: the code
+	 * actions are computed again, and the edit of the one with the same kind
+	 * and title is resolved.
+	 */
+	private CodeActionProposal createResolvingProposal(CodeActionParams params, CodeAction cachedCodeAction) {
+		String kind = cachedCodeAction.getKind();
+		String title = cachedCodeAction.getTitle();
+		return monitor -> {
+			for (Either<Command, CodeAction> codeAction : getCodeActionCommands(params, Computation.RESOLVE, monitor)) {
+				if (codeAction.isRight() && Objects.equals(kind, codeAction.getRight().getKind()) && Objects.equals(title, codeAction.getRight().getTitle())) {
+					Object data = codeAction.getRight().getData();
+					if (data instanceof ChangeCorrectionProposal) {
+						return ChangeUtil.convertToWorkspaceEdit(((ChangeCorrectionProposal) data).getChange());
+					} else if (data instanceof CodeActionProposal) {
+						return ((CodeActionProposal) data).resolveEdit(monitor);
+					}
+				}
+			}
+			return null;
+		};
+	}
+
+	CorrectionBudget createBudget(long timeBudget) {
+		return new CorrectionBudget(timeBudget);
+	}
+
 	private void populateDataFields(List<Either<Command, CodeAction>> codeActions) {
 		ResponseStore.ResponseItem<Either<ChangeCorrectionProposal, CodeActionProposal>> response = codeActionStore.createResponse();
 		List<Either<ChangeCorrectionProposal, CodeActionProposal>> proposals = new ArrayList<>();
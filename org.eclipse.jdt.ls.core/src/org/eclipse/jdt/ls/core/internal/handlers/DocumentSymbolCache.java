@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics.CacheMetrics;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Remembers the last hierarchical outline computed for each document.
+ *
+ * The outline is returned as is while the content of the document doesn't
+ * change. After a change, the symbols of the elements outside of the changed
+ * region are reused, so that only the elements containing the change are
+ * derived again: the elements before the change are reused as they are, and
+ * so are the elements after it, unless the change added or removed lines, in
+ * which case they are copied with their lines shifted.
+ */
+public class DocumentSymbolCache {
+
+	private static final int MAX_SIZE = 8;
+	private static final CacheMetrics metrics = Metrics.getCacheMetrics("documentSymbols");
+
+	private final Map<String, Outline> cache = new LinkedHashMap<String, Outline>(MAX_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Outline> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * @return the outline of the given content of the document, or
+	 *         <code>null</code> if it must be computed
+	 */
+	public synchronized List<DocumentSymbol> get(ITypeRoot unit, String source) {
+		Outline outline = cache.get(unit.getHandleIdentifier());
+		return metrics.lookup(outline != null && outline.source.equals(source) ? outline.symbols : null);
+	}
+
+	/**
+	 * Starts computing the outline of the given content of the document,
+	 * reusing the symbols of the previous outline.
+	 */
+	public synchronized Outline newOutline(ITypeRoot unit, String source) {
+		return new Outline(source, cache.get(unit.getHandleIdentifier()));
+	}
+
+	public synchronized void put(ITypeRoot unit, Outline outline, List<DocumentSymbol> symbols) {
+		outline.symbols = symbols;
+		outline.previous = null;
+		cache.put(unit.getHandleIdentifier(), outline);
+	}
+
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * The symbols of a version of a document, by element.
+	 */
+	public static final class Outline {
+		private final String source;
+		private List<DocumentSymbol> symbols;
+		private final Map<String, DocumentSymbol> byHandle = new HashMap<>();
+		private final Map<DocumentSymbol, Entry> entries = new IdentityHashMap<>();
+
+		private Outline previous;
+		/**
+		 * The changed region, in the previous source: the content before
+		 * <code>start</code> and after <code>end</code> is unchanged.
+		 */
+		private int start;
+		private int end;
+		/**
+		 * The number of characters and of lines added by the change
+		 */
+		private int delta;
+		private int lineDelta;
+		/**
+		 * The offset of the first line after the change, in the previous
+		 * source
+		 */
+		private int nextLine;
+
+		private Outline(String source, Outline previous) {
+			this.source = source;
+			if (previous != null) {
+				this.previous = previous;
+				computeChange(previous.source, source);
+			}
+		}
+
+		private void computeChange(String oldSource, String newSource) {
+			int oldLength = oldSource.length();
+			int newLength = newSource.length();
+			int min = Math.min(oldLength, newLength);
+			int prefix = 0;
+			while (prefix < min && oldSource.charAt(prefix) == newSource.charAt(prefix)) {
+				prefix++;
+			}
+			int suffix = 0;
+			while (suffix < min - prefix && oldSource.charAt(oldLength - suffix - 1) == newSource.charAt(newLength - suffix - 1)) {
+				suffix++;
+			}
+			// don't split a \r\n line delimiter
+			if (prefix > 0 && oldSource.charAt(prefix - 1) == '\r') {
+				prefix--;
+			}
+			if (suffix > 0 && oldSource.charAt(oldLength - suffix) == '\n') {
+				suffix--;
+			}
+			start = prefix;
+			end = oldLength - suffix;
+			delta = newLength - oldLength;
+			lineDelta = countLines(newSource, prefix, newLength - suffix) - countLines(oldSource, prefix, end);
+			nextLine = Integer.MAX_VALUE;
+			for (int i = end; i < oldLength; i++) {
+				char c = oldSource.charAt(i);
+				if (c == '\n' || (c == '\r' && (i + 1 == oldLength || oldSource.charAt(i + 1) != '\n'))) {
+					nextLine = i + 1;
+					break;
+				}
+			}
+		}
+
+		private static int countLines(String source, int start, int end) {
+			int lines = 0;
+			for (int i = start; i < end; i++) {
+				char c = source.charAt(i);
+				if (c == '\n' || (c == '\r' && (i + 1 == source.length() || source.charAt(i + 1) != '\n'))) {
+					lines++;
+				}
+			}
+			return lines;
+		}
+
+		/**
+		 * Returns the symbol of the given element computed for the previous
+		 * version of the document, if the element is outside of the changed
+		 * region, and adds it to this outline.
+		 *
+		 * @param element
+		 *            an element of this version of the document
+		 * @param range
+		 *            the source range of the element
+		 * @return the symbol of the element, or <code>null</code> if it must be
+		 *         computed
+		 */
+		public DocumentSymbol reuse(IJavaElement element, ISourceRange range) {
+			if (previous == null) {
+				return null;
+			}
+			int offset = range.getOffset();
+			int length = range.getLength();
+			int oldOffset;
+			int lines;
+			if (offset + length <= start) {
+				oldOffset = offset;
+				lines = 0;
+			} else if (offset - delta >= nextLine) {
+				oldOffset = offset - delta;
+				lines = lineDelta;
+			} else {
+				return null;
+			}
+			String handle = element.getHandleIdentifier();
+			DocumentSymbol symbol = previous.byHandle.get(handle);
+			Entry entry = symbol == null ? null : previous.entries.get(symbol);
+			if (entry == null || entry.offset != oldOffset || entry.length != length) {
+				return null;
+			}
+			return copy(symbol, lines);
+		}
+
+		/**
+		 * Adds the computed symbol of the given element to this outline.
+		 */
+		public void add(IJavaElement element, ISourceRange range, DocumentSymbol symbol) {
+			add(element.getHandleIdentifier(), range.getOffset(), range.getLength(), symbol);
+		}
+
+		private void add(String handle, int offset, int length, DocumentSymbol symbol) {
+			byHandle.put(handle, symbol);
+			entries.put(symbol, new Entry(handle, offset, length));
+		}
+
+		/**
+		 * Adds the given symbol of the previous outline and its children to this
+		 * outline, shifted by the given number of lines.
+		 */
+		private DocumentSymbol copy(DocumentSymbol symbol, int lines) {
+			Entry entry = previous.entries.get(symbol);
+			DocumentSymbol result = symbol;
+			List<DocumentSymbol> children = symbol.getChildren();
+			if (lines != 0) {
+				result = new DocumentSymbol(symbol.getName(), symbol.getKind(), shift(symbol.getRange(), lines), shift(symbol.getSelectionRange(), lines), symbol.getDetail());
+				result.setTags(symbol.getTags());
+				result.setDeprecated(symbol.getDeprecated());
+				if (children != null) {
+					List<DocumentSymbol> copies = new ArrayList<>(children.size());
+					for (DocumentSymbol child : children) {
+						copies.add(copy(child, lines));
+					}
+					result.setChildren(copies);
+				}
+			} else if (children != null) {
+				for (DocumentSymbol child : children) {
+					copy(child, lines);
+				}
+			}
+			if (entry != null) {
+				add(entry.handle, entry.offset < start ? entry.offset : entry.offset + delta, entry.length, result);
+			}
+			return result;
+		}
+
+		private static Range shift(Range range, int lines) {
+			if (range == null) {
+				return null;
+			}
+			Position start = range.getStart();
+			Position end = range.getEnd();
+			return new Range(new Position(start.getLine() + lines, start.getCharacter()), new Position(end.getLine() + lines, end.getCharacter()));
+		}
+	}
+
+	private static class Entry {
+		private final String handle;
+		private final int offset;
+		private final int length;
+
+		Entry(String handle, int offset, int length) {
+			this.handle = handle;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+}
@@ -41,12 +41,16 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.SourceRange;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.jdt.ls.core.internal.handlers.DocumentSymbolCache.Outline;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.DocumentSymbol;
@@ -64,9 +68,15 @@ public class DocumentSymbolHandler {
 	private static Range DEFAULT_RANGE = new Range(new Position(0, 0), new Position(0, 0));
 
 	private PreferenceManager preferenceManager;
+	private DocumentSymbolCache cache;
 
 	public DocumentSymbolHandler(PreferenceManager preferenceManager) {
+		this(preferenceManager, null);
+	}
+
+	public DocumentSymbolHandler(PreferenceManager preferenceManager, DocumentSymbolCache cache) {
 		this.preferenceManager = preferenceManager;
+		this.cache = cache;
 	}
 
 	public List<Either<SymbolInformation, DocumentSymbol>> documentSymbol(DocumentSymbolParams params, IProgressMonitor monitor) {
@@ -144,7 +154,17 @@ public class DocumentSymbolHandler {
 
 	private List<DocumentSymbol> getHierarchicalOutline(ITypeRoot unit, IProgressMonitor monitor) {
 		try {
-			return Stream.of(filter(unit.getChildren())).map(child -> toDocumentSymbol(child, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
+			String source = cache == null ? null : unit.getSource();
+			if (source == null) {
+				return Stream.of(filter(unit.getChildren())).map(child -> toDocumentSymbol(child, null, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
+			}
+			List<DocumentSymbol> symbols = cache.get(unit, source);
+			if (symbols == null) {
+				Outline outline = cache.newOutline(unit, source);
+				symbols = Stream.of(filter(unit.getChildren())).map(child -> toDocumentSymbol(child, outline, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
+				cache.put(unit, outline, symbols);
+			}
+			return symbols;
 		} catch (OperationCanceledException e) {
 			logInfo("User abort while collecting the document symbols.");
 		} catch (JavaModelException e) {
@@ -157,7 +177,7 @@ public class DocumentSymbolHandler {
 		return emptyList();
 	}
 
-	private DocumentSymbol toDocumentSymbol(IJavaElement unit, IProgressMonitor monitor) {
+	private DocumentSymbol toDocumentSymbol(IJavaElement unit, Outline outline, IProgressMonitor monitor) {
 		int type = unit.getElementType();
 		if (type != TYPE && type != FIELD && type != METHOD && type != PACKAGE_DECLARATION && type != COMPILATION_UNIT) {
 			return null;
@@ -167,6 +187,13 @@ public class DocumentSymbolHandler {
 		}
 		DocumentSymbol symbol = new DocumentSymbol();
 		try {
+			ISourceRange sourceRange = outline != null && unit instanceof ISourceReference ? ((ISourceReference) unit).getSourceRange() : null;
+			if (SourceRange.isAvailable(sourceRange)) {
+				DocumentSymbol reused = outline.reuse(unit, sourceRange);
+				if (reused != null) {
+					return reused;
+				}
+			}
 			String name = getName(unit);
 			symbol.setName(name);
 			symbol.setRange(getRange(unit));
@@ -185,11 +212,14 @@ public class DocumentSymbolHandler {
 				//@formatter:off
 				IJavaElement[] children = filter(((IParent) unit).getChildren());
 				symbol.setChildren(Stream.of(children)
-						.map(child -> toDocumentSymbol(child, monitor))
+						.map(child -> toDocumentSymbol(child, outline, monitor))
 						.filter(Objects::nonNull)
 						.collect(Collectors.toList()));
 				//@formatter:off
 			}
+			if (SourceRange.isAvailable(sourceRange)) {
+				outline.add(unit, sourceRange, symbol);
+			}
 		} catch (JavaModelException e) {
 			Exceptions.sneakyThrow(e);
 		}
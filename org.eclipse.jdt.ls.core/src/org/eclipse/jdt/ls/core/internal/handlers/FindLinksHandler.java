@@ -27,6 +27,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
@@ -77,7 +78,7 @@ public class FindLinksHandler {
 			return null;
 		}
 
-		ITypeHierarchy hierarchy = type.newSupertypeHierarchy(monitor);
+		ITypeHierarchy hierarchy = TypeHierarchyCache.getSupertypeHierarchy(type, monitor);
 		MethodOverrideTester tester = new MethodOverrideTester(type, hierarchy);
 		IMethod found = tester.findOverriddenMethod(method, true);
 		if (found != null && !found.equals(method)) {
@@ -19,9 +19,13 @@ import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logExcep
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
@@ -36,12 +40,16 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore;
+import org.eclipse.jdt.ls.core.internal.EventNotification;
+import org.eclipse.jdt.ls.core.internal.EventType;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.ServiceStatus;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+import org.eclipse.jdt.ls.core.internal.metrics.StartupTimeline;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.CodeLensOptions;
@@ -201,13 +209,32 @@ final public class InitHandler extends BaseInitHandler {
 		semanticTokensOptions.setLegend(SemanticTokensHandler.legend());
 		capabilities.setSemanticTokensProvider(semanticTokensOptions);
 
+		if (preferenceManager.getClientPreferences().isPullDiagnosticsSupported()) {
+			// lsp4j doesn't know about the 3.17 diagnosticProvider capability yet
+			Map<String, Object> diagnosticProvider = new HashMap<>();
+			diagnosticProvider.put("identifier", JavaLanguageServerPlugin.SERVER_SOURCE_ID);
+			diagnosticProvider.put("interFileDependencies", Boolean.TRUE);
+			diagnosticProvider.put("workspaceDiagnostics", Boolean.TRUE);
+			Map<Object, Object> experimental = new HashMap<>();
+			if (capabilities.getExperimental() instanceof Map) {
+				experimental.putAll((Map<?, ?>) capabilities.getExperimental());
+			}
+			experimental.put("diagnosticProvider", diagnosticProvider);
+			capabilities.setExperimental(experimental);
+			DiagnosticsResultStore store = JavaLanguageServerPlugin.getDiagnosticsResultStore();
+			if (store != null) {
+				store.setPullEnabled(true);
+			}
+		}
+
 		initializeResult.setCapabilities(capabilities);
 	}
 
 	@Override
 	public void triggerInitialization(Collection<IPath> roots) {
+		StartupTimeline.begin();
 		if (ProjectUtils.getAllProjects().length == 0) {
-			try {
+			try (StartupTimeline.Phase phase = StartupTimeline.phase("Wait for AutoBuildOffJob")) {
 				// a workaround for https://github.com/redhat-developer/vscode-java/issues/2020
 				JavaLanguageServerPlugin.logInfo("Wait for AutoBuildOffJob start");
 				long start = System.currentTimeMillis();
@@ -217,29 +244,52 @@ final public class InitHandler extends BaseInitHandler {
 				logException(e.getMessage(), e);
 			}
 		}
+		// the maven and gradle plugins don't depend on each other, so they're started concurrently
+		CompletableFuture<Void> gradle = CompletableFuture.runAsync(() -> {
+			// load gradle plugin https://github.com/redhat-developer/vscode-java/issues/2088
+			try (StartupTimeline.Phase phase = StartupTimeline.phase("Start " + CorePlugin.PLUGIN_ID)) {
+				startBundle(CorePlugin.PLUGIN_ID);
+			}
+			try (StartupTimeline.Phase phase = StartupTimeline.phase("Wait for LoadingGradleVersionJob")) {
+				long start = System.currentTimeMillis();
+				JobHelpers.waitForLoadingGradleVersionJob();
+				JavaLanguageServerPlugin.logInfo("LoadingGradleVersionJob finished " + (System.currentTimeMillis() - start) + "ms");
+			}
+		});
 		// load maven plugin https://github.com/redhat-developer/vscode-java/issues/2088
-		startBundle(IMavenConstants.PLUGIN_ID);
-		long start = System.currentTimeMillis();
-		JobHelpers.waitForProjectRegistryRefreshJob();
-		JavaLanguageServerPlugin.logInfo("ProjectRegistryRefreshJob finished " + (System.currentTimeMillis() - start) + "ms");
-		// load gradle plugin https://github.com/redhat-developer/vscode-java/issues/2088
-		startBundle(CorePlugin.PLUGIN_ID);
-		start = System.currentTimeMillis();
-		JobHelpers.waitForLoadingGradleVersionJob();
-		JavaLanguageServerPlugin.logInfo("LoadingGradleVersionJob finished " + (System.currentTimeMillis() - start) + "ms");
+		try (StartupTimeline.Phase phase = StartupTimeline.phase("Start " + IMavenConstants.PLUGIN_ID)) {
+			startBundle(IMavenConstants.PLUGIN_ID);
+		}
+		try (StartupTimeline.Phase phase = StartupTimeline.phase("Wait for ProjectRegistryRefreshJob")) {
+			long start = System.currentTimeMillis();
+			JobHelpers.waitForProjectRegistryRefreshJob();
+			JavaLanguageServerPlugin.logInfo("ProjectRegistryRefreshJob finished " + (System.currentTimeMillis() - start) + "ms");
+		}
+		try {
+			gradle.join();
+		} catch (CompletionException | CancellationException e) {
+			logException(e.getMessage(), e);
+		}
 		Job job = new WorkspaceJob("Initialize Workspace") {
 			@Override
 			public IStatus runInWorkspace(IProgressMonitor monitor) {
 				long start = System.currentTimeMillis();
 				connection.sendStatus(ServiceStatus.Starting, "Init...");
 				SubMonitor subMonitor = SubMonitor.convert(monitor, 100);
+				boolean autoBuilding = false;
 				try {
 					ProjectsManager.setAutoBuilding(false);
-					projectsManager.initializeProjects(roots, subMonitor);
-					projectsManager.configureFilters(monitor);
-					ProjectsManager.setAutoBuilding(preferenceManager.getPreferences().isAutobuildEnabled());
+					try (StartupTimeline.Phase phase = StartupTimeline.phase("Initialize projects")) {
+						projectsManager.initializeProjects(roots, subMonitor);
+					}
+					try (StartupTimeline.Phase phase = StartupTimeline.phase("Configure filters")) {
+						projectsManager.configureFilters(monitor);
+					}
+					autoBuilding = preferenceManager.getPreferences().isAutobuildEnabled();
+					ProjectsManager.setAutoBuilding(autoBuilding);
 					JavaLanguageServerPlugin.logInfo("Workspace initialized in " + (System.currentTimeMillis() - start) + "ms");
 					connection.sendStatus(ServiceStatus.Started, "Ready");
+					JavaLanguageServerPlugin.getJarIdentityIndex().scheduleClasspathIndexing();
 				} catch (OperationCanceledException e) {
 					connection.sendStatus(ServiceStatus.Error, "Initialization has been cancelled.");
 					return Status.CANCEL_STATUS;
@@ -248,6 +298,7 @@ final public class InitHandler extends BaseInitHandler {
 					connection.sendStatus(ServiceStatus.Error, e.getMessage());
 				} finally {
 					projectsManager.registerListeners();
+					reportStartupTimeline(autoBuilding);
 				}
 				return Status.OK_STATUS;
 			}
@@ -272,6 +323,41 @@ final public class InitHandler extends BaseInitHandler {
 		job.schedule();
 	}
 
+	/**
+	 * Reports the startup timeline to the log and to the client, once the first
+	 * build, if any, is over.
+	 */
+	private void reportStartupTimeline(boolean waitForBuild) {
+		if (!waitForBuild) {
+			sendStartupTimeline(StartupTimeline.end());
+			return;
+		}
+		StartupTimeline.Phase build = StartupTimeline.phase("Build workspace");
+		Job job = new Job("Report startup timeline") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					Job.getJobManager().join(ResourcesPlugin.FAMILY_AUTO_BUILD, monitor);
+				} catch (OperationCanceledException | InterruptedException e) {
+					// report the timeline anyway
+				}
+				build.close();
+				sendStartupTimeline(StartupTimeline.end());
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	private void sendStartupTimeline(StartupTimeline timeline) {
+		if (timeline == null) {
+			return;
+		}
+		JavaLanguageServerPlugin.logInfo(timeline.toString());
+		connection.sendEventNotification(new EventNotification().withType(EventType.StartupTimeline).withData(timeline));
+	}
+
 	private void startBundle(String symbolicName) {
 		try {
 			long start = System.currentTimeMillis();
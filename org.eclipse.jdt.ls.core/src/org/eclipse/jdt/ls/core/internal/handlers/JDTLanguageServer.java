@@ -19,8 +19,10 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -66,12 +68,18 @@ import org.eclipse.jdt.ls.core.internal.handlers.MoveHandler.MoveDestinationsRes
 import org.eclipse.jdt.ls.core.internal.handlers.MoveHandler.MoveParams;
 import org.eclipse.jdt.ls.core.internal.handlers.OverrideMethodsHandler.AddOverridableMethodParams;
 import org.eclipse.jdt.ls.core.internal.handlers.OverrideMethodsHandler.OverridableMethodsResponse;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.DocumentDiagnosticParams;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.DocumentDiagnosticReport;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.WorkspaceDiagnosticParams;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.WorkspaceDiagnosticReport;
 import org.eclipse.jdt.ls.core.internal.handlers.WorkspaceSymbolHandler.SearchSymbolParams;
 import org.eclipse.jdt.ls.core.internal.lsp.JavaProtocolExtensions;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+import org.eclipse.jdt.ls.core.internal.metrics.Metrics;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferencesDiff;
 import org.eclipse.lsp4j.CallHierarchyIncomingCall;
 import org.eclipse.lsp4j.CallHierarchyIncomingCallsParams;
 import org.eclipse.lsp4j.CallHierarchyItem;
@@ -165,6 +173,17 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 
 	private ProgressReporterManager progressReporterManager;
 
+	private final CodeActionCache codeActionCache = new CodeActionCache();
+
+	private final SignatureHelpSession signatureHelpSession = new SignatureHelpSession();
+
+	private final DocumentSymbolCache documentSymbolCache = new DocumentSymbolCache();
+
+	/**
+	 * The settings of the last configuration change, or <code>null</code>
+	 */
+	private Map<String, Object> lastSettings;
+
 	private Job shutdownJob = new Job("Shutdown...") {
 
 		@Override
@@ -179,6 +198,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 					classpathUpdateHandler.removeElementChangeListener();
 					classpathUpdateHandler = null;
 				}
+				signatureHelpSession.removeElementChangeListener();
 				ResourcesPlugin.getWorkspace().save(true, monitor);
 			} catch (CoreException e) {
 				logException(e.getMessage(), e);
@@ -203,6 +223,11 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		this.jvmConfigurator = new JVMConfigurator();
 		JavaRuntime.addVMInstallChangedListener(jvmConfigurator);
 		this.commandHandler = commandHandler;
+		preferenceManager.addPreferencesChangeListener((oldPreferences, newPreferences) -> {
+			codeActionCache.clear();
+			signatureHelpSession.clear();
+			documentSymbolCache.clear();
+		});
 	}
 
 	@Override
@@ -250,6 +275,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 			logException(e.getMessage(), e);
 		}
 		logInfo(">> initialization job finished");
+		signatureHelpSession.addElementChangeListener();
 		if (preferenceManager.getClientPreferences().isCompletionDynamicRegistered()) {
 			registerCapability(Preferences.COMPLETION_ID, Preferences.COMPLETION, CompletionHandler.DEFAULT_COMPLETION_OPTIONS);
 		}
@@ -450,22 +476,37 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public void didChangeConfiguration(DidChangeConfigurationParams params) {
 		logInfo(">> workspace/didChangeConfiguration");
 		Object settings = JSONUtility.toModel(params.getSettings(), Map.class);
+		if (settings instanceof Map && settings.equals(lastSettings)) {
+			logInfo(">> Configuration unchanged");
+			return;
+		}
+		Preferences oldPreferences = preferenceManager.getPreferences();
+		// the first configuration is fully applied
+		boolean firstChange = lastSettings == null;
 		if (settings instanceof Map) {
 			Collection<IPath> rootPaths = preferenceManager.getPreferences().getRootPaths();
 			@SuppressWarnings("unchecked")
-			Preferences prefs = Preferences.createFrom((Map<String, Object>) settings);
+			Map<String, Object> newSettings = (Map<String, Object>) settings;
+			Preferences prefs = Preferences.createFrom(newSettings);
 			prefs.setRootPaths(rootPaths);
 			preferenceManager.update(prefs);
+			// the settings may be modified once handled
+			lastSettings = copy(newSettings);
+		}
+		Set<PreferencesDiff.Group> changes = PreferencesDiff.compute(firstChange ? null : oldPreferences, preferenceManager.getPreferences());
+		if (changes.contains(PreferencesDiff.Group.CAPABILITIES)) {
+			syncCapabilitiesToSettings();
 		}
-		syncCapabilitiesToSettings();
 		boolean jvmChanged = false;
-		try {
-			jvmChanged = JVMConfigurator.configureJVMs(preferenceManager.getPreferences(), this.client);
-		} catch (Exception e) {
-			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		if (changes.contains(PreferencesDiff.Group.RUNTIMES)) {
+			try {
+				jvmChanged = JVMConfigurator.configureJVMs(preferenceManager.getPreferences(), this.client);
+			} catch (Exception e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
 		}
 		try {
-			boolean autoBuildChanged = ProjectsManager.setAutoBuilding(preferenceManager.getPreferences().isAutobuildEnabled());
+			boolean autoBuildChanged = changes.contains(PreferencesDiff.Group.AUTOBUILD) && ProjectsManager.setAutoBuilding(preferenceManager.getPreferences().isAutobuildEnabled());
 			if (jvmChanged) {
 				buildWorkspace(Either.forLeft(true));
 			} else if (autoBuildChanged) {
@@ -477,6 +518,21 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		logInfo(">> New configuration: " + settings);
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T value) {
+		if (value instanceof Map) {
+			Map<Object, Object> copy = new HashMap<>();
+			((Map<Object, Object>) value).forEach((k, v) -> copy.put(k, copy(v)));
+			return (T) copy;
+		}
+		if (value instanceof List) {
+			List<Object> copy = new ArrayList<>();
+			((List<Object>) value).forEach(v -> copy.add(copy(v)));
+			return (T) copy;
+		}
+		return value;
+	}
+
 
 
 	private void toggleCapability(boolean enabled, String id, String capability, Object options) {
@@ -568,7 +624,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<SignatureHelp> signatureHelp(SignatureHelpParams position) {
 		logInfo(">> document/signatureHelp");
-		SignatureHelpHandler handler = new SignatureHelpHandler(preferenceManager);
+		SignatureHelpHandler handler = new SignatureHelpHandler(preferenceManager, signatureHelpSession);
 		return computeAsync((monitor) -> handler.signatureHelp(position, monitor));
 	}
 
@@ -630,7 +686,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(DocumentSymbolParams params) {
 		logInfo(">> document/documentSymbol");
-		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager);
+		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager, documentSymbolCache);
 		return computeAsync((monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.documentSymbol(params, monitor);
@@ -643,7 +699,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params) {
 		logInfo(">> document/codeAction");
-		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager);
+		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager, codeActionCache);
 		return computeAsync((monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.getCodeActionCommands(params, monitor);
@@ -986,6 +1042,33 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		return computeAsyncWithClientProgress((monitor) -> WorkspaceSymbolHandler.search(params.getQuery(), params.maxResults, params.projectName, params.sourceOnly, monitor));
 	}
 
+	@Override
+	public CompletableFuture<DocumentDiagnosticReport> documentDiagnostic(DocumentDiagnosticParams params) {
+		logInfo(">> textDocument/diagnostic");
+		PullDiagnosticsHandler handler = new PullDiagnosticsHandler(preferenceManager);
+		return computeAsync((monitor) -> {
+			waitForLifecycleJobs(monitor);
+			return handler.documentDiagnostic(params, monitor);
+		});
+	}
+
+	@Override
+	public CompletableFuture<WorkspaceDiagnosticReport> workspaceDiagnostic(WorkspaceDiagnosticParams params) {
+		logInfo(">> workspace/diagnostic");
+		PullDiagnosticsHandler handler = new PullDiagnosticsHandler(preferenceManager);
+		return computeAsync((monitor) -> {
+			waitForLifecycleJobs(monitor);
+			// the report is only complete once the workspace is built
+			try {
+				Job.getJobManager().join(BaseInitHandler.JAVA_LS_INITIALIZATION_JOBS, monitor);
+				Job.getJobManager().join(ResourcesPlugin.FAMILY_AUTO_BUILD, monitor);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return handler.workspaceDiagnostic(params, monitor);
+		});
+	}
+
 	@Override
 	public CompletableFuture<List<CallHierarchyItem>> prepareCallHierarchy(CallHierarchyPrepareParams params) {
 		logInfo(">> textDocument/prepareCallHierarchy");
@@ -1012,10 +1095,10 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	}
 
 	private <R> CompletableFuture<R> computeAsyncWithClientProgress(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync((cc) -> {
+		return CompletableFutures.computeAsync(Metrics.track((cc) -> {
 			IProgressMonitor monitor = progressReporterManager.getProgressReporter(cc);
 			return code.apply(monitor);
-		});
+		}));
 	}
 
 	private void waitForLifecycleJobs(IProgressMonitor monitor) {
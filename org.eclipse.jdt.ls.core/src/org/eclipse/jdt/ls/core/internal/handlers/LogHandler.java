@@ -14,8 +14,17 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.text.DateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.ILogListener;
 import org.eclipse.core.runtime.IStatus;
@@ -27,15 +36,39 @@ import org.eclipse.lsp4j.MessageType;
  * The LogHandler hooks in the Eclipse log and forwards all Eclipse log messages to
  * the the client. In VSCode you can see all the messages in the Output view, in the
  * 'Java Language Support' channel.
+ *
+ * The messages are queued by the logging thread and sent by a background
+ * writer, which formats them, batches consecutive messages of the same type
+ * and limits the rate of the informational messages of each category.
  */
 public class LogHandler {
 
+	private static final int QUEUE_CAPACITY = 10000;
+	private static final int MAX_BATCH_SIZE = 50;
+	/**
+	 * The maximum number of informational messages of a category sent per
+	 * {@link #RATE_LIMIT_PERIOD}. Errors and warnings are never limited.
+	 */
+	private static final int RATE_LIMIT = 50;
+	private static final long RATE_LIMIT_PERIOD = TimeUnit.SECONDS.toMillis(1);
+	private static final int MAX_CATEGORY_LENGTH = 40;
+	/**
+	 * Queued on uninstall, the writer stops once the messages before are sent
+	 */
+	private static final LogEntry STOP = new LogEntry(null, 0);
+
 	private ILogListener logListener;
-	private DateFormat dateFormat;
+	private DateTimeFormatter dateFormat;
 	private int logLevelMask;
 	private JavaClientConnection connection;
 	private ILogFilter filter;
 
+	private final BlockingQueue<LogEntry> queue = new LinkedBlockingQueue<>();
+	private final AtomicInteger queueSize = new AtomicInteger();
+	private final AtomicInteger dropped = new AtomicInteger();
+	private final Map<String, RateLimit> rateLimits = new HashMap<>();
+	private volatile Thread writer;
+
 	public LogHandler() {
 		this(new DefaultLogFilter());
 	}
@@ -45,10 +78,15 @@ public class LogHandler {
 	}
 
 	public void install(JavaClientConnection rcpConnection) {
-		this.dateFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM);
+		this.dateFormat = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).withZone(ZoneId.systemDefault());
 		this.logLevelMask = getLogLevelMask(System.getProperty("log.level", ""));//Empty by default
 		this.connection = rcpConnection;
 
+		Thread thread = new Thread(this::writeMessages, "Java LS log writer");
+		thread.setDaemon(true);
+		this.writer = thread;
+		thread.start();
+
 		this.logListener = new ILogListener() {
 			@Override
 			public void logging(IStatus status, String bundleId) {
@@ -60,6 +98,17 @@ public class LogHandler {
 
 	public void uninstall() {
 		Platform.removeLogListener(this.logListener);
+		Thread thread = writer;
+		writer = null;
+		if (thread != null) {
+			queue.offer(STOP);
+			try {
+				// let the writer send the pending messages
+				thread.join(TimeUnit.SECONDS.toMillis(1));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
 	}
 
 	private int getLogLevelMask(String logLevel) {
@@ -82,7 +131,89 @@ public class LogHandler {
 			//no op;
 			return;
 		}
-		String dateString = this.dateFormat.format(new Date());
+		// only errors may exceed the capacity of the queue
+		if (queueSize.incrementAndGet() > QUEUE_CAPACITY && status.getSeverity() != IStatus.ERROR) {
+			queueSize.decrementAndGet();
+			dropped.incrementAndGet();
+			return;
+		}
+		queue.offer(new LogEntry(status, System.currentTimeMillis()));
+	}
+
+	private void writeMessages() {
+		LogEntry next = null;
+		while (next != STOP) {
+			try {
+				if (next == null) {
+					// only wakes up without messages to report the suppressed ones
+					next = rateLimits.isEmpty() ? queue.take() : queue.poll(RATE_LIMIT_PERIOD, TimeUnit.MILLISECONDS);
+				}
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				next = writeBatch(next);
+			} catch (Exception e) {
+				// the connection might be closed, there is nowhere to log to
+				next = null;
+			}
+		}
+	}
+
+	/**
+	 * Sends the given message and the consecutive queued messages of the same
+	 * type as a single message.
+	 *
+	 * @param first
+	 *            the first message, <code>null</code> to only report the
+	 *            dropped and suppressed messages
+	 * @return the next message, not sent yet, or <code>null</code>
+	 */
+	private LogEntry writeBatch(LogEntry first) {
+		StringBuilder batch = new StringBuilder();
+		MessageType batchType = null;
+		int size = 0;
+		int droppedMessages = dropped.getAndSet(0);
+		if (droppedMessages > 0) {
+			batchType = MessageType.Warning;
+			batch.append(formatDate(System.currentTimeMillis())).append(' ').append(droppedMessages).append(" log messages were dropped");
+			size++;
+		}
+		LogEntry entry = first;
+		while (entry != null && entry != STOP && size < MAX_BATCH_SIZE) {
+			MessageType type = getMessageTypeFromSeverity(entry.status.getSeverity());
+			if (batchType != null && batchType != type) {
+				break;
+			}
+			queueSize.decrementAndGet();
+			if (acquire(entry)) {
+				batchType = type;
+				if (size > 0) {
+					batch.append('\n');
+				}
+				batch.append(format(entry));
+				size++;
+			}
+			entry = queue.poll();
+		}
+		String suppressed = getSuppressedMessages();
+		if (suppressed != null) {
+			if (batchType == null || batchType == MessageType.Log) {
+				batchType = MessageType.Log;
+				batch.append(size > 0 ? "\n" : "").append(suppressed);
+				size++;
+			} else {
+				connection.logMessage(MessageType.Log, suppressed);
+			}
+		}
+		if (size > 0) {
+			connection.logMessage(batchType, batch.toString());
+		}
+		return entry;
+	}
+
+	private String format(LogEntry entry) {
+		IStatus status = entry.status;
 		String message = status.getMessage();
 		if (status.getException() != null) {
 			message = message + '\n' + status.getException().getMessage();
@@ -91,8 +222,73 @@ public class LogHandler {
 			String exceptionAsString = sw.toString();
 			message = message + '\n' + exceptionAsString;
 		}
+		return formatDate(entry.timestamp) + ' ' + message;
+	}
+
+	private String formatDate(long timestamp) {
+		return dateFormat.format(Instant.ofEpochMilli(timestamp));
+	}
+
+	/**
+	 * @return whether the given message is within the rate limit of its
+	 *         category
+	 */
+	private boolean acquire(LogEntry entry) {
+		int severity = entry.status.getSeverity();
+		if (severity == IStatus.ERROR || severity == IStatus.WARNING) {
+			return true;
+		}
+		String category = getCategory(entry.status.getMessage());
+		RateLimit rateLimit = rateLimits.computeIfAbsent(category, c -> new RateLimit());
+		if (entry.timestamp - rateLimit.periodStart >= RATE_LIMIT_PERIOD) {
+			rateLimit.periodStart = entry.timestamp;
+			rateLimit.count = 0;
+		}
+		if (rateLimit.count < RATE_LIMIT) {
+			rateLimit.count++;
+			return true;
+		}
+		rateLimit.suppressed++;
+		return false;
+	}
 
-		connection.logMessage(getMessageTypeFromSeverity(status.getSeverity()), dateString + ' ' + message);
+	/**
+	 * Reports the messages suppressed during the rate limit periods which are
+	 * over.
+	 */
+	private String getSuppressedMessages() {
+		long now = System.currentTimeMillis();
+		StringBuilder builder = null;
+		for (Iterator<Map.Entry<String, RateLimit>> iter = rateLimits.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry<String, RateLimit> e = iter.next();
+			RateLimit rateLimit = e.getValue();
+			if (now - rateLimit.periodStart < RATE_LIMIT_PERIOD) {
+				continue;
+			}
+			if (rateLimit.suppressed > 0) {
+				builder = builder == null ? new StringBuilder() : builder.append('\n');
+				builder.append(formatDate(now)).append(' ').append(rateLimit.suppressed).append(" similar messages were suppressed: ").append(e.getKey());
+			}
+			iter.remove();
+		}
+		return builder == null ? null : builder.toString();
+	}
+
+	/**
+	 * Messages are grouped by their beginning, up to the first digit, e.g.
+	 * "Reconciled 1. Took 2 ms" falls in the "Reconciled " category.
+	 */
+	static String getCategory(String message) {
+		if (message == null) {
+			return "";
+		}
+		int length = Math.min(message.length(), MAX_CATEGORY_LENGTH);
+		for (int i = 0; i < length; i++) {
+			if (Character.isDigit(message.charAt(i))) {
+				return message.substring(0, i);
+			}
+		}
+		return message.substring(0, length);
 	}
 
 	private MessageType getMessageTypeFromSeverity(int severity) {
@@ -108,4 +304,20 @@ public class LogHandler {
 		}
 	}
 
+	private static class LogEntry {
+		private final IStatus status;
+		private final long timestamp;
+
+		LogEntry(IStatus status, long timestamp) {
+			this.status = status;
+			this.timestamp = timestamp;
+		}
+	}
+
+	private static class RateLimit {
+		private long periodStart;
+		private int count;
+		private int suppressed;
+	}
+
 }
@@ -49,6 +49,7 @@ import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
+import org.eclipse.jdt.ls.core.internal.contentassist.TypeFilter;
 import org.eclipse.jdt.ls.core.internal.corrections.SimilarElementsRequestor;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.text.correction.SourceAssistProcessor;
@@ -83,7 +84,7 @@ public final class OrganizeImportsHandler {
 		OrganizeImportsOperation op = new OrganizeImportsOperation(unit, astRoot, true, false, true, (TypeNameMatch[][] openChoices, ISourceRange[] ranges) -> {
 			List<ImportSelection> selections = new ArrayList<>();
 			for (int i = 0; i < openChoices.length; i++) {
-				ImportCandidate[] candidates = Stream.of(openChoices[i]).map((choice) -> new ImportCandidate(choice)).toArray(ImportCandidate[]::new);
+				ImportCandidate[] candidates = Stream.of(filterTypes(openChoices[i])).map((choice) -> new ImportCandidate(choice)).toArray(ImportCandidate[]::new);
 				Range range = null;
 				try {
 					range = JDTUtils.toRange(unit, ranges[i].getOffset(), ranges[i].getLength());
@@ -174,6 +175,15 @@ public final class OrganizeImportsHandler {
 		return edit;
 	}
 
+	/**
+	 * Removes the choices filtered by <code>java.completion.filteredTypes</code>,
+	 * unless they are all filtered.
+	 */
+	private static TypeNameMatch[] filterTypes(TypeNameMatch[] choices) {
+		TypeNameMatch[] filtered = Stream.of(choices).filter(choice -> !TypeFilter.isFiltered(choice.getFullyQualifiedName())).toArray(TypeNameMatch[]::new);
+		return filtered.length == 0 ? choices : filtered;
+	}
+
 	private static boolean areEqual(InsertEdit edit1, InsertEdit edit2) {
 		if (edit1 != null && edit2 != null) {
 			return edit1.getOffset() == edit2.getOffset() && edit1.getLength() == edit2.getLength() && edit1.getText().equals(edit2.getText());
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaModelMarker;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore.DiagnosticsResult;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+
+/**
+ * Answers the LSP 3.17 pull diagnostic requests (<code>textDocument/diagnostic</code>
+ * and <code>workspace/diagnostic</code>) from the diagnostics already computed
+ * by the push pipeline, see {@link DiagnosticsResultStore}.
+ */
+public class PullDiagnosticsHandler {
+
+	public static final String FULL = "full";
+	public static final String UNCHANGED = "unchanged";
+
+	private final DiagnosticsResultStore store;
+	private final PreferenceManager preferenceManager;
+
+	public PullDiagnosticsHandler(PreferenceManager preferenceManager) {
+		this(JavaLanguageServerPlugin.getDiagnosticsResultStore(), preferenceManager);
+	}
+
+	public PullDiagnosticsHandler(DiagnosticsResultStore store, PreferenceManager preferenceManager) {
+		this.store = store;
+		this.preferenceManager = preferenceManager;
+	}
+
+	public DocumentDiagnosticReport documentDiagnostic(DocumentDiagnosticParams params, IProgressMonitor monitor) {
+		String uri = params.textDocument == null ? null : normalize(params.textDocument.getUri());
+		DiagnosticsResult result = store.get(uri);
+		if (result == null) {
+			result = computeFromMarkers(uri);
+		}
+		if (result == null) {
+			return DocumentDiagnosticReport.full(null, Collections.emptyList());
+		}
+		if (Objects.equals(params.previousResultId, result.getResultId())) {
+			return DocumentDiagnosticReport.unchanged(result.getResultId());
+		}
+		return DocumentDiagnosticReport.full(result.getResultId(), result.getDiagnostics());
+	}
+
+	public WorkspaceDiagnosticReport workspaceDiagnostic(WorkspaceDiagnosticParams params, IProgressMonitor monitor) {
+		Map<String, String> previousResultIds = new HashMap<>();
+		if (params.previousResultIds != null) {
+			for (PreviousResultId previous : params.previousResultIds) {
+				if (previous != null && previous.uri != null) {
+					previousResultIds.put(normalize(previous.uri), previous.value);
+				}
+			}
+		}
+		List<WorkspaceDocumentDiagnosticReport> items = new ArrayList<>();
+		String emptyResultId = DiagnosticsResultStore.computeResultId(Collections.emptyList());
+		for (Map.Entry<String, String> previous : previousResultIds.entrySet()) {
+			if (store.get(previous.getKey()) == null && !emptyResultId.equals(previous.getValue())) {
+				// the document was closed or removed, clear its diagnostics once
+				items.add(WorkspaceDocumentDiagnosticReport.full(previous.getKey(), emptyResultId, Collections.emptyList()));
+			}
+		}
+		for (DiagnosticsResult result : store.getAll()) {
+			if (monitor != null && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			String previousResultId = previousResultIds.get(result.getUri());
+			if (previousResultId == null && result.getDiagnostics().isEmpty()) {
+				// the client has never seen any problem for this document
+				continue;
+			}
+			if (Objects.equals(previousResultId, result.getResultId())) {
+				items.add(WorkspaceDocumentDiagnosticReport.unchanged(result.getUri(), result.getResultId()));
+			} else {
+				items.add(WorkspaceDocumentDiagnosticReport.full(result.getUri(), result.getResultId(), result.getDiagnostics()));
+			}
+		}
+		return new WorkspaceDiagnosticReport(items);
+	}
+
+	/**
+	 * Client uris may be encoded differently than the ones the server publishes
+	 * diagnostics for.
+	 */
+	private static String normalize(String uri) {
+		URI normalized = JDTUtils.toURI(uri);
+		return normalized == null ? uri : ResourceUtils.toClientUri(ResourceUtils.fixURI(normalized));
+	}
+
+	/**
+	 * Documents which were never reported, e.g. compilation units which have no
+	 * problem markers and were never opened, fall back to their markers.
+	 */
+	private DiagnosticsResult computeFromMarkers(String uri) {
+		if (uri == null) {
+			return null;
+		}
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
+		if (unit == null || unit.isWorkingCopy()) {
+			return null;
+		}
+		IResource resource = unit.getResource();
+		if (resource == null || !resource.exists()) {
+			return null;
+		}
+		try {
+			IMarker[] javaMarkers = resource.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false, IResource.DEPTH_ONE);
+			IMarker[] taskMarkers = resource.findMarkers(IJavaModelMarker.TASK_MARKER, false, IResource.DEPTH_ONE);
+			IMarker[] markers = Arrays.copyOf(javaMarkers, javaMarkers.length + taskMarkers.length);
+			System.arraycopy(taskMarkers, 0, markers, javaMarkers.length, taskMarkers.length);
+			IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
+			boolean isDiagnosticTagSupported = preferenceManager != null && preferenceManager.getClientPreferences() != null && preferenceManager.getClientPreferences().isDiagnosticTagSupported();
+			List<Diagnostic> diagnostics = WorkspaceDiagnosticsHandler.toDiagnosticsArray(document, markers, isDiagnosticTagSupported);
+			return store.update(uri, diagnostics);
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException("Failed to compute diagnostics for " + uri, e);
+			return null;
+		}
+	}
+
+	public static class DocumentDiagnosticParams {
+		public TextDocumentIdentifier textDocument;
+		public String identifier;
+		public String previousResultId;
+
+		public DocumentDiagnosticParams() {
+		}
+
+		public DocumentDiagnosticParams(TextDocumentIdentifier textDocument, String previousResultId) {
+			this.textDocument = textDocument;
+			this.previousResultId = previousResultId;
+		}
+	}
+
+	public static class PreviousResultId {
+		public String uri;
+		public String value;
+
+		public PreviousResultId() {
+		}
+
+		public PreviousResultId(String uri, String value) {
+			this.uri = uri;
+			this.value = value;
+		}
+	}
+
+	public static class WorkspaceDiagnosticParams {
+		public String identifier;
+		public List<PreviousResultId> previousResultIds;
+
+		public WorkspaceDiagnosticParams() {
+		}
+
+		public WorkspaceDiagnosticParams(List<PreviousResultId> previousResultIds) {
+			this.previousResultIds = previousResultIds;
+		}
+	}
+
+	public static class DocumentDiagnosticReport {
+		/**
+		 * Either {@link PullDiagnosticsHandler#FULL} or
+		 * {@link PullDiagnosticsHandler#UNCHANGED}.
+		 */
+		public String kind;
+		public String resultId;
+		/**
+		 * The diagnostics of a full report, <code>null</code> for unchanged reports.
+		 */
+		public List<Diagnostic> items;
+
+		public static DocumentDiagnosticReport full(String resultId, List<Diagnostic> items) {
+			DocumentDiagnosticReport report = new DocumentDiagnosticReport();
+			report.kind = FULL;
+			report.resultId = resultId;
+			report.items = items;
+			return report;
+		}
+
+		public static DocumentDiagnosticReport unchanged(String resultId) {
+			DocumentDiagnosticReport report = new DocumentDiagnosticReport();
+			report.kind = UNCHANGED;
+			report.resultId = resultId;
+			return report;
+		}
+	}
+
+	public static class WorkspaceDocumentDiagnosticReport extends DocumentDiagnosticReport {
+		public String uri;
+		public Integer version;
+
+		public static WorkspaceDocumentDiagnosticReport full(String uri, String resultId, List<Diagnostic> items) {
+			WorkspaceDocumentDiagnosticReport report = new WorkspaceDocumentDiagnosticReport();
+			report.kind = FULL;
+			report.uri = uri;
+			report.resultId = resultId;
+			report.items = items;
+			return report;
+		}
+
+		public static WorkspaceDocumentDiagnosticReport unchanged(String uri, String resultId) {
+			WorkspaceDocumentDiagnosticReport report = new WorkspaceDocumentDiagnosticReport();
+			report.kind = UNCHANGED;
+			report.uri = uri;
+			report.resultId = resultId;
+			return report;
+		}
+	}
+
+	public static class WorkspaceDiagnosticReport {
+		public List<WorkspaceDocumentDiagnosticReport> items;
+
+		public WorkspaceDiagnosticReport(List<WorkspaceDocumentDiagnosticReport> items) {
+			this.items = items;
+		}
+	}
+}
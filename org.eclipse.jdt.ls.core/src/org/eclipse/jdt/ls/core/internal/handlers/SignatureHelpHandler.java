@@ -15,6 +15,7 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -58,9 +59,15 @@ public class SignatureHelpHandler {
 	private static final int SEARCH_BOUND = 2000;
 
 	private PreferenceManager preferenceManager;
+	private SignatureHelpSession session;
 
 	public SignatureHelpHandler(PreferenceManager preferenceManager) {
+		this(preferenceManager, null);
+	}
+
+	public SignatureHelpHandler(PreferenceManager preferenceManager, SignatureHelpSession session) {
 		this.preferenceManager = preferenceManager;
+		this.session = session;
 	}
 
 	public SignatureHelp signatureHelp(SignatureHelpParams position, IProgressMonitor monitor) {
@@ -76,109 +83,95 @@ public class SignatureHelpHandler {
 			final int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), position.getPosition().getLine(), position.getPosition().getCharacter());
 			int[] contextInfomation = getContextInfomation(unit.getBuffer(), offset);
 			ASTNode node = getNode(unit, contextInfomation, monitor);
-			if (node == null) {
+			if (node == null || offset <= -1 || monitor.isCanceled()) {
 				return help;
 			}
-			SignatureHelpRequestor collector = new SignatureHelpRequestor(unit, contextInfomation[0] + 1);
-			if (offset > -1 && !monitor.isCanceled()) {
-				unit.codeComplete(contextInfomation[0] + 1, collector, monitor);
-				help = collector.getSignatureHelp(monitor);
-				IMethod method = getMethod(node);
-				if (help.getSignatures().isEmpty()) {
-					int pos = offset;
-					if (method != null) {
-						int start = node.getStartPosition();
-						pos = start + method.getElementName().length();
-					}
-					unit.codeComplete(pos, collector, monitor);
-					help = collector.getSignatureHelp(monitor);
+			SignatureHelpSession.Signatures signatures = session == null ? null : session.get(unit, contextInfomation[0]);
+			if (signatures == null) {
+				signatures = computeSignatures(unit, offset, contextInfomation, node, monitor);
+				if (monitor.isCanceled()) {
+					return help;
 				}
-				if (!monitor.isCanceled() && help != null) {
-					SignatureHelp help2 = null;
-					SignatureHelpRequestor collector2 = null;
-					if (contextInfomation[0] + 1 != offset) {
-						collector2 = new SignatureHelpRequestor(unit, offset, true);
-						unit.codeComplete(offset, collector2, monitor);
-						help2 = collector2.getSignatureHelp(monitor);
-					}
-					int currentParameter = contextInfomation[1];
-					int size = currentParameter + 1;
-					List<SignatureInformation> infos = help.getSignatures();
-					int activeParameter = currentParameter < 0 ? 0 : currentParameter;
-					if (node != null) {
-						IJavaProject javaProject = unit.getJavaProject();
-						if (help2 != null) {
-							if (method != null) {
-								for (int i = 0; i < infos.size(); i++) {
-									if (infos.get(i).getParameters().size() >= size) {
-										CompletionProposal proposal = collector.getInfoProposals().get(infos.get(i));
-										IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
-										if (JDTUtils.isSameParameters(m, method)) {
-											help.setActiveSignature(i);
-											help.setActiveParameter(activeParameter);
-											return help;
-										}
-									}
-								}
-							}
-							if (!monitor.isCanceled() && help.getActiveSignature() == null) {
-								for (int i = 0; i < infos.size(); i++) {
-									if (infos.get(i).getParameters().size() >= size) {
-										CompletionProposal proposal = collector.getInfoProposals().get(infos.get(i));
-										IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
-										if (isSameParameters(m, help2, collector2, javaProject)) {
-											help.setActiveSignature(i);
-											help.setActiveParameter(activeParameter);
-											return help;
-										}
-										for (CompletionProposal typeProposal : collector2.getTypeProposals()) {
-											if (isSameParameters(m, method, typeProposal)) {
-												help.setActiveSignature(i);
-												help.setActiveParameter(activeParameter);
-												return help;
-											}
-										}
-									}
-								}
-							}
-						}
-						if (!monitor.isCanceled() && help.getActiveSignature() == null) {
-							if (method != null) {
-								for (int i = 0; i < infos.size(); i++) {
-									if (infos.get(i).getParameters().size() >= size) {
-										CompletionProposal proposal = collector.getInfoProposals().get(infos.get(i));
-										IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
-										if (JDTUtils.isSameParameters(method, m)) {
-											help.setActiveSignature(i);
-											help.setActiveParameter(activeParameter);
-											return help;
-										}
-									}
+				if (session != null) {
+					session.put(unit, contextInfomation[0], signatures);
+				}
+			}
+			help = selectActiveSignature(unit, offset, contextInfomation, node, signatures, monitor);
+		} catch (CoreException ex) {
+			JavaLanguageServerPlugin.logException("Find signatureHelp failure ", ex);
+		}
+		return help;
+	}
+
+	/**
+	 * Computes the signatures of the invocation, with code completion.
+	 */
+	private SignatureHelpSession.Signatures computeSignatures(ICompilationUnit unit, int offset, int[] contextInfomation, ASTNode node, IProgressMonitor monitor) throws CoreException {
+		SignatureHelpRequestor collector = new SignatureHelpRequestor(unit, contextInfomation[0] + 1);
+		unit.codeComplete(contextInfomation[0] + 1, collector, monitor);
+		SignatureHelp help = collector.getSignatureHelp(monitor);
+		if (help.getSignatures().isEmpty()) {
+			int pos = offset;
+			IMethod method = getMethod(node);
+			if (method != null) {
+				int start = node.getStartPosition();
+				pos = start + method.getElementName().length();
+			}
+			unit.codeComplete(pos, collector, monitor);
+			help = collector.getSignatureHelp(monitor);
+		}
+		return new SignatureHelpSession.Signatures(help.getSignatures(), collector.getInfoProposals());
+	}
+
+	/**
+	 * Selects the signature matching the arguments of the invocation, and its
+	 * active parameter.
+	 */
+	private SignatureHelp selectActiveSignature(ICompilationUnit unit, int offset, int[] contextInfomation, ASTNode node, SignatureHelpSession.Signatures signatures, IProgressMonitor monitor) throws CoreException {
+		SignatureHelp help = new SignatureHelp();
+		help.setSignatures(signatures.getInfos());
+		Map<SignatureInformation, CompletionProposal> proposals = signatures.getProposals();
+		IMethod method = getMethod(node);
+		if (!monitor.isCanceled()) {
+			SignatureHelp help2 = null;
+			SignatureHelpRequestor collector2 = null;
+			if (contextInfomation[0] + 1 != offset) {
+				collector2 = new SignatureHelpRequestor(unit, offset, true);
+				unit.codeComplete(offset, collector2, monitor);
+				help2 = collector2.getSignatureHelp(monitor);
+			}
+			int currentParameter = contextInfomation[1];
+			int size = currentParameter + 1;
+			List<SignatureInformation> infos = help.getSignatures();
+			int activeParameter = currentParameter < 0 ? 0 : currentParameter;
+			if (node != null) {
+				IJavaProject javaProject = unit.getJavaProject();
+				if (help2 != null) {
+					if (method != null) {
+						for (int i = 0; i < infos.size(); i++) {
+							if (infos.get(i).getParameters().size() >= size) {
+								CompletionProposal proposal = proposals.get(infos.get(i));
+								IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
+								if (JDTUtils.isSameParameters(m, method)) {
+									help.setActiveSignature(i);
+									help.setActiveParameter(activeParameter);
+									return help;
 								}
 							}
 						}
-						if (!monitor.isCanceled() && help.getActiveSignature() == null) {
-							for (int i = 0; i < infos.size(); i++) {
-								CompletionProposal proposal = collector.getInfoProposals().get(infos.get(i));
-								if (Flags.isVarargs(proposal.getFlags())) {
+					}
+					if (!monitor.isCanceled() && help.getActiveSignature() == null) {
+						for (int i = 0; i < infos.size(); i++) {
+							if (infos.get(i).getParameters().size() >= size) {
+								CompletionProposal proposal = proposals.get(infos.get(i));
+								IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
+								if (isSameParameters(m, help2, collector2, javaProject)) {
 									help.setActiveSignature(i);
-									char[][] infoTypes = Signature.getParameterTypes(SignatureUtil.fix83600(proposal.getSignature()));
-									if (infoTypes.length <= activeParameter) {
-										help.setActiveParameter(infoTypes.length - 1);
-									} else {
-										help.setActiveParameter(activeParameter);
-									}
+									help.setActiveParameter(activeParameter);
 									return help;
 								}
-							}
-						}
-						if (!monitor.isCanceled() && help.getActiveSignature() == null && node instanceof Block) {
-							String methodName = getMethodName(node, unit, contextInfomation);
-							for (int i = 0; i < infos.size(); i++) {
-								if (infos.get(i).getParameters().size() >= activeParameter) {
-									CompletionProposal proposal = collector.getInfoProposals().get(infos.get(i));
-									IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
-									if (m != null && m.getElementName().equals(methodName)) {
+								for (CompletionProposal typeProposal : collector2.getTypeProposals()) {
+									if (isSameParameters(m, method, typeProposal)) {
 										help.setActiveSignature(i);
 										help.setActiveParameter(activeParameter);
 										return help;
@@ -186,24 +179,66 @@ public class SignatureHelpHandler {
 								}
 							}
 						}
-						if (method != null && !monitor.isCanceled() && help.getActiveSignature() == null) {
-							for (int i = 0; i < infos.size(); i++) {
-								if (infos.get(i).getParameters().size() >= size) {
-									CompletionProposal proposal = collector.getInfoProposals().get(infos.get(i));
-									IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
-									if (isSameParameters(m, method, null)) {
-										help.setActiveSignature(i);
-										help.setActiveParameter(activeParameter);
-										return help;
-									}
+					}
+				}
+				if (!monitor.isCanceled() && help.getActiveSignature() == null) {
+					if (method != null) {
+						for (int i = 0; i < infos.size(); i++) {
+							if (infos.get(i).getParameters().size() >= size) {
+								CompletionProposal proposal = proposals.get(infos.get(i));
+								IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
+								if (JDTUtils.isSameParameters(method, m)) {
+									help.setActiveSignature(i);
+									help.setActiveParameter(activeParameter);
+									return help;
 								}
 							}
 						}
 					}
 				}
+				if (!monitor.isCanceled() && help.getActiveSignature() == null) {
+					for (int i = 0; i < infos.size(); i++) {
+						CompletionProposal proposal = proposals.get(infos.get(i));
+						if (Flags.isVarargs(proposal.getFlags())) {
+							help.setActiveSignature(i);
+							char[][] infoTypes = Signature.getParameterTypes(SignatureUtil.fix83600(proposal.getSignature()));
+							if (infoTypes.length <= activeParameter) {
+								help.setActiveParameter(infoTypes.length - 1);
+							} else {
+								help.setActiveParameter(activeParameter);
+							}
+							return help;
+						}
+					}
+				}
+				if (!monitor.isCanceled() && help.getActiveSignature() == null && node instanceof Block) {
+					String methodName = getMethodName(node, unit, contextInfomation);
+					for (int i = 0; i < infos.size(); i++) {
+						if (infos.get(i).getParameters().size() >= activeParameter) {
+							CompletionProposal proposal = proposals.get(infos.get(i));
+							IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
+							if (m != null && m.getElementName().equals(methodName)) {
+								help.setActiveSignature(i);
+								help.setActiveParameter(activeParameter);
+								return help;
+							}
+						}
+					}
+				}
+				if (method != null && !monitor.isCanceled() && help.getActiveSignature() == null) {
+					for (int i = 0; i < infos.size(); i++) {
+						if (infos.get(i).getParameters().size() >= size) {
+							CompletionProposal proposal = proposals.get(infos.get(i));
+							IMethod m = JDTUtils.resolveMethod(proposal, javaProject);
+							if (isSameParameters(m, method, null)) {
+								help.setActiveSignature(i);
+								help.setActiveParameter(activeParameter);
+								return help;
+							}
+						}
+					}
+				}
 			}
-		} catch (CoreException ex) {
-			JavaLanguageServerPlugin.logException("Find signatureHelp failure ", ex);
 		}
 		return help;
 	}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.SignatureInformation;
+
+/**
+ * Remembers the signatures computed for the last method invocation, so that
+ * the signature help requests sent while the arguments of the invocation are
+ * typed don't run code completion again to find them. The active signature is
+ * still selected on every request, from the types of the arguments.
+ *
+ * The session lasts as long as the invocation starts at the same opening
+ * parenthesis, preceded by the same content, and no change of the Java model
+ * may have changed the signatures: a change of the structure of a compilation
+ * unit, e.g. an added overload, or of a classpath. The changes of the method
+ * bodies, e.g. the arguments being typed, don't end the session.
+ */
+public class SignatureHelpSession implements IElementChangedListener {
+
+	private static final int CLASSPATH_CHANGES = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private ICompilationUnit unit;
+	private int openParenthesis = -1;
+	/**
+	 * The content of the document up to the opening parenthesis
+	 */
+	private String prefix;
+	private Signatures signatures;
+
+	/**
+	 * The signatures of an invocation, sorted by number of parameters, and the
+	 * completion proposals they were computed from.
+	 */
+	public static final class Signatures {
+
+		private final List<SignatureInformation> infos;
+		private final Map<SignatureInformation, CompletionProposal> proposals;
+
+		public Signatures(List<SignatureInformation> infos, Map<SignatureInformation, CompletionProposal> proposals) {
+			this.infos = infos;
+			this.proposals = proposals;
+		}
+
+		public List<SignatureInformation> getInfos() {
+			return infos;
+		}
+
+		public Map<SignatureInformation, CompletionProposal> getProposals() {
+			return proposals;
+		}
+	}
+
+	/**
+	 * Returns the signatures of the invocation, if they were already computed.
+	 *
+	 * @param unit
+	 *            the compilation unit
+	 * @param openParenthesis
+	 *            the offset of the opening parenthesis of the invocation
+	 * @return the signatures, or <code>null</code> if they must be computed
+	 */
+	public synchronized Signatures get(ICompilationUnit unit, int openParenthesis) throws JavaModelException {
+		if (signatures == null || openParenthesis != this.openParenthesis || !unit.equals(this.unit) || !hasSamePrefix(unit.getBuffer())) {
+			return null;
+		}
+		return signatures;
+	}
+
+	/**
+	 * Starts a session for the invocation with the given computed signatures.
+	 */
+	public synchronized void put(ICompilationUnit unit, int openParenthesis, Signatures signatures) throws JavaModelException {
+		clear();
+		if (signatures.getInfos().isEmpty()) {
+			return;
+		}
+		IBuffer buffer = unit.getBuffer();
+		if (buffer == null || buffer.getLength() <= openParenthesis) {
+			return;
+		}
+		this.unit = unit;
+		this.openParenthesis = openParenthesis;
+		this.prefix = buffer.getText(0, openParenthesis + 1);
+		this.signatures = signatures;
+	}
+
+	public synchronized void clear() {
+		unit = null;
+		openParenthesis = -1;
+		prefix = null;
+		signatures = null;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		IJavaElementDelta delta = event.getDelta();
+		if (delta != null && mayChangeSignatures(delta)) {
+			clear();
+		}
+	}
+
+	public void addElementChangeListener() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void removeElementChangeListener() {
+		JavaCore.removeElementChangedListener(this);
+	}
+
+	/**
+	 * @return whether the given change may change the signatures of a method,
+	 *         i.e. it isn't limited to the content of compilation units
+	 *         without changing their structure
+	 */
+	static boolean mayChangeSignatures(IJavaElementDelta delta) {
+		int flags = delta.getFlags();
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & CLASSPATH_CHANGES) != 0) {
+			return true;
+		}
+		int type = delta.getElement().getElementType();
+		if (type > IJavaElement.COMPILATION_UNIT) {
+			// e.g. a type, a member, or a class file
+			return true;
+		}
+		if (type == IJavaElement.COMPILATION_UNIT && (flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+			// e.g. a saved file, the changes of the structure aren't known
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (mayChangeSignatures(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasSamePrefix(IBuffer buffer) {
+		if (buffer == null || buffer.getLength() <= openParenthesis) {
+			return false;
+		}
+		// the changes are most likely close to the invocation
+		for (int i = openParenthesis; i >= 0; i--) {
+			if (buffer.getChar(i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -41,6 +41,7 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -467,7 +468,16 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			if (addTrailingSlash && !uri.endsWith("/")) {
 				uri = uri + "/";
 			}
-			this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+			String clientUri = ResourceUtils.toClientUri(uri);
+			this.connection.publishDiagnostics(new PublishDiagnosticsParams(clientUri, Collections.emptyList()));
+			DiagnosticsResultStore store = JavaLanguageServerPlugin.getDiagnosticsResultStore();
+			if (store != null) {
+				store.remove(clientUri);
+				if (resource.getType() != IResource.FILE) {
+					// the removed project or folder doesn't report its children
+					store.removeAll(clientUri);
+				}
+			}
 		}
 	}
 
@@ -37,6 +37,7 @@ import org.eclipse.jdt.core.dom.Javadoc;
 import org.eclipse.jdt.core.dom.PackageDeclaration;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 
 /**
  * Helper needed to get the content of a Javadoc comment.
@@ -326,7 +327,7 @@ public final class JavadocContentAccess {
 		}
 
 		IType type= method.getDeclaringType();
-		ITypeHierarchy hierarchy= type.newSupertypeHierarchy(null);
+		ITypeHierarchy hierarchy= TypeHierarchyCache.getSupertypeHierarchy(type, null);
 
 		MethodOverrideTester tester= new MethodOverrideTester(type, hierarchy);
 
@@ -35,6 +35,10 @@ import org.eclipse.jdt.ls.core.internal.handlers.MoveHandler.MoveDestinationsRes
 import org.eclipse.jdt.ls.core.internal.handlers.MoveHandler.MoveParams;
 import org.eclipse.jdt.ls.core.internal.handlers.OverrideMethodsHandler.AddOverridableMethodParams;
 import org.eclipse.jdt.ls.core.internal.handlers.OverrideMethodsHandler.OverridableMethodsResponse;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.DocumentDiagnosticParams;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.DocumentDiagnosticReport;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.WorkspaceDiagnosticParams;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.WorkspaceDiagnosticReport;
 import org.eclipse.jdt.ls.core.internal.handlers.WorkspaceSymbolHandler.SearchSymbolParams;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.Location;
@@ -124,4 +128,18 @@ public interface JavaProtocolExtensions {
 
 	@JsonRequest
 	CompletableFuture<List<? extends Location>> findLinks(FindLinksParams params);
+
+	/**
+	 * LSP 3.17 document pull diagnostics, not available in the current lsp4j
+	 * version yet.
+	 */
+	@JsonRequest(value = "textDocument/diagnostic", useSegment = false)
+	CompletableFuture<DocumentDiagnosticReport> documentDiagnostic(DocumentDiagnosticParams params);
+
+	/**
+	 * LSP 3.17 workspace pull diagnostics, not available in the current lsp4j
+	 * version yet.
+	 */
+	@JsonRequest(value = "workspace/diagnostic", useSegment = false)
+	CompletableFuture<WorkspaceDiagnosticReport> workspaceDiagnostic(WorkspaceDiagnosticParams params);
 }
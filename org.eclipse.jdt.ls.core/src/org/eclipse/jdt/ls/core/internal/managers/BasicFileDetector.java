@@ -12,30 +12,31 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.managers;
 
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.FileVisitResult.TERMINATE;
-
 import java.io.IOException;
-import java.nio.file.FileSystemLoopException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
-import java.nio.file.FileVisitOption;
-import java.nio.file.FileVisitResult;
-import java.nio.file.FileVisitor;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -43,21 +44,36 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.StatusFactory;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 
 /**
  * Searches recursively for all the directories containing a given filename.
  *
+ * The directories are walked in parallel. Each directory is listed once, the
+ * listings can be shared between detectors scanning the same folders, see
+ * {@link #openListingCache()}. Version control metadata folders are not
+ * walked into, nor are the directories ignored by a <code>.gitignore</code>
+ * file when {@link Preferences#JAVA_IMPORT_RESPECT_GITIGNORE_KEY} is enabled.
+ *
  * @author Fred Bricon
  */
 public class BasicFileDetector {
 
 	private static final String METADATA_FOLDER = "**/.metadata";
-	private static final Set<FileVisitOption> FOLLOW_LINKS_OPTION = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+	private static final String GITIGNORE_FILE = ".gitignore";
+	private static final Set<String> SKIPPED_FOLDERS = new HashSet<>(Arrays.asList(".git", ".hg", ".svn"));
+	private static final ForkJoinPool SCAN_POOL = new ForkJoinPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+	private static final Object LISTING_CACHE_LOCK = new Object();
+	private static Map<Path, DirectoryListing> sharedListings;
+	private static int sharedListingsUsers;
+
 	private List<Path> directories;
 	private Path rootDir;
 	private List<String> fileNames;
 	private int maxDepth = 5;
 	private boolean includeNested = true;
+	private boolean respectGitIgnore;
 	private Set<String> exclusions = new LinkedHashSet<>(1);
 
 	/**
@@ -76,12 +92,14 @@ public class BasicFileDetector {
 		this.fileNames = fileNames == null ? new ArrayList<>() : Arrays.asList(fileNames);
 		directories = new ArrayList<>();
 		addExclusions(METADATA_FOLDER);
-		List<String> javaImportExclusions = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getJavaImportExclusions();
+		Preferences preferences = JavaLanguageServerPlugin.getPreferencesManager().getPreferences();
+		List<String> javaImportExclusions = preferences.getJavaImportExclusions();
 		if (javaImportExclusions != null) {
 			for (String pattern : javaImportExclusions) {
 				addExclusions(pattern);
 			}
 		}
+		respectGitIgnore = preferences.isJavaImportRespectGitIgnore();
 	}
 
 	/**
@@ -108,6 +126,20 @@ public class BasicFileDetector {
 		return this;
 	}
 
+	/**
+	 * Whether or not skip the directories ignored by the <code>.gitignore</code>
+	 * files found during the search. Explicit inclusion patterns (starting with
+	 * <code>!</code>) take precedence. Defaults to
+	 * {@link Preferences#isJavaImportRespectGitIgnore()}.
+	 *
+	 * @param respectGitIgnore whether to skip ignored directories
+	 * @return a reference to this object.
+	 */
+	public BasicFileDetector respectGitIgnore(boolean respectGitIgnore) {
+		this.respectGitIgnore = respectGitIgnore;
+		return this;
+	}
+
 	/**
 	 * Sets the maximum depth of the search
 	 * @param maxDepth the maximum depth of the search. Must be > 0.
@@ -142,68 +174,338 @@ public class BasicFileDetector {
 		return getDirectories();
 	}
 
+	/**
+	 * Shares the directory listings between all the detectors scanning until
+	 * the returned cache is closed. Meant to be used while the folders don't
+	 * change, e.g. while all the importers look for their projects.
+	 *
+	 * @return the cache, to be closed once the scans are done
+	 */
+	public static ListingCache openListingCache() {
+		synchronized (LISTING_CACHE_LOCK) {
+			if (sharedListingsUsers++ == 0) {
+				sharedListings = new ConcurrentHashMap<>();
+			}
+		}
+		return new ListingCache();
+	}
+
+	private static Map<Path, DirectoryListing> getSharedListings() {
+		synchronized (LISTING_CACHE_LOCK) {
+			return sharedListings;
+		}
+	}
+
 	private void scanDir(Path dir, final IProgressMonitor monitor) throws IOException {
-		boolean hasInclusionPattern = exclusions.stream().anyMatch((e) -> {
-			return e.startsWith("!");
-		});
+		if (!Files.exists(dir)) {
+			throw new NoSuchFileException(dir.toString());
+		}
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+		Scan scan = new Scan(monitor);
+		Object key = getFileKey(dir, Files.readAttributes(dir, BasicFileAttributes.class));
+		try {
+			SCAN_POOL.invoke(new ScanTask(scan, dir, 0, Collections.singleton(key), Collections.emptyList()));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		List<Path> found = new ArrayList<>(scan.found);
+		Collections.sort(found);
+		directories.addAll(found);
+	}
 
-		FileVisitor<Path> visitor = new SimpleFileVisitor<>() {
-			@Override
-			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-				if (monitor.isCanceled()) {
-					return TERMINATE;
+	/**
+	 * @return <code>null</code> when the directory doesn't match any pattern,
+	 *         whether it is excluded otherwise
+	 */
+	private Boolean matchExclusions(Path dir, List<PatternMatcher> matchers) {
+		Boolean excluded = null;
+		for (PatternMatcher matcher : matchers) {
+			if (matcher.matcher.matches(dir)) {
+				excluded = !matcher.inclusion;
+			}
+		}
+		return excluded;
+	}
+
+	private boolean isSubtreeExcluded(Path dir, List<PathMatcher> subtreeMatchers) {
+		for (PathMatcher matcher : subtreeMatchers) {
+			if (matcher.matches(dir)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasTargetFile(Path dir, DirectoryListing listing) {
+		for (String fileName : fileNames) {
+			if (listing != null ? listing.files.contains(fileName) : Files.isRegularFile(dir.resolve(fileName))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Object getFileKey(Path dir, BasicFileAttributes attrs) throws IOException {
+		Object key = attrs.fileKey();
+		return key != null ? key : dir.toRealPath().toString();
+	}
+
+	private static DirectoryListing list(Path dir) throws IOException {
+		Map<Path, DirectoryListing> cache = getSharedListings();
+		if (cache != null) {
+			DirectoryListing listing = cache.get(dir);
+			if (listing != null) {
+				return listing;
+			}
+		}
+		DirectoryListing listing = new DirectoryListing();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path entry : stream) {
+				BasicFileAttributes attrs;
+				try {
+					// follows the links
+					attrs = Files.readAttributes(entry, BasicFileAttributes.class);
+				} catch (IOException e) {
+					// broken link
+					continue;
 				}
-				Objects.requireNonNull(dir);
-				if (isExcluded(dir)) {
-					return hasInclusionPattern ? CONTINUE : SKIP_SUBTREE;
+				if (attrs.isDirectory()) {
+					listing.directories.add(entry);
+					listing.directoryKeys.add(getFileKey(entry, attrs));
+				} else if (attrs.isRegularFile()) {
+					listing.files.add(entry.getFileName().toString());
 				}
-				if (hasTargetFile(dir)) {
-					directories.add(dir);
-					return includeNested ? CONTINUE : SKIP_SUBTREE;
+			}
+		}
+		if (cache != null) {
+			DirectoryListing previous = cache.putIfAbsent(dir, listing);
+			return previous == null ? listing : previous;
+		}
+		return listing;
+	}
+
+	/**
+	 * The state shared by the tasks of a scan.
+	 */
+	private class Scan {
+		private final IProgressMonitor monitor;
+		private final boolean hasInclusionPattern;
+		private final List<PatternMatcher> matchers = new ArrayList<>();
+		/**
+		 * Matches the directories for which all the sub-directories are excluded,
+		 * e.g. <code>node_modules</code> for <code>**&#47;node_modules&#47;**</code>.
+		 */
+		private final List<PathMatcher> subtreeMatchers = new ArrayList<>();
+		private final Queue<Path> found = new ConcurrentLinkedQueue<>();
+
+		Scan(IProgressMonitor monitor) {
+			this.monitor = monitor;
+			this.hasInclusionPattern = exclusions.stream().anyMatch((e) -> {
+				return e.startsWith("!");
+			});
+			for (String pattern : exclusions) {
+				boolean inclusion = pattern.startsWith("!");
+				if (inclusion) {
+					pattern = pattern.substring(1);
+				}
+				matchers.add(new PatternMatcher(FileSystems.getDefault().getPathMatcher("glob:" + pattern), inclusion));
+				if (!inclusion && pattern.endsWith("/**") && pattern.length() > 3) {
+					subtreeMatchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(0, pattern.length() - 3)));
 				}
-				return CONTINUE;
 			}
+		}
+	}
 
-			@Override
-			public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
-				Objects.requireNonNull(file);
-				if (exc instanceof FileSystemLoopException) {
-					return CONTINUE;
-				} else {
-					throw exc;
+	private class ScanTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Scan scan;
+		private final Path dir;
+		private final int depth;
+		private final Set<Object> ancestors;
+		private final List<GitIgnoreRule> gitIgnoreRules;
+
+		ScanTask(Scan scan, Path dir, int depth, Set<Object> ancestors, List<GitIgnoreRule> gitIgnoreRules) {
+			this.scan = scan;
+			this.dir = dir;
+			this.depth = depth;
+			this.ancestors = ancestors;
+			this.gitIgnoreRules = gitIgnoreRules;
+		}
+
+		@Override
+		protected void compute() {
+			if (scan.monitor.isCanceled()) {
+				return;
+			}
+			Objects.requireNonNull(dir);
+			Boolean excluded = dir.getFileName() == null ? Boolean.TRUE : matchExclusions(dir, scan.matchers);
+			if (excluded == null) {
+				excluded = respectGitIgnore && GitIgnoreRule.isIgnored(dir, gitIgnoreRules);
+			}
+			boolean descend = depth + 1 < maxDepth && (scan.hasInclusionPattern || !isSubtreeExcluded(dir, scan.subtreeMatchers));
+			DirectoryListing listing;
+			try {
+				listing = descend || getSharedListings() != null ? list(dir) : null;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			if (excluded) {
+				if (!scan.hasInclusionPattern) {
+					return;
 				}
+			} else if (hasTargetFile(dir, listing)) {
+				scan.found.add(dir);
+				if (!includeNested) {
+					return;
+				}
+			}
+			if (!descend) {
+				return;
 			}
+			List<GitIgnoreRule> rules = gitIgnoreRules;
+			if (respectGitIgnore && listing.files.contains(GITIGNORE_FILE)) {
+				rules = GitIgnoreRule.parse(dir, gitIgnoreRules);
+			}
+			List<ScanTask> tasks = new ArrayList<>(listing.directories.size());
+			for (int i = 0; i < listing.directories.size(); i++) {
+				Path child = listing.directories.get(i);
+				Object key = listing.directoryKeys.get(i);
+				if (SKIPPED_FOLDERS.contains(child.getFileName().toString()) || ancestors.contains(key)) {
+					// version control metadata, or a symbolic link loop
+					continue;
+				}
+				Set<Object> childAncestors = new HashSet<>(ancestors);
+				childAncestors.add(key);
+				tasks.add(new ScanTask(scan, child, depth + 1, childAncestors, rules));
+			}
+			invokeAll(tasks);
+		}
+	}
 
-		};
-		Files.walkFileTree(dir, FOLLOW_LINKS_OPTION, maxDepth, visitor);
+	private static class PatternMatcher {
+		private final PathMatcher matcher;
+		private final boolean inclusion;
+
+		PatternMatcher(PathMatcher matcher, boolean inclusion) {
+			this.matcher = matcher;
+			this.inclusion = inclusion;
+		}
+	}
+
+	private static class DirectoryListing {
+		private final List<Path> directories = new ArrayList<>();
+		private final List<Object> directoryKeys = new ArrayList<>();
+		private final Set<String> files = new HashSet<>();
 	}
 
-	private boolean isExcluded(Path dir) {
-		if (dir.getFileName() == null) {
-			return true;
+	/**
+	 * A <code>.gitignore</code> pattern. Only directories are matched against
+	 * it, ignored files don't prevent a build file from being found.
+	 */
+	private static class GitIgnoreRule {
+		private final Path base;
+		private final PathMatcher matcher;
+		private final boolean anchored;
+		private final boolean negated;
+
+		private GitIgnoreRule(Path base, PathMatcher matcher, boolean anchored, boolean negated) {
+			this.base = base;
+			this.matcher = matcher;
+			this.anchored = anchored;
+			this.negated = negated;
 		}
-		boolean excluded = false;
-		for (String pattern : exclusions) {
-			boolean includePattern = false;
-			if (pattern.startsWith("!")) {
-				includePattern = true;
-				pattern = pattern.substring(1);
+
+		static List<GitIgnoreRule> parse(Path dir, List<GitIgnoreRule> parentRules) {
+			List<GitIgnoreRule> rules = new ArrayList<>(parentRules);
+			List<String> lines;
+			try {
+				lines = Files.readAllLines(dir.resolve(GITIGNORE_FILE), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				return parentRules;
 			}
-			PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
-			if (matcher.matches(dir)) {
-				excluded = includePattern ? false : true;
+			for (String line : lines) {
+				String pattern = line.trim();
+				if (pattern.isEmpty() || pattern.startsWith("#")) {
+					continue;
+				}
+				boolean negated = pattern.startsWith("!");
+				if (negated) {
+					pattern = pattern.substring(1);
+				}
+				while (pattern.endsWith("/")) {
+					pattern = pattern.substring(0, pattern.length() - 1);
+				}
+				// "**/foo" matches "foo" at any depth, including the top level
+				boolean anyDepth = false;
+				while (pattern.startsWith("**/")) {
+					pattern = pattern.substring(3);
+					anyDepth = true;
+				}
+				boolean anchored = pattern.contains("/");
+				if (pattern.startsWith("/")) {
+					pattern = pattern.substring(1);
+				}
+				if (pattern.isEmpty()) {
+					continue;
+				}
+				// braces are not special in .gitignore files
+				pattern = pattern.replace("{", "\\{").replace("}", "\\}");
+				try {
+					PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+					if (anyDepth && anchored) {
+						PathMatcher nestedMatcher = FileSystems.getDefault().getPathMatcher("glob:**/" + pattern);
+						PathMatcher topLevelMatcher = matcher;
+						matcher = path -> topLevelMatcher.matches(path) || nestedMatcher.matches(path);
+					}
+					rules.add(new GitIgnoreRule(dir, matcher, anchored, negated));
+				} catch (IllegalArgumentException e) {
+					// not a valid glob, ignore the pattern
+				}
 			}
+			return rules;
+		}
+
+		static boolean isIgnored(Path dir, List<GitIgnoreRule> rules) {
+			boolean ignored = false;
+			for (GitIgnoreRule rule : rules) {
+				if (rule.matches(dir)) {
+					ignored = !rule.negated;
+				}
+			}
+			return ignored;
+		}
+
+		private boolean matches(Path dir) {
+			if (!dir.startsWith(base) || dir.equals(base)) {
+				return false;
+			}
+			return anchored ? matcher.matches(base.relativize(dir)) : matcher.matches(dir.getFileName());
 		}
-		return excluded;
 	}
 
-	private boolean hasTargetFile(Path dir) {
-		for (String fileName : fileNames) {
-			if (Files.isRegularFile(dir.resolve(fileName))) {
-				return true;
+	/**
+	 * Shares the directory listings between detectors until closed.
+	 */
+	public static class ListingCache implements AutoCloseable {
+		private boolean closed;
+
+		private ListingCache() {
+		}
+
+		@Override
+		public void close() {
+			synchronized (LISTING_CACHE_LOCK) {
+				if (!closed) {
+					closed = true;
+					if (--sharedListingsUsers == 0) {
+						sharedListings = null;
+					}
+				}
 			}
 		}
-		return false;
 	}
 
 }
@@ -98,7 +98,7 @@ public class DigestStore {
 		}
 	}
 
-	private String computeDigest(Path path) throws IOException, NoSuchAlgorithmException {
+	static String computeDigest(Path path) throws IOException, NoSuchAlgorithmException {
 		byte[] fileBytes = Files.readAllBytes(path);
 		byte[] digest = MessageDigest.getInstance("MD5").digest(fileBytes);
 		return Arrays.toString(digest);
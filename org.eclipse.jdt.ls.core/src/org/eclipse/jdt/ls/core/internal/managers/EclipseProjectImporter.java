@@ -43,18 +43,39 @@ public class EclipseProjectImporter extends AbstractProjectImporter {
 	@Override
 	public boolean applies(IProgressMonitor monitor) throws CoreException {
 		if (directories == null) {
-			BasicFileDetector eclipseDetector = new BasicFileDetector(rootFolder.toPath(), DESCRIPTION_FILE_NAME)
-					.addExclusions("**/bin");//default Eclipse build dir
-			for (IProject project : ProjectUtils.getAllProjects(false)) {
-				File projectFile = project.getLocation().toFile();
-				eclipseDetector.addExclusions(projectFile.getAbsolutePath());
+			Collection<java.nio.file.Path> discovered = discoveredDirectories;
+			if (discovered == null) {
+				directories = createDetector().scan(monitor);
+			} else {
+				// exclude the projects imported since the discovery
+				Set<java.nio.file.Path> importedProjectPaths = new HashSet<>();
+				for (IProject project : ProjectUtils.getAllProjects(false)) {
+					importedProjectPaths.add(project.getLocation().toFile().toPath());
+				}
+				directories = excludeLocations(discovered, importedProjectPaths);
 			}
-			directories = eclipseDetector.scan(monitor);
 		}
 		directories = directories.stream().filter(path -> (new File(path.toFile(), IJavaProject.CLASSPATH_FILE_NAME).exists())).collect(Collectors.toList());
 		return !directories.isEmpty();
 	}
 
+	@Override
+	public void discover(IProgressMonitor monitor) throws CoreException {
+		if (rootFolder != null) {
+			discoveredDirectories = createDetector().scan(monitor);
+		}
+	}
+
+	private BasicFileDetector createDetector() {
+		BasicFileDetector eclipseDetector = new BasicFileDetector(rootFolder.toPath(), DESCRIPTION_FILE_NAME)
+				.addExclusions("**/bin");//default Eclipse build dir
+		for (IProject project : ProjectUtils.getAllProjects(false)) {
+			File projectFile = project.getLocation().toFile();
+			eclipseDetector.addExclusions(projectFile.getAbsolutePath());
+		}
+		return eclipseDetector;
+	}
+
 	@Override
 	public boolean applies(Collection<IPath> buildFiles, IProgressMonitor monitor) {
 		Collection<java.nio.file.Path> configurationDirs = findProjectPathByConfigurationName(buildFiles, Arrays.asList(DESCRIPTION_FILE_NAME), true /*includeNested*/);
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.ls.core.internal.BaseJDTLanguageServer;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
+import org.eclipse.lsp4j.FileSystemWatcher;
+import org.eclipse.lsp4j.Registration;
+import org.eclipse.lsp4j.Unregistration;
+
+/**
+ * Keeps track of the file watchers registered with the client.
+ *
+ * Each watcher is registered on its own, so that when the watched files
+ * change, only the watchers which were added or removed are registered or
+ * unregistered, instead of all of them.
+ */
+final class FileWatcherRegistry {
+
+	private final Map<FileSystemWatcher, String> registrations = new LinkedHashMap<>();
+	private BaseJDTLanguageServer protocol;
+	private long nextId;
+
+	/**
+	 * Registers the given watchers which aren't registered yet, and
+	 * unregisters the registered watchers which aren't given.
+	 *
+	 * @return whether the registered watchers changed
+	 */
+	synchronized boolean update(List<FileSystemWatcher> watchers) {
+		BaseJDTLanguageServer current = JavaLanguageServerPlugin.getInstance().getProtocol();
+		if (current != protocol) {
+			// the watchers of a previous connection are gone
+			protocol = current;
+			registrations.clear();
+		}
+		if (protocol == null) {
+			return false;
+		}
+		Set<FileSystemWatcher> watched = new LinkedHashSet<>(watchers);
+		List<Unregistration> removed = new ArrayList<>();
+		for (Iterator<Map.Entry<FileSystemWatcher, String>> it = registrations.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<FileSystemWatcher, String> registration = it.next();
+			if (!watched.remove(registration.getKey())) {
+				removed.add(new Unregistration(registration.getValue(), Preferences.WORKSPACE_WATCHED_FILES));
+				it.remove();
+			}
+		}
+		List<Registration> added = new ArrayList<>(watched.size());
+		for (FileSystemWatcher watcher : watched) {
+			String id = Preferences.WORKSPACE_WATCHED_FILES_ID + "-" + nextId++;
+			registrations.put(watcher, id);
+			added.add(new Registration(id, Preferences.WORKSPACE_WATCHED_FILES, new DidChangeWatchedFilesRegistrationOptions(Collections.singletonList(watcher))));
+		}
+		if (removed.isEmpty() && added.isEmpty()) {
+			return false;
+		}
+		logInfo(">> registerFeature 'workspace/didChangeWatchedFiles': " + added.size() + " added, " + removed.size() + " removed");
+		protocol.unregisterCapabilities(removed);
+		protocol.registerCapabilities(added);
+		return true;
+	}
+}
@@ -72,8 +72,47 @@ public class GradleBuildSupport implements IBuildSupport {
 
 	@Override
 	public void update(IProject project, boolean force, IProgressMonitor monitor) throws CoreException {
+		synchronize(project, force, monitor);
+	}
+
+	/**
+	 * Updates the given projects, skipping the projects of a build which was
+	 * just synchronized, as synchronizing a build updates all its projects.
+	 * The projects of a separate build nested in the folder of a synchronized
+	 * build, e.g. an included build, are still updated.
+	 */
+	@Override
+	public void update(Collection<IProject> projects, boolean force, IProgressMonitor monitor) throws CoreException {
+		List<IProject> sorted = new ArrayList<>(projects);
+		// the root projects first
+		sorted.sort((p1, p2) -> Integer.compare(segmentCount(p1), segmentCount(p2)));
+		List<GradleBuild> synchronizedBuilds = new ArrayList<>();
+		for (IProject project : sorted) {
+			Optional<GradleBuild> build = applies(project) ? GradleCore.getWorkspace().getBuild(project) : Optional.empty();
+			if (build.isPresent() && synchronizedBuilds.contains(build.get())) {
+				JavaLanguageServerPlugin.logInfo("Skipping Gradle update for " + project.getName() + ", its build was synchronized");
+				updateDigests(project);
+				continue;
+			}
+			if (synchronize(project, force, monitor)) {
+				build.ifPresent(synchronizedBuilds::add);
+				// a forced synchronization changes the configuration of the build
+				GradleCore.getWorkspace().getBuild(project).ifPresent(synchronizedBuilds::add);
+			}
+		}
+	}
+
+	private static int segmentCount(IProject project) {
+		IPath location = project.getLocation();
+		return location == null ? 0 : location.segmentCount();
+	}
+
+	/**
+	 * @return whether the build of the project was synchronized
+	 */
+	private boolean synchronize(IProject project, boolean force, IProgressMonitor monitor) throws CoreException {
 		if (!applies(project)) {
-			return;
+			return false;
 		}
 		JavaLanguageServerPlugin.logInfo("Starting Gradle update for " + project.getName());
 		Optional<GradleBuild> build = GradleCore.getWorkspace().getBuild(project);
@@ -85,18 +124,29 @@ public class GradleBuildSupport implements IBuildSupport {
 				BuildConfiguration buildConfiguration = GradleProjectImporter.getBuildConfiguration(Paths.get(projectPath));
 				gradleBuild = GradleCore.getWorkspace().createBuild(buildConfiguration);
 			}
-			File buildFile = project.getFile(GradleProjectImporter.BUILD_GRADLE_DESCRIPTOR).getLocation().toFile();
-			File settingsFile = project.getFile(GradleProjectImporter.SETTINGS_GRADLE_DESCRIPTOR).getLocation().toFile();
-			File buildKtsFile = project.getFile(GradleProjectImporter.BUILD_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
-			File settingsKtsFile = project.getFile(GradleProjectImporter.SETTINGS_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
-			boolean shouldUpdate = (buildFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(buildFile.toPath()))
-					|| (settingsFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsFile.toPath())) 
-					|| (buildKtsFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(buildKtsFile.toPath()))
-					|| (settingsKtsFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsKtsFile.toPath()));
+			boolean shouldUpdate = updateDigests(project);
 			if (isRoot || shouldUpdate) {
 				gradleBuild.synchronize(monitor);
+				return true;
 			}
 		}
+		return false;
+	}
+
+	/**
+	 * Updates the digests of all the build files of the project.
+	 *
+	 * @return whether a build file of the project changed
+	 */
+	private static boolean updateDigests(IProject project) throws CoreException {
+		File buildFile = project.getFile(GradleProjectImporter.BUILD_GRADLE_DESCRIPTOR).getLocation().toFile();
+		File settingsFile = project.getFile(GradleProjectImporter.SETTINGS_GRADLE_DESCRIPTOR).getLocation().toFile();
+		File buildKtsFile = project.getFile(GradleProjectImporter.BUILD_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
+		File settingsKtsFile = project.getFile(GradleProjectImporter.SETTINGS_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
+		return (buildFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(buildFile.toPath()))
+				| (settingsFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsFile.toPath()))
+				| (buildKtsFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(buildKtsFile.toPath()))
+				| (settingsKtsFile.exists() && JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsKtsFile.toPath()));
 	}
 
 	private boolean isRoot(IProject project, GradleBuild gradleBuild, IProgressMonitor monitor) {
@@ -18,6 +18,7 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -25,10 +26,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.buildship.core.BuildConfiguration;
+import org.eclipse.buildship.core.GradleBuild;
 import org.eclipse.buildship.core.GradleCore;
 import org.eclipse.buildship.core.GradleDistribution;
 import org.eclipse.buildship.core.SynchronizationResult;
@@ -36,10 +42,13 @@ import org.eclipse.buildship.core.WrapperGradleDistribution;
 import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.preferences.PersistentModel;
 import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
+import org.eclipse.buildship.core.internal.workspace.FetchStrategy;
+import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.jdt.core.IJavaProject;
@@ -55,6 +64,9 @@ import org.eclipse.jdt.ls.internal.gradle.checksums.WrapperValidator;
 import org.eclipse.lsp4j.ExecuteCommandParams;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.model.eclipse.EclipseProject;
 
 /**
  * @author Fred Bricon
@@ -100,22 +112,45 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 			return false;
 		}
 		if (directories == null) {
-			BasicFileDetector gradleDetector = new BasicFileDetector(rootFolder.toPath(), BUILD_GRADLE_DESCRIPTOR,
-					SETTINGS_GRADLE_DESCRIPTOR, BUILD_GRADLE_KTS_DESCRIPTOR, SETTINGS_GRADLE_KTS_DESCRIPTOR)
-					.includeNested(false)
-					.addExclusions("**/build")//default gradle build dir
-					.addExclusions("**/bin");
-			for (IProject project : ProjectUtils.getAllProjects()) {
-				if (!ProjectUtils.isGradleProject(project)) {
-					String path = project.getLocation().toOSString();
-					gradleDetector.addExclusions(path);
+			Collection<Path> discovered = discoveredDirectories;
+			if (discovered == null) {
+				directories = createDetector().scan(monitor);
+			} else {
+				// exclude the projects imported since the discovery
+				Set<Path> noneGradleProjectPaths = new HashSet<>();
+				for (IProject project : ProjectUtils.getAllProjects()) {
+					if (!ProjectUtils.isGradleProject(project)) {
+						noneGradleProjectPaths.add(project.getLocation().toFile().toPath());
+					}
 				}
+				directories = excludeLocations(discovered, noneGradleProjectPaths);
 			}
-			directories = gradleDetector.scan(monitor);
 		}
 		return !directories.isEmpty();
 	}
 
+	@Override
+	public void discover(IProgressMonitor monitor) throws CoreException {
+		if (rootFolder != null && getPreferences().isImportGradleEnabled()) {
+			discoveredDirectories = createDetector().scan(monitor);
+		}
+	}
+
+	private BasicFileDetector createDetector() {
+		BasicFileDetector gradleDetector = new BasicFileDetector(rootFolder.toPath(), BUILD_GRADLE_DESCRIPTOR,
+				SETTINGS_GRADLE_DESCRIPTOR, BUILD_GRADLE_KTS_DESCRIPTOR, SETTINGS_GRADLE_KTS_DESCRIPTOR)
+				.includeNested(false)
+				.addExclusions("**/build")//default gradle build dir
+				.addExclusions("**/bin");
+		for (IProject project : ProjectUtils.getAllProjects()) {
+			if (!ProjectUtils.isGradleProject(project)) {
+				String path = project.getLocation().toOSString();
+				gradleDetector.addExclusions(path);
+			}
+		}
+		return gradleDetector;
+	}
+
 	@Override
 	public boolean applies(Collection<IPath> buildFiles, IProgressMonitor monitor) {
 		if (!getPreferences().isImportGradleEnabled()) {
@@ -163,8 +198,8 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, projectSize + 1);
 		subMonitor.setTaskName(IMPORTING_GRADLE_PROJECTS);
 		JavaLanguageServerPlugin.logInfo(IMPORTING_GRADLE_PROJECTS);
-		subMonitor.worked(1);
-		directories.forEach(d -> importDir(d, subMonitor.newChild(1)));
+		Map<Path, BuildConfiguration> builds = prepareBuilds(subMonitor.newChild(1));
+		directories.forEach(d -> importDir(d, builds.get(d), subMonitor.newChild(1)));
 		// store the digest for the imported gradle projects.
 		ProjectUtils.getGradleProjects().forEach(project -> {
 			File buildFile = project.getFile(BUILD_GRADLE_DESCRIPTOR).getLocation().toFile();
@@ -189,11 +224,63 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 		subMonitor.done();
 	}
 
-	private void importDir(Path projectFolder, IProgressMonitor monitor) {
+	private void importDir(Path projectFolder, BuildConfiguration build, IProgressMonitor monitor) {
 		if (monitor.isCanceled()) {
 			return;
 		}
-		startSynchronization(projectFolder, monitor);
+		startSynchronization(projectFolder, build, monitor);
+	}
+
+	/**
+	 * Loads the models of the Gradle builds to synchronize concurrently, at
+	 * most one build per two processors. Buildship synchronizes the builds one
+	 * at a time, under the workspace root rule, but the synchronizations then
+	 * reuse the daemons started, and the build scripts and dependencies
+	 * resolved, by the concurrent loads. The models already cached by
+	 * Buildship are not loaded again, so a build is evaluated at most once
+	 * ahead of its synchronization.
+	 *
+	 * @return the configurations of the loaded builds, by directory
+	 */
+	private Map<Path, BuildConfiguration> prepareBuilds(IProgressMonitor monitor) {
+		Map<Path, BuildConfiguration> builds = new ConcurrentHashMap<>();
+		List<Path> toSynchronize = directories.stream().filter(d -> shouldSynchronize(d.toFile())).collect(Collectors.toList());
+		int threads = Math.min(toSynchronize.size(), Runtime.getRuntime().availableProcessors() / 2);
+		if (threads <= 1) {
+			return builds;
+		}
+		long start = System.currentTimeMillis();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (Path directory : toSynchronize) {
+			tasks.add(() -> {
+				if (monitor.isCanceled()) {
+					return null;
+				}
+				try {
+					BuildConfiguration configuration = getBuildConfiguration(directory);
+					builds.put(directory, configuration);
+					GradleBuild build = GradleCore.getWorkspace().createBuild(configuration);
+					if (build instanceof InternalGradleBuild) {
+						CancellationTokenSource tokenSource = GradleConnector.newCancellationTokenSource();
+						((InternalGradleBuild) build).getModelProvider().fetchModels(EclipseProject.class, FetchStrategy.LOAD_IF_NOT_CACHED, tokenSource, new NullProgressMonitor());
+					}
+				} catch (Exception e) {
+					// the synchronization reports the errors of the build
+					JavaLanguageServerPlugin.logInfo("Failed to load the Gradle build " + directory + ": " + e.getMessage());
+				}
+				return null;
+			});
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			executor.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		JavaLanguageServerPlugin.logInfo("Loaded " + toSynchronize.size() + " Gradle build(s) in " + (System.currentTimeMillis() - start) + "ms");
+		return builds;
 	}
 
 
@@ -300,10 +387,14 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 	}
 
 	protected void startSynchronization(Path projectFolder, IProgressMonitor monitor) {
+		startSynchronization(projectFolder, null, monitor);
+	}
+
+	private void startSynchronization(Path projectFolder, BuildConfiguration configuration, IProgressMonitor monitor) {
 		File location = projectFolder.toFile();
 		boolean shouldSynchronize = shouldSynchronize(location);
 		if (shouldSynchronize) {
-			BuildConfiguration build = getBuildConfiguration(projectFolder);
+			BuildConfiguration build = configuration == null ? getBuildConfiguration(projectFolder) : configuration;
 			SynchronizationResult result = GradleCore.getWorkspace().createBuild(build).synchronize(monitor);
 			if (!result.getStatus().isOK()) {
 				JavaLanguageServerPlugin.log(result.getStatus());
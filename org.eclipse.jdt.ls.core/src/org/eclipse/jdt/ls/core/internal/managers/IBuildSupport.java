@@ -57,6 +57,25 @@ public interface IBuildSupport {
 		//do nothing
 	}
 
+	/**
+	 * Updates the given projects, all handled by this build support. Meant to
+	 * be overridden when the projects can be updated together more efficiently
+	 * than one by one.
+	 *
+	 * @param projects
+	 *            - the projects to update
+	 * @param force
+	 *            - defines if the projects must be updated despite of no
+	 *            changes in their build descriptors
+	 * @param monitor
+	 * @throws CoreException
+	 */
+	default void update(Collection<IProject> projects, boolean force, IProgressMonitor monitor) throws CoreException {
+		for (IProject project : projects) {
+			update(project, force, monitor);
+		}
+	}
+
 	/**
 	 * Is equal to a non-forced update: {@code update(resource, false, monitor)}
 	 */
@@ -0,0 +1,405 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.internal.gradle.checksums.HashProvider;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+
+/**
+ * Persists the identity of the jars found on the classpath: their SHA-1
+ * checksum, their Maven coordinates and the source jar known for them. An
+ * identity is keyed by the path of the jar and is valid as long as the size
+ * and the modification time of the jar are unchanged.
+ *
+ * The index is populated in the background from the resolved classpaths of
+ * the projects (see {@link #scheduleClasspathIndexing()}), so that looking up
+ * the sources of a jar doesn't need to read or hash it. Only the remote
+ * lookup of the coordinates, which can't be done for all the jars, is done
+ * when the identity is first requested, and its result is persisted as well.
+ *
+ * The changes are written in batches, shortly after they're made, and on
+ * {@link #close()}.
+ */
+public class JarIdentityIndex {
+
+	private static final String SERIALIZATION_FILE_NAME = ".jar-identities";
+	/**
+	 * The delay of the write of the changes, in milliseconds
+	 */
+	private static final long SAVE_DELAY = 5000;
+
+	/**
+	 * Finds the Maven coordinates of a jar from its SHA-1 checksum.
+	 */
+	public interface IChecksumIdentifier {
+
+		/**
+		 * @return the coordinates of the jar, or <code>null</code> if no artifact
+		 *         has the given checksum
+		 * @throws IOException
+		 *             if the lookup failed, e.g. when offline
+		 */
+		ArtifactKey identify(String sha1, IProgressMonitor monitor) throws IOException;
+
+	}
+
+	/**
+	 * The identity of a jar.
+	 */
+	public static final class Identity implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long size;
+		private final long lastModified;
+		private final String sha1;
+		private String groupId;
+		private String artifactId;
+		private String version;
+		private String classifier;
+		private String sources;
+		/**
+		 * Whether the coordinates were looked up remotely, if they couldn't be
+		 * found locally
+		 */
+		private boolean resolved;
+
+		private Identity(long size, long lastModified, String sha1) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.sha1 = sha1;
+		}
+
+		public String getSha1() {
+			return sha1;
+		}
+
+		/**
+		 * @return the Maven coordinates of the jar, or <code>null</code> if
+		 *         unknown
+		 */
+		public ArtifactKey getArtifact() {
+			return groupId == null ? null : new ArtifactKey(groupId, artifactId, version, classifier);
+		}
+
+		/**
+		 * @return the source jar known for the jar, or <code>null</code>
+		 */
+		public IPath getSources() {
+			return sources == null ? null : Path.fromOSString(sources);
+		}
+
+		private boolean matches(File file) {
+			return size == file.length() && lastModified == file.lastModified();
+		}
+
+		private void setArtifact(ArtifactKey artifact) {
+			if (artifact != null) {
+				groupId = artifact.getGroupId();
+				artifactId = artifact.getArtifactId();
+				version = artifact.getVersion();
+				classifier = artifact.getClassifier();
+			}
+		}
+	}
+
+	private final File stateFile;
+	private final IChecksumIdentifier remoteIdentifier;
+	private final IMavenArtifactIdentifier localIdentifier = new MavenPropertiesIdentifier();
+	private final HashProvider hashProvider = new HashProvider(HashProvider.SHA1);
+	private final Map<String, Identity> identities;
+	private boolean dirty;
+	private final Job saveJob = new Job("Save jar identities") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			save();
+			return Status.OK_STATUS;
+		}
+	};
+
+	public JarIdentityIndex(File stateLocation) {
+		this(stateLocation, new MavenCentralIdentifier());
+	}
+
+	public JarIdentityIndex(File stateLocation, IChecksumIdentifier remoteIdentifier) {
+		this.stateFile = new File(stateLocation, SERIALIZATION_FILE_NAME);
+		this.remoteIdentifier = remoteIdentifier;
+		saveJob.setSystem(true);
+		if (stateFile.isFile()) {
+			identities = deserializeIdentities();
+		} else {
+			identities = new HashMap<>();
+		}
+	}
+
+	/**
+	 * Returns the indexed identity of the given jar. The jar isn't read.
+	 *
+	 * @param jar
+	 *            the path of the jar
+	 * @return the identity of the jar, or <code>null</code> if the jar isn't
+	 *         indexed, or changed since it was indexed
+	 */
+	public Identity get(IPath jar) {
+		if (jar == null) {
+			return null;
+		}
+		File file = jar.toFile();
+		Identity identity;
+		synchronized (identities) {
+			identity = identities.get(file.getAbsolutePath());
+		}
+		return identity != null && identity.matches(file) ? identity : null;
+	}
+
+	/**
+	 * Returns the Maven coordinates of the given indexed jar, looking them up
+	 * remotely if they weren't found locally and weren't looked up yet.
+	 *
+	 * @param jar
+	 *            the path of the jar
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the coordinates of the jar, or <code>null</code> if the jar isn't
+	 *         indexed or couldn't be identified. A failed lookup is tried
+	 *         again by the next call, only the jars which aren't found are
+	 *         recorded as such.
+	 */
+	public ArtifactKey identify(IPath jar, IProgressMonitor monitor) {
+		Identity identity = get(jar);
+		if (identity == null) {
+			return null;
+		}
+		ArtifactKey artifact = identity.getArtifact();
+		if (artifact == null && !identity.resolved && identity.sha1 != null) {
+			try {
+				artifact = remoteIdentifier.identify(identity.sha1, monitor);
+			} catch (IOException e) {
+				// look it up again next time
+				JavaLanguageServerPlugin.logInfo("Failed to identify " + jar + ": " + e.getMessage());
+				return null;
+			}
+			if (monitor == null || !monitor.isCanceled()) {
+				synchronized (identities) {
+					identity.setArtifact(artifact);
+					identity.resolved = true;
+					changed();
+				}
+			}
+		}
+		return artifact;
+	}
+
+	/**
+	 * Records the source jar of the given indexed jar.
+	 */
+	public void setSources(IPath jar, IPath sources) {
+		Identity identity = get(jar);
+		if (identity != null && sources != null) {
+			synchronized (identities) {
+				identity.sources = sources.toOSString();
+				changed();
+			}
+		}
+	}
+
+	/**
+	 * Indexes the given jars which aren't indexed yet, or changed since they
+	 * were indexed, and forgets the jars which don't exist anymore.
+	 *
+	 * @return whether a jar was indexed
+	 */
+	public boolean index(Collection<IPath> jars, IProgressMonitor monitor) {
+		prune();
+		SubMonitor progress = SubMonitor.convert(monitor, jars.size());
+		boolean indexed = false;
+		for (IPath jar : jars) {
+			if (progress.isCanceled()) {
+				break;
+			}
+			IProgressMonitor jarMonitor = progress.split(1);
+			File file = jar.toFile();
+			if (get(jar) != null || !file.isFile() || !file.canRead()) {
+				continue;
+			}
+			Identity identity = newIdentity(file, jarMonitor);
+			if (identity != null) {
+				synchronized (identities) {
+					identities.put(file.getAbsolutePath(), identity);
+					changed();
+				}
+				indexed = true;
+			}
+		}
+		return indexed;
+	}
+
+	/**
+	 * Writes the pending changes.
+	 */
+	public void close() {
+		saveJob.cancel();
+		save();
+	}
+
+	/**
+	 * @return the number of indexed jars
+	 */
+	int size() {
+		synchronized (identities) {
+			return identities.size();
+		}
+	}
+
+	/**
+	 * Removes the jars which don't exist anymore, e.g. deleted from the local
+	 * repository.
+	 */
+	private void prune() {
+		synchronized (identities) {
+			if (identities.keySet().removeIf(path -> !new File(path).isFile())) {
+				changed();
+			}
+		}
+	}
+
+	/**
+	 * Schedules the write of the changes, unless it is already scheduled. Must
+	 * be called while holding the lock of the identities.
+	 */
+	private void changed() {
+		dirty = true;
+		int state = saveJob.getState();
+		if (state != Job.SLEEPING && state != Job.WAITING) {
+			saveJob.schedule(SAVE_DELAY);
+		}
+	}
+
+	private void save() {
+		synchronized (identities) {
+			if (dirty) {
+				serializeIdentities();
+				dirty = false;
+			}
+		}
+	}
+
+	/**
+	 * Indexes, in the background, the jars of the resolved classpaths of the
+	 * projects which have no source attached.
+	 *
+	 * @return the indexing job
+	 */
+	public Job scheduleClasspathIndexing() {
+		return scheduleIndexing("Index classpath jars", () -> {
+			Set<IPath> jars = new LinkedHashSet<>();
+			for (IJavaProject javaProject : ProjectUtils.getJavaProjects()) {
+				try {
+					for (IClasspathEntry entry : javaProject.getResolvedClasspath(true)) {
+						if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY && entry.getSourceAttachmentPath() == null) {
+							jars.add(entry.getPath());
+						}
+					}
+				} catch (JavaModelException e) {
+					JavaLanguageServerPlugin.logException(e.getMessage(), e);
+				}
+			}
+			return jars;
+		}, Job.DECORATE);
+	}
+
+	/**
+	 * Indexes the given jars in the background.
+	 *
+	 * @return the indexing job
+	 */
+	public Job scheduleIndexing(Collection<IPath> jars) {
+		return scheduleIndexing("Index jars", () -> jars, Job.SHORT);
+	}
+
+	private Job scheduleIndexing(String name, Supplier<Collection<IPath>> jars, int priority) {
+		Job job = new Job(name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				long start = System.currentTimeMillis();
+				if (index(jars.get(), monitor)) {
+					JavaLanguageServerPlugin.logInfo(name + " in " + (System.currentTimeMillis() - start) + "ms");
+				}
+				return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(priority);
+		job.schedule();
+		return job;
+	}
+
+	private Identity newIdentity(File file, IProgressMonitor monitor) {
+		long size = file.length();
+		long lastModified = file.lastModified();
+		String sha1;
+		try {
+			sha1 = hashProvider.getChecksum(file);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logError("Failed to compute SHA1 checksum for " + file + " : " + e.getMessage());
+			sha1 = null;
+		}
+		Identity identity = new Identity(size, lastModified, sha1);
+		identity.setArtifact(localIdentifier.identify(Path.fromOSString(file.getAbsolutePath()), monitor));
+		return identity;
+	}
+
+	private void serializeIdentities() {
+		try (ObjectOutputStream outStream = new ObjectOutputStream(new FileOutputStream(stateFile))) {
+			outStream.writeObject(identities);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while serialization of jar identities", e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Identity> deserializeIdentities() {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(stateFile))) {
+			return (Map<String, Identity>) ois.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of jar identities", e);
+			return new HashMap<>();
+		}
+	}
+}
@@ -15,8 +15,11 @@ package org.eclipse.jdt.ls.core.internal.managers;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
@@ -31,8 +34,11 @@ import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.managers.PomChangeClassifier.Kind;
+import org.eclipse.jdt.ls.core.internal.managers.PomChangeClassifier.PomChange;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager.CHANGE_TYPE;
 import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.project.ProjectConfigurationManager;
 import org.eclipse.m2e.core.internal.project.registry.ProjectRegistryManager;
@@ -54,6 +60,7 @@ public class MavenBuildSupport implements IBuildSupport {
 	private IProjectConfigurationManager configurationManager;
 	private ProjectRegistryManager projectManager;
 	private DigestStore digestStore;
+	private PomChangeClassifier pomChangeClassifier;
 	private IMavenProjectRegistry registry;
 	private boolean shouldCollectProjects;
 
@@ -61,10 +68,16 @@ public class MavenBuildSupport implements IBuildSupport {
 		this.configurationManager = MavenPlugin.getProjectConfigurationManager();
 		this.projectManager = MavenPluginActivator.getDefault().getMavenProjectManagerImpl();
 		this.digestStore = JavaLanguageServerPlugin.getDigestStore();
+		this.pomChangeClassifier = JavaLanguageServerPlugin.getPomChangeClassifier();
 		this.registry = MavenPlugin.getMavenProjectRegistry();
 		this.shouldCollectProjects = true;
 	}
 
+	MavenBuildSupport(IProjectConfigurationManager configurationManager) {
+		this();
+		this.configurationManager = configurationManager;
+	}
+
 	@Override
 	public boolean applies(IProject project) {
 		return ProjectUtils.isMavenProject(project);
@@ -72,28 +85,79 @@ public class MavenBuildSupport implements IBuildSupport {
 
 	@Override
 	public void update(IProject project, boolean force, IProgressMonitor monitor) throws CoreException {
-		if (!applies(project)) {
-			return;
-		}
-		Path pomPath = project.getFile("pom.xml").getLocation().toFile().toPath();
-		if (digestStore.updateDigest(pomPath) || force) {
-			JavaLanguageServerPlugin.logInfo("Starting Maven update for " + project.getName());
-			boolean updateSnapshots = JavaLanguageServerPlugin.getPreferencesManager() == null ? false : JavaLanguageServerPlugin.getPreferencesManager().getPreferences().isMavenUpdateSnapshots();
-			if (shouldCollectProjects()) {
-				Set<IProject> projectSet = new LinkedHashSet<>();
-				collectProjects(projectSet, project, monitor);
-				IProject[] projects = projectSet.toArray(new IProject[0]);
-				MavenUpdateRequest request = new MavenUpdateRequest(projects, MavenPlugin.getMavenConfiguration().isOffline(), updateSnapshots);
-				((ProjectConfigurationManager) configurationManager).updateProjectConfiguration(request, true, true, monitor);
+		update(Collections.singletonList(project), force, monitor);
+	}
+
+	/**
+	 * Updates the given projects, and their modules, with a single request:
+	 * the modules shared by several projects are only updated once.
+	 *
+	 * Unless the update is forced, a project whose <code>pom.xml</code> only
+	 * changed in comments, whitespace or descriptive sections isn't updated,
+	 * and when the changed sections aren't inherited, or when the project
+	 * doesn't collect its modules, the modules which don't inherit from it
+	 * aren't updated (see {@link PomChangeClassifier}).
+	 */
+	@Override
+	public void update(Collection<IProject> projects, boolean force, IProgressMonitor monitor) throws CoreException {
+		Set<IProject> projectSet = new LinkedHashSet<>();
+		for (IProject project : projects) {
+			if (!applies(project)) {
+				continue;
+			}
+			Path pomPath = getPomPath(project);
+			boolean changed = digestStore.updateDigest(pomPath);
+			if (!changed && !force) {
+				continue;
+			}
+			PomChange change = pomChangeClassifier == null ? null : pomChangeClassifier.classify(pomPath);
+			if (force || change == null || change.getKind() == Kind.UNKNOWN) {
+				JavaLanguageServerPlugin.logInfo("Starting Maven update for " + project.getName());
+				if (shouldCollectProjects()) {
+					collectProjects(projectSet, project, monitor);
+				} else {
+					projectSet.add(project);
+				}
+			} else if (change.getKind() == Kind.NONE) {
+				JavaLanguageServerPlugin.logInfo("Skipping Maven update for " + project.getName() + ", its pom.xml has no semantic change");
 			} else {
-				MavenUpdateRequest request = new MavenUpdateRequest(project, MavenPlugin.getMavenConfiguration().isOffline(), updateSnapshots);
-				configurationManager.updateProjectConfiguration(request, monitor);
+				JavaLanguageServerPlugin.logInfo("Starting Maven update for " + project.getName() + " (" + change + ")");
+				projectSet.add(project);
+				if (!shouldCollectProjects()) {
+					continue;
+				}
+				if (change.getKind() == Kind.LOCAL) {
+					for (String module : change.getAddedModules()) {
+						IProject moduleProject = getModuleProject(module);
+						if (moduleProject != null) {
+							collectProjects(projectSet, moduleProject, monitor);
+						}
+					}
+				} else {
+					Set<IProject> modules = new LinkedHashSet<>();
+					collectProjects(modules, project, monitor);
+					projectSet.addAll(getInheritingProjects(project, modules));
+				}
 			}
 		}
+		if (pomChangeClassifier != null) {
+			pomChangeClassifier.save();
+		}
+		if (projectSet.isEmpty()) {
+			return;
+		}
+		boolean updateSnapshots = JavaLanguageServerPlugin.getPreferencesManager() == null ? false : JavaLanguageServerPlugin.getPreferencesManager().getPreferences().isMavenUpdateSnapshots();
+		MavenUpdateRequest request = new MavenUpdateRequest(projectSet.toArray(new IProject[0]), MavenPlugin.getMavenConfiguration().isOffline(), updateSnapshots);
+		if (shouldCollectProjects()) {
+			((ProjectConfigurationManager) configurationManager).updateProjectConfiguration(request, true, true, monitor);
+		} else {
+			configurationManager.updateProjectConfiguration(request, monitor);
+		}
 	}
 
 	public void collectProjects(Collection<IProject> projects, IProject project, IProgressMonitor monitor) {
-		if (!project.isOpen() || !ProjectUtils.isMavenProject(project)) {
+		// the modules of a project which was already collected are collected too
+		if (!project.isOpen() || !ProjectUtils.isMavenProject(project) || projects.contains(project)) {
 			return;
 		}
 		projects.add(project);
@@ -101,16 +165,59 @@ public class MavenBuildSupport implements IBuildSupport {
 		if (projectFacade != null && "pom".equals(projectFacade.getPackaging())) {
 			List<String> modules = projectFacade.getMavenProjectModules();
 			for (String module : modules) {
-				IPath pomPath = ResourcesPlugin.getWorkspace().getRoot().getFullPath().append(module).append("pom.xml");
-				IFile pom = ResourcesPlugin.getWorkspace().getRoot().getFile(pomPath);
-				if (pom.exists()) {
-					IProject p = pom.getProject();
-					if (p.isOpen()) {
-						collectProjects(projects, p, monitor);
-					}
+				IProject p = getModuleProject(module);
+				if (p != null) {
+					collectProjects(projects, p, monitor);
+				}
+			}
+		}
+	}
+
+	private static IProject getModuleProject(String module) {
+		IPath pomPath = ResourcesPlugin.getWorkspace().getRoot().getFullPath().append(module).append("pom.xml");
+		IFile pom = ResourcesPlugin.getWorkspace().getRoot().getFile(pomPath);
+		if (pom.exists()) {
+			IProject p = pom.getProject();
+			if (p.isOpen()) {
+				return p;
+			}
+		}
+		return null;
+	}
+
+	private static Path getPomPath(IProject project) {
+		return project.getFile("pom.xml").getLocation().toFile().toPath();
+	}
+
+	/**
+	 * Returns the given modules which inherit, directly or through other
+	 * modules, from the given parent project. The modules which aren't known
+	 * to m2e yet are returned too.
+	 */
+	private Set<IProject> getInheritingProjects(IProject parent, Collection<IProject> modules) {
+		Map<String, IProject> projectsByKey = new HashMap<>();
+		Set<IProject> result = new LinkedHashSet<>();
+		for (IProject module : modules) {
+			IMavenProjectFacade facade = registry.getProject(module);
+			if (facade == null) {
+				result.add(module);
+			} else {
+				ArtifactKey key = facade.getArtifactKey();
+				projectsByKey.put(key.getGroupId() + ":" + key.getArtifactId(), module);
+			}
+		}
+		for (IProject module : modules) {
+			Set<IProject> visited = new HashSet<>();
+			for (IProject current = module; current != null && visited.add(current);) {
+				if (current.equals(parent)) {
+					result.add(module);
+					break;
 				}
+				String parentKey = pomChangeClassifier.getParent(getPomPath(current));
+				current = parentKey == null ? null : projectsByKey.get(parentKey);
 			}
 		}
+		return result;
 	}
 
 	@Override
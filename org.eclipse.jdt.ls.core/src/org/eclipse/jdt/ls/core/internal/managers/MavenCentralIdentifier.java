@@ -15,6 +15,7 @@ package org.eclipse.jdt.ls.core.internal.managers;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.ProxySelector;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -43,7 +44,7 @@ import com.google.gson.JsonParser;
  *         https://github.com/jbosstools/jbosstools-central/blob/24e907a07cbf81b9b7a9cafa69bd38b2271878eb/maven/plugins/org.jboss.tools.maven.core/src/org/jboss/tools/maven/core/internal/identification/MavenCentralIdentifier.java
  *
  */
-public class MavenCentralIdentifier implements IMavenArtifactIdentifier {
+public class MavenCentralIdentifier implements IMavenArtifactIdentifier, JarIdentityIndex.IChecksumIdentifier {
 
 	private static final String SHA1_SEARCH_QUERY = "https://search.maven.org/solrsearch/select?q=1:%22{0}%22&rows=1&wt=json";
 
@@ -68,20 +69,34 @@ public class MavenCentralIdentifier implements IMavenArtifactIdentifier {
 			JavaLanguageServerPlugin.logError("Failed to compute SHA1 checksum for " + file + " : " + e.getMessage());
 			return null;
 		}
-		return identifySha1(sha1, monitor);
+		try {
+			return identify(sha1, monitor);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logError("Failed to identify " + sha1 + " with Maven Central : " + e.getMessage());
+		}
+		return null;
 	}
 
-	private ArtifactKey identifySha1(String sha1, IProgressMonitor monitor) {
+	/**
+	 * @throws IOException
+	 *             if Maven Central can't be searched, or its response can't be
+	 *             read
+	 */
+	@Override
+	public ArtifactKey identify(String sha1, IProgressMonitor monitor) throws IOException {
 		if (sha1 == null || sha1.isBlank()) {
 			return null;
 		}
 		String searchUrl = NLS.bind(SHA1_SEARCH_QUERY, sha1);
 		try {
 			return find(searchUrl, monitor);
-		} catch (Exception e) {
-			JavaLanguageServerPlugin.logError("Failed to identify " + sha1 + " with Maven Central : " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		} catch (RuntimeException e) {
+			// the JSON response can't be read
+			throw new IOException(e.getMessage(), e);
 		}
-		return null;
 	}
 
 	private ArtifactKey find(String searchUrl, IProgressMonitor monitor) throws IOException, InterruptedException {
@@ -106,29 +121,33 @@ public class MavenCentralIdentifier implements IMavenArtifactIdentifier {
 
 		//TODO implement request cancellation, according to monitor status
 		HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IOException("Unexpected response status " + response.statusCode());
+		}
 		JsonElement jsonElement = new JsonParser().parse(response.body());
 		if (jsonElement != null && jsonElement.isJsonObject()) {
 			return extractKey(jsonElement.getAsJsonObject());
 		}
-		return null;
+		throw new IOException("Unexpected response " + response.body());
 	}
 
-	private ArtifactKey extractKey(JsonObject modelNode) {
+	private ArtifactKey extractKey(JsonObject modelNode) throws IOException {
 		JsonObject response = modelNode.getAsJsonObject("response");
-		if (response != null) {
-			int num = response.get("numFound").getAsInt();
-			if (num > 0) {
-				JsonArray docs = response.getAsJsonArray("docs");
-					String a = null, g = null, v = null;
-					for (JsonElement d : docs) {
-						JsonObject o = d.getAsJsonObject();
-						a = o.get("a").getAsString();
-						g = o.get("g").getAsString();
-						v = o.get("v").getAsString();
-						if (a != null && g != null && v != null) {
-							return new ArtifactKey(g, a, v, null);
-						}
-				}
+		if (response == null) {
+			throw new IOException("Unexpected response " + modelNode);
+		}
+		int num = response.get("numFound").getAsInt();
+		if (num > 0) {
+			JsonArray docs = response.getAsJsonArray("docs");
+				String a = null, g = null, v = null;
+				for (JsonElement d : docs) {
+					JsonObject o = d.getAsJsonObject();
+					a = o.get("a").getAsString();
+					g = o.get("g").getAsString();
+					v = o.get("v").getAsString();
+					if (a != null && g != null && v != null) {
+						return new ArtifactKey(g, a, v, null);
+					}
 			}
 		}
 		return null;
@@ -60,9 +60,13 @@ import org.eclipse.m2e.core.project.ProjectImportConfiguration;
 @SuppressWarnings("restriction")
 public class MavenProjectImporter extends AbstractProjectImporter {
 
-	private static final int MAX_PROJECTS_TO_IMPORT = 50;
+	private static final int MIN_PROJECTS_TO_IMPORT = 10;
 
-	private static final long MAX_MEMORY = 1536 * 1024 * 1024; // 1.5g
+	/**
+	 * Rough heap footprint of a Maven project while it's being imported, used to
+	 * size the import batches.
+	 */
+	private static final long PROJECT_IMPORT_FOOTPRINT = 32 * 1024 * 1024; // 32m
 
 	public static final String IMPORTING_MAVEN_PROJECTS = "Importing Maven project(s)";
 
@@ -72,10 +76,12 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 
 	private IProjectConfigurationManager configurationManager;
 	private DigestStore digestStore;
+	private PomChangeClassifier pomChangeClassifier;
 
 	public MavenProjectImporter() {
 		this.configurationManager = MavenPlugin.getProjectConfigurationManager();
 		this.digestStore = JavaLanguageServerPlugin.getDigestStore();
+		this.pomChangeClassifier = JavaLanguageServerPlugin.getPomChangeClassifier();
 	}
 
 	@Override
@@ -85,22 +91,46 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 			return false;
 		}
 		if (directories == null) {
-			//@formatter:off
-			BasicFileDetector mavenDetector = new BasicFileDetector(rootFolder.toPath(), IMavenConstants.POM_FILE_NAME)
-					.includeNested(false)
-					.addExclusions("**/target"); //default maven build dir
-			//@formatter:on
-			for (IProject project : ProjectUtils.getAllProjects()) {
-				if (!ProjectUtils.isMavenProject(project)) {
-					String path = project.getLocation().toOSString();
-					mavenDetector.addExclusions(path);
+			Collection<java.nio.file.Path> discovered = discoveredDirectories;
+			if (discovered == null) {
+				directories = createDetector().scan(monitor);
+			} else {
+				// exclude the projects imported since the discovery
+				Set<java.nio.file.Path> noneMavenProjectPaths = new HashSet<>();
+				for (IProject project : ProjectUtils.getAllProjects()) {
+					if (!ProjectUtils.isMavenProject(project)) {
+						noneMavenProjectPaths.add(project.getLocation().toFile().toPath());
+					}
 				}
+				directories = excludeLocations(discovered, noneMavenProjectPaths);
 			}
-			directories = mavenDetector.scan(monitor);
 		}
 		return !directories.isEmpty();
 	}
 
+	@Override
+	public void discover(IProgressMonitor monitor) throws OperationCanceledException, CoreException {
+		PreferenceManager preferencesManager = JavaLanguageServerPlugin.getPreferencesManager();
+		if (rootFolder != null && (preferencesManager == null || preferencesManager.getPreferences().isImportMavenEnabled())) {
+			discoveredDirectories = createDetector().scan(monitor);
+		}
+	}
+
+	private BasicFileDetector createDetector() {
+		//@formatter:off
+		BasicFileDetector mavenDetector = new BasicFileDetector(rootFolder.toPath(), IMavenConstants.POM_FILE_NAME)
+				.includeNested(false)
+				.addExclusions("**/target"); //default maven build dir
+		//@formatter:on
+		for (IProject project : ProjectUtils.getAllProjects()) {
+			if (!ProjectUtils.isMavenProject(project)) {
+				String path = project.getLocation().toOSString();
+				mavenDetector.addExclusions(path);
+			}
+		}
+		return mavenDetector;
+	}
+
 	@Override
 	public boolean applies(Collection<IPath> buildFiles, IProgressMonitor monitor) {
 		if (!getPreferences().isImportMavenEnabled()) {
@@ -178,7 +208,7 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 				}
 			}
 			if (container == null) {
-				digestStore.updateDigest(pom.toPath());
+				updateDigest(pom);
 				toImport.add(projectInfo);
 			} else {
 				IProject project = container.getProject();
@@ -187,32 +217,39 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 					projects.add(container.getProject());
 				} else if (project != null) {
 					//Project doesn't have the Maven nature, so we (re)import it
-					digestStore.updateDigest(pom.toPath());
+					updateDigest(pom);
 					// need to delete project due to m2e failing to create if linked and not the same name
 					project.delete(IProject.FORCE | IProject.NEVER_DELETE_PROJECT_CONTENT, subMonitor.split(5));
 					toImport.add(projectInfo);
 				}
 			}
 		}
+		if (pomChangeClassifier != null) {
+			pomChangeClassifier.save();
+		}
 		if (!toImport.isEmpty()) {
-			if (toImport.size() > MAX_PROJECTS_TO_IMPORT && Runtime.getRuntime().maxMemory() <= MAX_MEMORY) {
+			int batchSize = getImportBatchSize(toImport.size());
+			if (toImport.size() > batchSize) {
 				JavaLanguageServerPlugin.logInfo("Projects size:" + toImport.size());
 				Iterator<MavenProjectInfo> iter = toImport.iterator();
-				List<IMavenProjectImportResult> results = new ArrayList<>(MAX_PROJECTS_TO_IMPORT);
+				List<IMavenProjectImportResult> results = new ArrayList<>(toImport.size());
 				SubMonitor monitor2 = SubMonitor.convert(monitor, toImport.size() * 2);
-				int it = 1;
+				int importedCount = 0;
 				while (iter.hasNext()) {
-					int percent = Math.min(100, it++ * 100 * MAX_PROJECTS_TO_IMPORT / (toImport.size() + 1));
+					monitor2.checkCanceled();
+					int percent = Math.min(100, importedCount * 100 / toImport.size());
 					monitor2.setTaskName(percent + "% " + IMPORTING_MAVEN_PROJECTS);
-					List<MavenProjectInfo> importPartial = new ArrayList<>();
-					int i = 0;
-					while (i++ < MAX_PROJECTS_TO_IMPORT && iter.hasNext()) {
+					List<MavenProjectInfo> importPartial = new ArrayList<>(batchSize);
+					while (importPartial.size() < batchSize && iter.hasNext()) {
 						importPartial.add(iter.next());
 					}
 					ProjectImportConfiguration importConfig = new ProjectImportConfiguration();
-					List<IMavenProjectImportResult> result = configurationManager.importProjects(importPartial, importConfig, monitor2.split(MAX_PROJECTS_TO_IMPORT));
+					List<IMavenProjectImportResult> result = configurationManager.importProjects(importPartial, importConfig, monitor2.split(importPartial.size()));
 					results.addAll(result);
-					monitor2.setWorkRemaining(toImport.size() * 2 - it * MAX_PROJECTS_TO_IMPORT);
+					importedCount += importPartial.size();
+					monitor2.setWorkRemaining(toImport.size() * 2 - importedCount);
+					// the heap usage changes as projects get imported, adapt the next batch to it
+					batchSize = getImportBatchSize(toImport.size() - importedCount);
 				}
 				List<IProject> imported = new ArrayList<>(results.size());
 				for (IMavenProjectImportResult result : results) {
@@ -231,6 +268,42 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 		subMonitor.done();
 	}
 
+	/**
+	 * Records the digest and the sections of the given imported POM, the
+	 * following updates only depend on what changed since.
+	 */
+	private void updateDigest(File pom) throws CoreException {
+		digestStore.updateDigest(pom.toPath());
+		if (pomChangeClassifier != null) {
+			pomChangeClassifier.classify(pom.toPath());
+		}
+	}
+
+	private static int getImportBatchSize(int projectCount) {
+		Runtime runtime = Runtime.getRuntime();
+		return getImportBatchSize(projectCount, runtime.maxMemory(), runtime.totalMemory() - runtime.freeMemory());
+	}
+
+	/**
+	 * Computes how many Maven projects can be imported at once with the
+	 * available heap.
+	 *
+	 * @param projectCount
+	 *            the number of projects left to import
+	 * @param maxMemory
+	 *            the maximum heap size
+	 * @param usedMemory
+	 *            the heap currently in use
+	 * @return the size of the next import batch
+	 */
+	public static int getImportBatchSize(int projectCount, long maxMemory, long usedMemory) {
+		if (maxMemory == Long.MAX_VALUE) {
+			return projectCount;
+		}
+		long batchSize = Math.max(0, maxMemory - usedMemory) / PROJECT_IMPORT_FOOTPRINT;
+		return (int) Math.max(MIN_PROJECTS_TO_IMPORT, Math.min(projectCount, batchSize));
+	}
+
 	private long getLastWorkspaceStateModified() {
 		File workspaceStateFile = MavenPluginActivator.getDefault().getMavenProjectManager().getWorkspaceStateFile();
 		return workspaceStateFile.lastModified();
@@ -267,12 +340,10 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
 				MavenBuildSupport mavenBuildSupport = new MavenBuildSupport();
 				mavenBuildSupport.setShouldCollectProjects(false);
-				for (IProject project : projects) {
-					if (monitor.isCanceled()) {
-						return Status.CANCEL_STATUS;
-					}
-					mavenBuildSupport.update(project, false, monitor);
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
 				}
+				mavenBuildSupport.update(projects, false, monitor);
 				return Status.OK_STATUS;
 			}
 		}.schedule();
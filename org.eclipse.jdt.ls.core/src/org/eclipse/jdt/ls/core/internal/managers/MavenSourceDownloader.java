@@ -14,6 +14,7 @@ package org.eclipse.jdt.ls.core.internal.managers;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
@@ -21,10 +22,12 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.ls.core.internal.DependencyUtil;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.m2e.core.embedder.ArtifactKey;
@@ -72,12 +75,10 @@ public class MavenSourceDownloader implements ISourceDownloader {
 					}
 					Boolean downloaded = downloadRequestsCache.getIfPresent(path.toString());
 					if (downloaded == null) {
-						downloadRequestsCache.put(path.toString(), true);
-						ArtifactKey artifact = new MavenPropertiesIdentifier().identify(path, monitor);
-						if (artifact == null) {
-							artifact = new MavenCentralIdentifier().identify(path, monitor);
-						}
+						ArtifactKey artifact = identify(path, monitor);
 						if (artifact != null) {
+							// a jar which couldn't be identified yet is looked up again on the next request
+							downloadRequestsCache.put(path.toString(), true);
 							if (!ProjectUtils.isMavenProject(element.getJavaProject().getProject())) {
 								// see https://github.com/eclipse-m2e/m2e-core/commit/b547ecc358c990e182a5eaf8d36f121e43f4a8c9#diff-3967743078be6a24ba1e3ec28bfc22bdf2c88a740695411f6d20e2444fef042fR943
 								long lastModified;
@@ -105,6 +106,10 @@ public class MavenSourceDownloader implements ISourceDownloader {
 							BuildPathManager buildpathManager = (BuildPathManager) MavenJdtPlugin.getDefault().getBuildpathManager();
 							buildpathManager.scheduleDownload(fragment, artifact, true, true);
 							JobHelpers.waitForDownloadSourcesJobs(MAX_TIME_MILLIS);
+							IPath sources = fragment.getSourceAttachmentPath();
+							if (sources != null && sources.toFile().isFile()) {
+								JavaLanguageServerPlugin.getJarIdentityIndex().setSources(path, sources);
+							}
 						}
 					}
 					break;
@@ -113,4 +118,25 @@ public class MavenSourceDownloader implements ISourceDownloader {
 		}
 	}
 
+	/**
+	 * Identifies the given jar with the {@link JarIdentityIndex}. A jar which
+	 * isn't indexed yet, and has no Maven properties, is indexed in the
+	 * background rather than hashed here.
+	 */
+	private static ArtifactKey identify(IPath path, IProgressMonitor monitor) {
+		JarIdentityIndex index = JavaLanguageServerPlugin.getJarIdentityIndex();
+		if (index.get(path) == null) {
+			ArtifactKey artifact = new MavenPropertiesIdentifier().identify(path, monitor);
+			if (artifact != null) {
+				return artifact;
+			}
+			try {
+				index.scheduleIndexing(Collections.singletonList(path)).join(MAX_TIME_MILLIS, monitor);
+			} catch (InterruptedException | OperationCanceledException e) {
+				return null;
+			}
+		}
+		return index.identify(path, monitor);
+	}
+
 }
@@ -0,0 +1,448 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.ls.core.internal.BaseJDTLanguageServer;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.eclipse.lsp4j.FileSystemWatcher;
+import org.eclipse.lsp4j.WatchKind;
+import org.eclipse.lsp4j.services.WorkspaceService;
+
+/**
+ * Watches the files matching the file watchers of the language server with
+ * the file watching service of the OS, e.g. inotify on Linux, instead of
+ * registering the watchers with the client.
+ *
+ * The changes are coalesced until no file changed for a short while, and then
+ * handled as a <code>workspace/didChangeWatchedFiles</code> notification of
+ * the client would be.
+ */
+final class NativeFileWatcher {
+
+	/**
+	 * The time, in milliseconds, without any change after which the pending
+	 * changes are reported
+	 */
+	private static final long QUIET_PERIOD = 200;
+	/**
+	 * The maximum time, in milliseconds, a change is pending
+	 */
+	private static final long MAX_DELAY = 2000;
+	private static final Set<String> IGNORED_FOLDERS = new HashSet<>(Arrays.asList(".git", ".hg", ".svn", "node_modules", ".gradle"));
+
+	/**
+	 * Registers a folder with the watch service.
+	 */
+	interface FolderRegistrar {
+		/**
+		 * @throws IOException
+		 *             if the folder can't be watched, e.g. when the limit of
+		 *             watched folders of the OS is reached
+		 */
+		WatchKey register(Path folder, WatchService service) throws IOException;
+	}
+
+	private final Consumer<DidChangeWatchedFilesParams> listener;
+	private final FolderRegistrar registrar;
+	private volatile Set<Path> excludedFolders = Collections.emptySet();
+	private final Map<WatchKey, Path> folders = new HashMap<>();
+	private final Map<Path, FileChangeType> changes = new LinkedHashMap<>();
+	private volatile List<Matcher> matchers = Collections.emptyList();
+	private List<Path> roots = Collections.emptyList();
+	private WatchService watchService;
+	private Thread thread;
+
+	NativeFileWatcher() {
+		this(NativeFileWatcher::notifyServer);
+	}
+
+	NativeFileWatcher(Consumer<DidChangeWatchedFilesParams> listener) {
+		this(listener, (folder, service) -> folder.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+	}
+
+	NativeFileWatcher(Consumer<DidChangeWatchedFilesParams> listener, FolderRegistrar registrar) {
+		this.listener = listener;
+		this.registrar = registrar;
+	}
+
+	synchronized void watch(Collection<IPath> locations, List<FileSystemWatcher> watchers) throws IOException {
+		watch(locations, Collections.emptyList(), watchers);
+	}
+
+	/**
+	 * Watches the files matching the given watchers in the given folders and
+	 * their sub-folders, except the excluded folders, e.g. the output folders.
+	 * Stops watching if a folder can't be watched.
+	 */
+	synchronized void watch(Collection<IPath> locations, Collection<IPath> excluded, List<FileSystemWatcher> watchers) throws IOException {
+		try {
+			doWatch(locations, excluded, watchers);
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	private void doWatch(Collection<IPath> locations, Collection<IPath> excluded, List<FileSystemWatcher> watchers) throws IOException {
+		Set<Path> newExcludedFolders = new HashSet<>();
+		for (IPath folder : excluded) {
+			newExcludedFolders.add(folder.toFile().toPath());
+		}
+		Set<Path> previousExcludedFolders = excludedFolders;
+		excludedFolders = newExcludedFolders;
+		List<Matcher> newMatchers = new ArrayList<>(watchers.size());
+		for (FileSystemWatcher watcher : watchers) {
+			newMatchers.add(new Matcher(watcher));
+		}
+		matchers = newMatchers;
+		PathTrie trie = new PathTrie();
+		for (IPath location : locations) {
+			trie.add(location.toFile().isFile() ? location.removeLastSegments(1) : location);
+		}
+		List<Path> newRoots = new ArrayList<>();
+		for (IPath location : trie.getPaths()) {
+			newRoots.add(location.toFile().toPath());
+		}
+		if (watchService == null) {
+			watchService = FileSystems.getDefault().newWatchService();
+			thread = new Thread(this::run, "Native File Watcher");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		synchronized (folders) {
+			for (Iterator<Map.Entry<WatchKey, Path>> it = folders.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<WatchKey, Path> entry = it.next();
+				if (!isContainedIn(entry.getValue(), newRoots) || isExcluded(entry.getValue())) {
+					entry.getKey().cancel();
+					it.remove();
+				}
+			}
+		}
+		for (Path root : newRoots) {
+			if (!isContainedIn(root, roots) && Files.isDirectory(root)) {
+				register(watchService, root, null);
+			} else {
+				// the folders which are no longer excluded
+				for (Path folder : previousExcludedFolders) {
+					if (folder.startsWith(root) && !newExcludedFolders.contains(folder) && Files.isDirectory(folder)) {
+						register(watchService, folder, null);
+					}
+				}
+			}
+		}
+		roots = newRoots;
+	}
+
+	/**
+	 * Stops watching the files.
+	 */
+	synchronized void close() {
+		if (watchService == null) {
+			return;
+		}
+		thread.interrupt();
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		}
+		synchronized (folders) {
+			folders.clear();
+		}
+		watchService = null;
+		thread = null;
+		roots = Collections.emptyList();
+		matchers = Collections.emptyList();
+		excludedFolders = Collections.emptySet();
+	}
+
+	synchronized boolean isWatching() {
+		return watchService != null;
+	}
+
+	private boolean isExcluded(Path folder) {
+		Path name = folder.getFileName();
+		if (name != null && IGNORED_FOLDERS.contains(name.toString())) {
+			return true;
+		}
+		for (Path excluded : excludedFolders) {
+			if (folder.startsWith(excluded)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isContainedIn(Path path, List<Path> roots) {
+		for (Path root : roots) {
+			if (path.startsWith(root)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Registers the given folder and its sub-folders.
+	 *
+	 * @param created
+	 *            the files found in the folders, which were just created, or
+	 *            <code>null</code>
+	 */
+	private void register(WatchService service, Path folder, List<Path> created) throws IOException {
+		Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				if (isExcluded(dir)) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				WatchKey key = registrar.register(dir, service);
+				synchronized (folders) {
+					folders.put(key, dir);
+				}
+				if (created != null && !dir.equals(folder)) {
+					created.add(dir);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (created != null) {
+					created.add(file);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException e) {
+				// the file was deleted meanwhile, or can't be read
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private void run() {
+		WatchService service;
+		synchronized (this) {
+			service = watchService;
+		}
+		long firstChange = 0;
+		while (!Thread.currentThread().isInterrupted()) {
+			WatchKey key;
+			try {
+				if (changes.isEmpty()) {
+					key = service.take();
+				} else {
+					long wait = Math.min(QUIET_PERIOD, firstChange + MAX_DELAY - System.currentTimeMillis());
+					key = wait > 0 ? service.poll(wait, TimeUnit.MILLISECONDS) : null;
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			if (key == null) {
+				flush();
+				continue;
+			}
+			boolean pending = !changes.isEmpty();
+			try {
+				process(service, key);
+			} catch (ClosedWatchServiceException e) {
+				return;
+			}
+			if (!pending && !changes.isEmpty()) {
+				firstChange = System.currentTimeMillis();
+			}
+		}
+	}
+
+	private void process(WatchService service, WatchKey key) {
+		Path folder;
+		synchronized (folders) {
+			folder = folders.get(key);
+		}
+		if (folder == null) {
+			key.cancel();
+			return;
+		}
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				refresh();
+				continue;
+			}
+			Path path = folder.resolve((Path) event.context());
+			if (event.kind() == ENTRY_CREATE) {
+				addChange(path, FileChangeType.Created);
+				if (Files.isDirectory(path)) {
+					List<Path> created = new ArrayList<>();
+					try {
+						register(service, path, created);
+					} catch (IOException e) {
+						JavaLanguageServerPlugin.logException(e.getMessage(), e);
+					}
+					created.forEach(file -> addChange(file, FileChangeType.Created));
+				}
+			} else if (event.kind() == ENTRY_DELETE) {
+				addChange(path, FileChangeType.Deleted);
+			} else if (!Files.isDirectory(path)) {
+				addChange(path, FileChangeType.Changed);
+			}
+		}
+		if (!key.reset()) {
+			synchronized (folders) {
+				folders.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Adds the given change to the pending changes, if the file is watched,
+	 * merging it with the pending change of the file.
+	 */
+	void addChange(Path path, FileChangeType type) {
+		if (!isWatched(path, type)) {
+			return;
+		}
+		FileChangeType previous = changes.get(path);
+		if (previous == FileChangeType.Created) {
+			if (type == FileChangeType.Deleted) {
+				changes.remove(path);
+			}
+			return;
+		}
+		if (previous == FileChangeType.Deleted && type == FileChangeType.Created) {
+			type = FileChangeType.Changed;
+		}
+		changes.put(path, type);
+	}
+
+	private boolean isWatched(Path path, FileChangeType type) {
+		for (Matcher matcher : matchers) {
+			if (matcher.matches(path, type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reports the pending changes.
+	 */
+	void flush() {
+		if (changes.isEmpty()) {
+			return;
+		}
+		List<FileEvent> events = new ArrayList<>(changes.size());
+		for (Map.Entry<Path, FileChangeType> change : changes.entrySet()) {
+			events.add(new FileEvent(ResourceUtils.fixURI(change.getKey().toUri()), change.getValue()));
+		}
+		changes.clear();
+		try {
+			listener.accept(new DidChangeWatchedFilesParams(events));
+		} catch (Exception e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Refreshes the whole workspace, as some changes were lost.
+	 */
+	private void refresh() {
+		JavaLanguageServerPlugin.logInfo("Native file watcher overflow, refreshing the workspace");
+		WorkspaceJob job = new WorkspaceJob("Refresh workspace") {
+			@Override
+			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+				ResourcesPlugin.getWorkspace().getRoot().refreshLocal(IResource.DEPTH_INFINITE, monitor);
+				return Status.OK_STATUS;
+			}
+		};
+		job.setRule(ResourcesPlugin.getWorkspace().getRoot());
+		job.schedule();
+	}
+
+	private static void notifyServer(DidChangeWatchedFilesParams params) {
+		BaseJDTLanguageServer protocol = JavaLanguageServerPlugin.getInstance().getProtocol();
+		if (protocol instanceof WorkspaceService) {
+			((WorkspaceService) protocol).didChangeWatchedFiles(params);
+		}
+	}
+
+	private static final class Matcher {
+		private final PathMatcher pathMatcher;
+		private final int kind;
+
+		Matcher(FileSystemWatcher watcher) {
+			this.pathMatcher = FileSystems.getDefault().getPathMatcher("glob:" + watcher.getGlobPattern());
+			this.kind = watcher.getKind() == null ? WatchKind.Create + WatchKind.Change + WatchKind.Delete : watcher.getKind();
+		}
+
+		boolean matches(Path path, FileChangeType type) {
+			int watchKind;
+			switch (type) {
+				case Created:
+					watchKind = WatchKind.Create;
+					break;
+				case Changed:
+					watchKind = WatchKind.Change;
+					break;
+				default:
+					watchKind = WatchKind.Delete;
+					break;
+			}
+			return (kind & watchKind) != 0 && pathMatcher.matches(path);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * A set of paths none of which contains another one, stored as a tree of
+ * segments so that checking whether a path is contained in one of them only
+ * costs a lookup per segment.
+ */
+final class PathTrie {
+
+	private final Node root = new Node();
+	private final Set<IPath> paths = new LinkedHashSet<>();
+
+	/**
+	 * Adds the given path, unless it's contained in one of the paths of this
+	 * set, and removes the paths it contains.
+	 *
+	 * @return whether the path was added
+	 */
+	boolean add(IPath path) {
+		Node node = root.getOrCreate(String.valueOf(path.getDevice()));
+		for (String segment : path.segments()) {
+			if (node.path != null) {
+				return false;
+			}
+			node = node.getOrCreate(segment);
+		}
+		if (node.path != null) {
+			return false;
+		}
+		node.removeAll(paths);
+		node.path = path;
+		paths.add(path);
+		return true;
+	}
+
+	/**
+	 * @return whether the given path is contained in one of the paths of this
+	 *         set
+	 */
+	boolean contains(IPath path) {
+		Node node = root.children.get(String.valueOf(path.getDevice()));
+		for (int i = 0; node != null; i++) {
+			if (node.path != null) {
+				return true;
+			}
+			if (i == path.segmentCount()) {
+				return false;
+			}
+			node = node.children.get(path.segment(i));
+		}
+		return false;
+	}
+
+	/**
+	 * @return the paths of this set, in the order they were added
+	 */
+	List<IPath> getPaths() {
+		return new ArrayList<>(paths);
+	}
+
+	boolean isEmpty() {
+		return paths.isEmpty();
+	}
+
+	private static final class Node {
+		private final Map<String, Node> children = new HashMap<>(4);
+		private IPath path;
+
+		private Node getOrCreate(String segment) {
+			return children.computeIfAbsent(segment, s -> new Node());
+		}
+
+		private void removeAll(Set<IPath> paths) {
+			for (Node child : children.values()) {
+				if (child.path != null) {
+					paths.remove(child.path);
+				}
+				child.removeAll(paths);
+			}
+			children.clear();
+		}
+	}
+}
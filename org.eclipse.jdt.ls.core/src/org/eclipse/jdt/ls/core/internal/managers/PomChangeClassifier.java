@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Classifies the changes of the <code>pom.xml</code> files, so that the Maven
+ * projects are only updated when the model they are built from changes.
+ *
+ * The sections of a POM (the children of its <code>project</code> element)
+ * are compared in a canonical form, without comments and whitespace, with
+ * the sections seen when the POM last changed. The changes are then
+ * classified as:
+ * <ul>
+ * <li>{@link Kind#UNKNOWN}: the POM can't be read, or wasn't seen before,
+ * the project and all its modules need to be updated,</li>
+ * <li>{@link Kind#NONE}: only comments, whitespace or descriptive sections
+ * (<code>name</code>, <code>description</code>, <code>developers</code>...)
+ * changed, the project doesn't need to be updated,</li>
+ * <li>{@link Kind#LOCAL}: only the <code>modules</code> changed, the project
+ * and its added modules need to be updated,</li>
+ * <li>{@link Kind#INHERITED}: a section which is inherited by the child
+ * projects (<code>properties</code>, <code>dependencies</code>,
+ * <code>build</code>...) changed, the project and the modules inheriting
+ * from it need to be updated.</li>
+ * </ul>
+ */
+public class PomChangeClassifier {
+
+	public enum Kind {
+		UNKNOWN, NONE, LOCAL, INHERITED
+	}
+
+	/**
+	 * The sections which don't change how the project is built.
+	 */
+	private static final Set<String> DESCRIPTIVE_SECTIONS = new HashSet<>(Arrays.asList("name", "description", "url", "inceptionYear", "organization", "licenses", "developers", "contributors", "mailingLists", "scm", "issueManagement",
+			"ciManagement", "distributionManagement", "reporting"));
+	private static final String MODULES = "modules";
+	private static final String PARENT = "parent";
+
+	private static final String SERIALIZATION_FILE_NAME = ".pom-sections";
+
+	/**
+	 * The change of a POM.
+	 */
+	public static final class PomChange {
+
+		private final Kind kind;
+		private final Set<String> sections;
+		private final List<String> addedModules;
+
+		private PomChange(Kind kind, Set<String> sections, List<String> addedModules) {
+			this.kind = kind;
+			this.sections = sections;
+			this.addedModules = addedModules;
+		}
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		/**
+		 * @return the changed sections, empty if there is no semantic change
+		 *         or the previous sections are unknown
+		 */
+		public Set<String> getSections() {
+			return sections;
+		}
+
+		/**
+		 * @return the modules which were added
+		 */
+		public List<String> getAddedModules() {
+			return addedModules;
+		}
+
+		@Override
+		public String toString() {
+			return kind + " " + sections;
+		}
+	}
+
+	private static final class PomSections implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Map<String, String> digests;
+		private final List<String> modules;
+		private final String parent;
+
+		private PomSections(Map<String, String> digests, List<String> modules, String parent) {
+			this.digests = digests;
+			this.modules = modules;
+			this.parent = parent;
+		}
+	}
+
+	private static final PomChange UNKNOWN = new PomChange(Kind.UNKNOWN, Collections.emptySet(), Collections.emptyList());
+
+	private final Map<String, PomSections> poms;
+	private final File stateFile;
+	private boolean dirty;
+
+	public PomChangeClassifier(File stateLocation) {
+		this.stateFile = new File(stateLocation, SERIALIZATION_FILE_NAME);
+		if (stateFile.isFile()) {
+			poms = deserializePoms();
+		} else {
+			poms = new HashMap<>();
+		}
+	}
+
+	/**
+	 * Compares the given POM with the POM seen by the previous call, and
+	 * records it for the next call. The recorded POMs are persisted by
+	 * {@link #save()}.
+	 *
+	 * @param pom
+	 *            the path of the <code>pom.xml</code> file
+	 * @return the change of the POM, {@link Kind#UNKNOWN} if the POM can't be
+	 *         read, or wasn't seen before
+	 */
+	public PomChange classify(Path pom) {
+		PomSections current = read(pom);
+		if (current == null) {
+			// keep the last valid POM for the next comparison
+			return UNKNOWN;
+		}
+		PomSections previous;
+		synchronized (poms) {
+			previous = poms.put(pom.toString(), current);
+			dirty = true;
+		}
+		if (previous == null) {
+			return UNKNOWN;
+		}
+		Set<String> sections = new LinkedHashSet<>();
+		Set<String> names = new LinkedHashSet<>(previous.digests.keySet());
+		names.addAll(current.digests.keySet());
+		for (String name : names) {
+			if (!DESCRIPTIVE_SECTIONS.contains(name) && !String.valueOf(previous.digests.get(name)).equals(String.valueOf(current.digests.get(name)))) {
+				sections.add(name);
+			}
+		}
+		List<String> addedModules = new ArrayList<>(current.modules);
+		addedModules.removeAll(previous.modules);
+		Kind kind;
+		if (sections.isEmpty()) {
+			kind = Kind.NONE;
+		} else if (sections.equals(Collections.singleton(MODULES))) {
+			kind = Kind.LOCAL;
+		} else {
+			kind = Kind.INHERITED;
+		}
+		return new PomChange(kind, sections, addedModules);
+	}
+
+	/**
+	 * Returns the parent declared by the given POM.
+	 *
+	 * @param pom
+	 *            the path of the <code>pom.xml</code> file
+	 * @return the <code>groupId:artifactId</code> of the parent, or
+	 *         <code>null</code> if the POM has no parent or can't be read
+	 */
+	public String getParent(Path pom) {
+		PomSections sections;
+		synchronized (poms) {
+			sections = poms.get(pom.toString());
+		}
+		if (sections == null) {
+			sections = read(pom);
+		}
+		return sections == null ? null : sections.parent;
+	}
+
+	/**
+	 * Persists the POMs recorded since the last call.
+	 */
+	public void save() {
+		synchronized (poms) {
+			if (dirty) {
+				serializePoms();
+				dirty = false;
+			}
+		}
+	}
+
+	private static PomSections read(Path pom) {
+		Element project;
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+			factory.setIgnoringComments(true);
+			project = factory.newDocumentBuilder().parse(pom.toFile()).getDocumentElement();
+		} catch (ParserConfigurationException | SAXException | IOException e) {
+			JavaLanguageServerPlugin.logInfo("Cannot classify the changes of " + pom + ": " + e.getMessage());
+			return null;
+		}
+		Map<String, StringBuilder> sections = new LinkedHashMap<>();
+		List<String> modules = new ArrayList<>();
+		String parent = null;
+		for (Element section : getChildren(project)) {
+			String name = section.getLocalName() == null ? section.getTagName() : section.getLocalName();
+			canonicalize(section, sections.computeIfAbsent(name, k -> new StringBuilder()));
+			if (MODULES.equals(name)) {
+				for (Element module : getChildren(section)) {
+					modules.add(module.getTextContent().trim());
+				}
+			} else if (PARENT.equals(name)) {
+				parent = getChildText(section, "groupId") + ":" + getChildText(section, "artifactId");
+			}
+		}
+		Map<String, String> digests = new HashMap<>();
+		try {
+			for (Map.Entry<String, StringBuilder> section : sections.entrySet()) {
+				digests.put(section.getKey(), digest(section.getValue().toString()));
+			}
+		} catch (NoSuchAlgorithmException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			return null;
+		}
+		return new PomSections(digests, modules, parent);
+	}
+
+	/**
+	 * Appends the element without the comments, the whitespace and the order of
+	 * the attributes.
+	 */
+	private static void canonicalize(Element element, StringBuilder builder) {
+		builder.append('<').append(element.getTagName());
+		NamedNodeMap attributes = element.getAttributes();
+		Map<String, String> sortedAttributes = new TreeMap<>();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Node attribute = attributes.item(i);
+			sortedAttributes.put(attribute.getNodeName(), attribute.getNodeValue());
+		}
+		sortedAttributes.forEach((name, value) -> builder.append(' ').append(name).append("=\"").append(value).append('"'));
+		builder.append('>');
+		NodeList children = element.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				canonicalize((Element) child, builder);
+			} else if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+				builder.append(child.getNodeValue().trim());
+			}
+		}
+		builder.append("</").append(element.getTagName()).append('>');
+	}
+
+	private static List<Element> getChildren(Element element) {
+		List<Element> result = new ArrayList<>();
+		NodeList children = element.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+				result.add((Element) children.item(i));
+			}
+		}
+		return result;
+	}
+
+	private static String getChildText(Element element, String name) {
+		for (Element child : getChildren(element)) {
+			if (name.equals(child.getTagName())) {
+				return child.getTextContent().trim();
+			}
+		}
+		return null;
+	}
+
+	private static String digest(String content) throws NoSuchAlgorithmException {
+		byte[] digest = MessageDigest.getInstance("MD5").digest(content.getBytes(StandardCharsets.UTF_8));
+		return Arrays.toString(digest);
+	}
+
+	private void serializePoms() {
+		try (ObjectOutputStream outStream = new ObjectOutputStream(new FileOutputStream(stateFile))) {
+			outStream.writeObject(poms);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while serialization of pom sections", e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, PomSections> deserializePoms() {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(stateFile))) {
+			return (Map<String, PomSections>) ois.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of pom sections", e);
+			return new HashMap<>();
+		}
+	}
+}
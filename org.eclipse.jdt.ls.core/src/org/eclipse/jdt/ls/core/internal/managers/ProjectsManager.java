@@ -22,12 +22,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -51,6 +55,7 @@ import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
@@ -75,7 +80,10 @@ import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.ServiceStatus;
 import org.eclipse.jdt.ls.core.internal.StatusFactory;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseInitHandler;
+import org.eclipse.jdt.ls.core.internal.managers.BasicFileDetector.ListingCache;
+import org.eclipse.jdt.ls.core.internal.metrics.StartupTimeline;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 
 public abstract class ProjectsManager implements ISaveParticipant, IProjectsManager {
 
@@ -87,6 +95,7 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 
 	private PreferenceManager preferenceManager;
 	protected JavaLanguageClient client;
+	private final UpdateProjectsJob updateProjectsJob = new UpdateProjectsJob(this);
 
 	public enum CHANGE_TYPE {
 		CREATED, CHANGED, DELETED
@@ -104,8 +113,18 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 		cleanupResources(getDefaultProject());
 		Collection<IPath> projectConfigurations = preferenceManager.getPreferences().getProjectConfigurations();
 		if (projectConfigurations == null) {
-			// old way to import project
-			importProjects(rootPaths, subMonitor.split(70));
+			WorkspaceSnapshot snapshot = JavaLanguageServerPlugin.getWorkspaceSnapshot();
+			if (snapshot != null && snapshot.isValid(rootPaths, getImportSettings())) {
+				JavaLanguageServerPlugin.logInfo("Build files unchanged since the last import, skipping the import of " + rootPaths.size() + " root folder(s)");
+				validateWorkspaceSnapshot(snapshot);
+			} else {
+				if (snapshot != null) {
+					snapshot.invalidate();
+				}
+				// old way to import project
+				importProjects(rootPaths, subMonitor.split(65));
+				saveWorkspaceSnapshot(rootPaths, subMonitor.split(5));
+			}
 		} else {
 			importProjectsFromConfigurationFiles(rootPaths, projectConfigurations, monitor);
 		}
@@ -113,21 +132,168 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 	}
 
 	protected void importProjects(Collection<IPath> rootPaths, IProgressMonitor monitor) throws CoreException, OperationCanceledException {
-		SubMonitor subMonitor = SubMonitor.convert(monitor, rootPaths.size() * 100);
+		SubMonitor subMonitor = SubMonitor.convert(monitor, rootPaths.size() * 100 + 10);
+		Map<IPath, Collection<IProjectImporter>> rootImporters;
+		try (StartupTimeline.Phase phase = StartupTimeline.phase("Detect projects")) {
+			rootImporters = discoverProjects(rootPaths, subMonitor.split(10));
+		}
+		int index = 0;
 		for (IPath rootPath : rootPaths) {
+			subMonitor.checkCanceled();
 			File rootFolder = rootPath.toFile();
-			for (IProjectImporter importer : importers()) {
-				importer.initialize(rootFolder);
-				if (importer.applies(subMonitor.split(1))) {
-					importer.importToWorkspace(subMonitor.split(70));
-					if (importer.isResolved(rootFolder)) {
-						break;
+			if (rootPaths.size() > 1) {
+				subMonitor.setTaskName("Importing " + rootFolder.getName() + " (" + (++index) + "/" + rootPaths.size() + ")");
+			}
+			long start = System.currentTimeMillis();
+			SubMonitor rootMonitor = subMonitor.split(100);
+			Collection<IProjectImporter> importers = rootImporters.get(rootPath);
+			rootMonitor.setWorkRemaining(importers.size() * 71);
+			try (StartupTimeline.Phase phase = StartupTimeline.phase("Import " + rootFolder.getName())) {
+				for (IProjectImporter importer : importers) {
+					importer.initialize(rootFolder);
+					if (importer.applies(rootMonitor.split(1))) {
+						importer.importToWorkspace(rootMonitor.split(70));
+						if (importer.isResolved(rootFolder)) {
+							break;
+						}
+					}
+				}
+			}
+			JavaLanguageServerPlugin.logInfo("Imported " + rootFolder + " in " + (System.currentTimeMillis() - start) + "ms");
+		}
+	}
+
+	/**
+	 * Runs the workspace independent part of the project detection of all the
+	 * importers, for all the root folders, concurrently. The projects are still
+	 * imported one root at a time, as importing requires the workspace root
+	 * scheduling rule held by the calling job.
+	 *
+	 * @return the initialized importers of each root path
+	 */
+	private Map<IPath, Collection<IProjectImporter>> discoverProjects(Collection<IPath> rootPaths, IProgressMonitor monitor) {
+		Map<IPath, Collection<IProjectImporter>> rootImporters = new LinkedHashMap<>();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		IProgressMonitor cancelMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return monitor.isCanceled();
+			}
+		};
+		for (IPath rootPath : rootPaths) {
+			Collection<IProjectImporter> importers = importers();
+			for (IProjectImporter importer : importers) {
+				importer.initialize(rootPath.toFile());
+				tasks.add(() -> {
+					try {
+						importer.discover(cancelMonitor);
+					} catch (CoreException e) {
+						// the importer will scan again when checking whether it applies
+						JavaLanguageServerPlugin.logException("Failed to discover projects in " + rootPath, e);
+					}
+					return null;
+				});
+			}
+			rootImporters.put(rootPath, importers);
+		}
+		int threads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+		long start = System.currentTimeMillis();
+		// the importers look for different files in the same folders
+		try (ListingCache cache = BasicFileDetector.openListingCache()) {
+			if (threads <= 1) {
+				tasks.forEach(task -> {
+					try {
+						task.call();
+					} catch (Exception e) {
+						JavaLanguageServerPlugin.logException(e.getMessage(), e);
+					}
+				});
+				return rootImporters;
+			}
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				executor.invokeAll(tasks);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+		JavaLanguageServerPlugin.logInfo("Discovered projects of " + rootPaths.size() + " root folder(s) in " + (System.currentTimeMillis() - start) + "ms");
+		return rootImporters;
+	}
+
+	/**
+	 * Checks, in the background, whether build files were added or removed
+	 * since the workspace snapshot was saved, and imports the projects again
+	 * if so.
+	 */
+	private void validateWorkspaceSnapshot(WorkspaceSnapshot snapshot) {
+		Job job = new Job("Validating workspace snapshot") {
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return IConstants.JOBS_FAMILY.equals(family);
+			}
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					long start = System.currentTimeMillis();
+					if (snapshot.hasBuildFileChanges(monitor)) {
+						JavaLanguageServerPlugin.logInfo("Build files were added or removed since the last import, importing projects again");
+						snapshot.invalidate();
+						importProjects(monitor);
+					} else {
+						JavaLanguageServerPlugin.logInfo("Validated workspace snapshot in " + (System.currentTimeMillis() - start) + "ms");
 					}
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (CoreException e) {
+					snapshot.invalidate();
+					return new Status(Status.ERROR, IConstants.PLUGIN_ID, "Validating workspace snapshot failed.", e);
 				}
+				return Status.OK_STATUS;
 			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	private void saveWorkspaceSnapshot(Collection<IPath> rootPaths, IProgressMonitor monitor) {
+		WorkspaceSnapshot snapshot = JavaLanguageServerPlugin.getWorkspaceSnapshot();
+		if (snapshot != null) {
+			snapshot.save(rootPaths, getImportSettings(), monitor);
 		}
 	}
 
+	/**
+	 * @return the settings which, when changed, require the projects to be
+	 *         imported again
+	 */
+	private String getImportSettings() {
+		Preferences preferences = preferenceManager.getPreferences();
+		//@formatter:off
+		return Stream.of(JavaLanguageServerPlugin.getVersion(),
+				preferences.isImportMavenEnabled(),
+				preferences.getMavenUserSettings(),
+				preferences.getMavenGlobalSettings(),
+				preferences.isImportGradleEnabled(),
+				preferences.isImportGradleOfflineEnabled(),
+				preferences.isGradleWrapperEnabled(),
+				preferences.getGradleVersion(),
+				preferences.getGradleHome(),
+				preferences.getGradleJavaHome(),
+				preferences.getGradleUserHome(),
+				preferences.getGradleArguments(),
+				preferences.getGradleJvmArguments(),
+				preferences.getJavaImportExclusions())
+				.map(String::valueOf)
+				.collect(Collectors.joining("|"));
+		//@formatter:on
+	}
+
 	protected void importProjectsFromConfigurationFiles(Collection<IPath> rootPaths, Collection<IPath> projectConfigurations, IProgressMonitor monitor) throws OperationCanceledException, CoreException {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, rootPaths.size() * 100);
 		for (IPath rootPath : rootPaths) {
@@ -147,7 +313,9 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 			@Override
 			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
 				try {
-					importProjects(preferenceManager.getPreferences().getRootPaths(), monitor);
+					Collection<IPath> rootPaths = preferenceManager.getPreferences().getRootPaths();
+					importProjects(rootPaths, monitor);
+					saveWorkspaceSnapshot(rootPaths, monitor);
 				} catch (OperationCanceledException e) {
 					return Status.CANCEL_STATUS;
 				} catch (CoreException e) {
@@ -190,7 +358,7 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 			@Override
 			public IStatus runInWorkspace(IProgressMonitor monitor) {
 				IStatus status = Status.OK_STATUS;
-				SubMonitor subMonitor = SubMonitor.convert(monitor, addedRootPaths.size() + removedRootPaths.size());
+				SubMonitor subMonitor = SubMonitor.convert(monitor, addedRootPaths.size() + removedRootPaths.size() + 1);
 				try {
 					long start = System.currentTimeMillis();
 					IProject[] projects = getWorkspaceRoot().getProjects();
@@ -204,6 +372,8 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 						}
 					}
 					importProjects(addedRootPaths, subMonitor.split(addedRootPaths.size()));
+					// the next start compares the workspace with the current root folders
+					saveWorkspaceSnapshot(preferenceManager.getPreferences().getRootPaths(), subMonitor.split(1));
 					registerWatchers(true);
 					long elapsed = System.currentTimeMillis() - start;
 
@@ -357,38 +527,7 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 		}
 
 		JavaLanguageServerPlugin.sendStatus(ServiceStatus.Message, "Updating " + project.getName() + " configuration");
-		WorkspaceJob job = new WorkspaceJob("Update project " + project.getName()) {
-
-			@Override
-			public boolean belongsTo(Object family) {
-				return IConstants.UPDATE_PROJECT_FAMILY.equals(family) || (IConstants.JOBS_FAMILY + "." + project.getName()).equals(family) || IConstants.JOBS_FAMILY.equals(family);
-			}
-
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) {
-				IStatus status = Status.OK_STATUS;
-				String projectName = project.getName();
-				SubMonitor progress = SubMonitor.convert(monitor, 100).checkCanceled();
-				try {
-					long start = System.currentTimeMillis();
-					project.refreshLocal(IResource.DEPTH_INFINITE, progress.split(5));
-					Optional<IBuildSupport> buildSupport = getBuildSupport(project);
-					if (buildSupport.isPresent()) {
-						buildSupport.get().update(project, force, progress.split(95));
-						registerWatchers(true);
-					}
-					long elapsed = System.currentTimeMillis() - start;
-					JavaLanguageServerPlugin.logInfo("Updated " + projectName + " in " + elapsed + " ms");
-				} catch (CoreException e) {
-					String msg = "Error updating " + projectName;
-					JavaLanguageServerPlugin.logError(msg);
-					status = StatusFactory.newErrorStatus(msg, e);
-				}
-				return status;
-			}
-		};
-		job.schedule();
-		return job;
+		return updateProjectsJob.update(project, force);
 	}
 
 	@Override
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.xml.sax.InputSource;
+
+/**
+ * Caches the formatter profiles and the settings read by
+ * {@link StandardProjectsManager#configureSettings(org.eclipse.jdt.ls.core.internal.preferences.Preferences)},
+ * so that they are only parsed again when their file changes. Only local files
+ * are cached, since the modification time of a remote file can't be known
+ * without downloading it.
+ */
+final class SettingsFileCache {
+
+	private static final Map<List<Object>, Entry> cache = new ConcurrentHashMap<>();
+
+	private interface Reader<T> {
+		T read(InputStream inputStream) throws Exception;
+	}
+
+	private SettingsFileCache() {
+	}
+
+	/**
+	 * @return the options of the given profile of the given formatter settings
+	 *         file
+	 */
+	static Map<String, String> getFormatterOptions(URI uri, String profileName) throws Exception {
+		Map<String, String> options = get(uri, Arrays.asList(uri, profileName), inputStream -> FormatterManager.readSettingsFromStream(new InputSource(inputStream), profileName));
+		return options == null ? null : new HashMap<>(options);
+	}
+
+	/**
+	 * @return the properties of the given settings file
+	 */
+	static Properties getSettings(URI uri) throws Exception {
+		Properties properties = get(uri, Arrays.asList(uri), inputStream -> {
+			Properties result = new Properties();
+			result.load(inputStream);
+			return result;
+		});
+		return (Properties) properties.clone();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T get(URI uri, List<Object> key, Reader<T> reader) throws Exception {
+		long stamp = getStamp(uri);
+		if (stamp != 0) {
+			Entry entry = cache.get(key);
+			if (entry != null && entry.stamp == stamp) {
+				return (T) entry.value;
+			}
+		}
+		T value;
+		try (InputStream inputStream = uri.toURL().openStream()) {
+			value = reader.read(inputStream);
+		}
+		if (stamp != 0) {
+			cache.put(key, new Entry(stamp, value));
+		} else {
+			cache.remove(key);
+		}
+		return value;
+	}
+
+	/**
+	 * @return a stamp which changes with the content of the given file, or 0 if
+	 *         it can't be computed
+	 */
+	private static long getStamp(URI uri) {
+		if (!"file".equals(uri.getScheme())) {
+			return 0;
+		}
+		File file = new File(uri);
+		long lastModified = file.lastModified();
+		return lastModified == 0 ? 0 : lastModified * 31 + file.length();
+	}
+
+	private static class Entry {
+		private final long stamp;
+		private final Object value;
+
+		Entry(long stamp, Object value) {
+			this.stamp = stamp;
+			this.value = value;
+		}
+	}
+}
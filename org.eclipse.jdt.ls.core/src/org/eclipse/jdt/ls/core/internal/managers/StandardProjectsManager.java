@@ -15,10 +15,9 @@ package org.eclipse.jdt.ls.core.internal.managers;
 
 import static java.util.Arrays.asList;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
-import static org.eclipse.jdt.ls.core.internal.ResourceUtils.isContainedIn;
 
 import java.io.File;
-import java.io.InputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
@@ -26,7 +25,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -45,6 +43,7 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
@@ -81,18 +80,18 @@ import org.eclipse.jdt.ls.core.internal.preferences.IPreferencesChangeListener;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.FeatureStatus;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferencesDiff;
 import org.eclipse.lsp4j.Command;
-import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
 import org.eclipse.lsp4j.FileSystemWatcher;
 import org.eclipse.lsp4j.MessageType;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.WatchKind;
-import org.xml.sax.InputSource;
 
 public class StandardProjectsManager extends ProjectsManager {
 	private final static String FORMATTER_OPTION_PREFIX = JavaCore.PLUGIN_ID + ".formatter"; //$NON-NLS-1$
 	protected static final String BUILD_SUPPORT_EXTENSION_POINT_ID = "buildSupport";
-	private static final Set<String> watchers = new LinkedHashSet<>();
+	private static final FileWatcherRegistry watchers = new FileWatcherRegistry();
+	private static NativeFileWatcher nativeWatcher = new NativeFileWatcher();
 	private PreferenceManager preferenceManager;
 	//@formatter:off
 	private static final List<String> basicWatchers = Arrays.asList(
@@ -229,6 +228,11 @@ public class StandardProjectsManager extends ProjectsManager {
 
 				boolean requireConfigurationUpdate = buildSupport.fileChanged(resource, changeType, new NullProgressMonitor());
 				if (requireConfigurationUpdate) {
+					// the snapshot can't tell whether the change was applied
+					WorkspaceSnapshot snapshot = JavaLanguageServerPlugin.getWorkspaceSnapshot();
+					if (snapshot != null) {
+						snapshot.invalidate();
+					}
 					FeatureStatus status = preferenceManager.getPreferences().getUpdateBuildConfigurationStatus();
 					switch (status) {
 						case automatic:
@@ -264,22 +268,20 @@ public class StandardProjectsManager extends ProjectsManager {
 		URI settingsUri = preferences.getSettingsAsURI();
 		Properties properties = null;
 		if (settingsUri != null) {
-			try (InputStream inputStream = settingsUri.toURL().openStream()) {
-				properties = new Properties();
-				properties.load(inputStream);
+			try {
+				properties = SettingsFileCache.getSettings(settingsUri);
 			} catch (Exception e) {
 				JavaLanguageServerPlugin.logException(e.getMessage(), e);
 				return;
 			}
 		}
+		Hashtable<String, String> oldOptions = JavaCore.getOptions();
 		initializeDefaultOptions(preferences);
 		URI formatterUri = preferences.getFormatterAsURI();
 		Map<String, String> formatterOptions = null;
 		if (formatterUri != null) {
-			try (InputStream inputStream = formatterUri.toURL().openStream()) {
-				InputSource inputSource = new InputSource(inputStream);
-				String profileName = preferences.getFormatterProfileName();
-				formatterOptions = FormatterManager.readSettingsFromStream(inputSource, profileName);
+			try {
+				formatterOptions = SettingsFileCache.getFormatterOptions(formatterUri, preferences.getFormatterProfileName());
 			} catch (Exception e) {
 				JavaLanguageServerPlugin.logException(e.getMessage(), e);
 			}
@@ -307,6 +309,10 @@ public class StandardProjectsManager extends ProjectsManager {
 			});
 		}
 		JavaCore.setOptions(javaOptions);
+		if (javaOptions.equals(oldOptions)) {
+			// the projects were built with the same options
+			return;
+		}
 		new WorkspaceJob("Clean workspace...") {
 
 			@Override
@@ -382,10 +388,11 @@ public class StandardProjectsManager extends ProjectsManager {
 	@Override
 	public List<FileSystemWatcher> registerWatchers() {
 		logInfo(">> registerWatchers'");
-		if (preferenceManager.getClientPreferences().isWorkspaceChangeWatchedFilesDynamicRegistered()) {
+		boolean nativeWatching = preferenceManager.getPreferences().isNativeFileWatcherEnabled();
+		if (nativeWatching || preferenceManager.getClientPreferences().isWorkspaceChangeWatchedFilesDynamicRegistered()) {
 			Set<String> patterns = new LinkedHashSet<>(basicWatchers);
 			buildSupports().forEach(e -> e.getWatchPatterns().forEach(patterns::add));
-			Set<IPath> sources = new HashSet<>();
+			PathTrie sources = new PathTrie();
 			IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
 			try {
 				for (IProject project : projects) {
@@ -402,7 +409,7 @@ public class StandardProjectsManager extends ProjectsManager {
 									IFolder folder = ResourcesPlugin.getWorkspace().getRoot().getFolder(path);
 									if (folder.exists() && !folder.isDerived()) {
 										IPath location = folder.getLocation();
-										if (location != null && !isContainedIn(location, sources)) {
+										if (location != null) {
 											sources.add(location);
 										}
 									}
@@ -414,7 +421,7 @@ public class StandardProjectsManager extends ProjectsManager {
 								IFile resource = ResourcesPlugin.getWorkspace().getRoot().getFile(path);
 								if (resource != null && !resource.isDerived()) {
 									IPath location = resource.getLocation();
-									if (location != null && !isContainedIn(location, sources)) {
+									if (location != null) {
 										sources.add(location);
 									}
 								}
@@ -434,8 +441,9 @@ public class StandardProjectsManager extends ProjectsManager {
 				JavaLanguageServerPlugin.logException(e.getMessage(), e);
 			}
 			List<FileSystemWatcher> fileWatchers = new ArrayList<>();
-			patterns.addAll(sources.stream().map(ResourceUtils::toGlobPattern).collect(Collectors.toList()));
-			sources.clear();
+			List<IPath> locations = new ArrayList<>(sources.getPaths());
+			patterns.addAll(locations.stream().map(ResourceUtils::toGlobPattern).collect(Collectors.toList()));
+			sources = new PathTrie();
 			URI formatter = preferenceManager.getPreferences().getFormatterAsURI();
 			if (formatter == null && preferenceManager.getPreferences().getFormatterUrl() != null) {
 				List<URI> uris = getURIs(preferenceManager.getPreferences().getFormatterUrl());
@@ -454,7 +462,8 @@ public class StandardProjectsManager extends ProjectsManager {
 			} else {
 				addWatcher(settings, sources);
 			}
-			patterns.addAll(sources.stream().map(p -> ResourceUtils.toGlobPattern(p, false)).collect(Collectors.toList()));
+			locations.addAll(sources.getPaths());
+			patterns.addAll(sources.getPaths().stream().map(p -> ResourceUtils.toGlobPattern(p, false)).collect(Collectors.toList()));
 			for (String pattern : patterns) {
 				FileSystemWatcher watcher = new FileSystemWatcher(pattern);
 				fileWatchers.add(watcher);
@@ -468,19 +477,107 @@ public class StandardProjectsManager extends ProjectsManager {
 				}
 			}
 
-			if (!patterns.equals(watchers)) {
-				logInfo(">> registerFeature 'workspace/didChangeWatchedFiles'");
-				DidChangeWatchedFilesRegistrationOptions didChangeWatchedFilesRegistrationOptions = new DidChangeWatchedFilesRegistrationOptions(fileWatchers);
-				JavaLanguageServerPlugin.getInstance().unregisterCapability(Preferences.WORKSPACE_WATCHED_FILES_ID, Preferences.WORKSPACE_WATCHED_FILES);
-				JavaLanguageServerPlugin.getInstance().registerCapability(Preferences.WORKSPACE_WATCHED_FILES_ID, Preferences.WORKSPACE_WATCHED_FILES, didChangeWatchedFilesRegistrationOptions);
-				watchers.clear();
-				watchers.addAll(patterns);
+			if (nativeWatching && watchNatively(projects, locations, fileWatchers)) {
+				watchers.update(Collections.emptyList());
+			} else {
+				nativeWatcher.close();
+				if (preferenceManager.getClientPreferences().isWorkspaceChangeWatchedFilesDynamicRegistered()) {
+					watchers.update(fileWatchers);
+				}
 			}
 			return fileWatchers;
 		}
+		nativeWatcher.close();
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Watches the files matching the given watchers on the server side, in the
+	 * root folders, the projects and the given locations, except the derived
+	 * folders of the projects.
+	 *
+	 * @return whether the files are watched, if not the watchers must be
+	 *         registered with the client
+	 */
+	private boolean watchNatively(IProject[] projects, List<IPath> locations, List<FileSystemWatcher> fileWatchers) {
+		List<IPath> folders = new ArrayList<>(locations);
+		Collection<IPath> rootPaths = preferenceManager.getPreferences().getRootPaths();
+		if (rootPaths != null) {
+			folders.addAll(rootPaths);
+		}
+		List<IPath> derivedFolders = new ArrayList<>();
+		for (IProject project : projects) {
+			if (!DEFAULT_PROJECT_NAME.equals(project.getName()) && project.exists()) {
+				IPath folder = ProjectUtils.getProjectRealFolder(project);
+				if (folder != null) {
+					folders.add(folder);
+				}
+				addDerivedFolders(project, derivedFolders);
+			}
+		}
+		try {
+			nativeWatcher.watch(folders, derivedFolders, fileWatchers);
+			return true;
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Failed to watch the files natively, falling back to the client file watchers", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the locations of the output folders of the project, of its derived
+	 * folders, and of the build folder of its build tool, which may not exist
+	 * yet.
+	 */
+	private static void addDerivedFolders(IProject project, List<IPath> derivedFolders) {
+		if (!project.isAccessible() || project.getLocation() == null) {
+			return;
+		}
+		Set<IPath> paths = new LinkedHashSet<>();
+		if (ProjectUtils.isMavenProject(project)) {
+			paths.add(project.getFolder("target").getFullPath());
+		}
+		if (ProjectUtils.isGradleProject(project)) {
+			paths.add(project.getFolder("build").getFullPath());
+		}
+		try {
+			for (IResource member : project.members()) {
+				if (member.getType() == IResource.FOLDER && member.isDerived()) {
+					paths.add(member.getFullPath());
+				}
+			}
+			if (ProjectUtils.isJavaProject(project)) {
+				IJavaProject javaProject = JavaCore.create(project);
+				paths.add(javaProject.getOutputLocation());
+				for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+					if (entry.getEntryKind() == IClasspathEntry.CPE_SOURCE && entry.getOutputLocation() != null) {
+						paths.add(entry.getOutputLocation());
+					}
+				}
+			}
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		}
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		for (IPath path : paths) {
+			// the project itself can be its output folder
+			if (path.segmentCount() > 1) {
+				IPath location = root.getFolder(path).getLocation();
+				if (location != null) {
+					derivedFolders.add(location);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces the native file watcher, for tests.
+	 */
+	static void setNativeFileWatcher(NativeFileWatcher watcher) {
+		nativeWatcher.close();
+		nativeWatcher = watcher;
+	}
+
 	private List<URI> getURIs(String url) {
 		if (url == null) {
 			return Collections.emptyList();
@@ -515,14 +612,11 @@ public class StandardProjectsManager extends ProjectsManager {
 		return result;
 	}
 
-	private void addWatcher(URI uri, Set<IPath> sources) {
+	private void addWatcher(URI uri, PathTrie sources) {
 		if (uri != null && "file".equals(uri.getScheme())) {
 			File file = new File(uri);
 			if (file != null) {
-				IPath path = new Path(file.getAbsolutePath());
-				if (!isContainedIn(path, sources)) {
-					sources.add(path);
-				}
+				sources.add(new Path(file.getAbsolutePath()));
 			}
 		}
 	}
@@ -538,11 +632,11 @@ public class StandardProjectsManager extends ProjectsManager {
 						registerWatcherJob.schedule(100L);
 						UpdateClasspathJob.getInstance().updateClasspath();
 					}
-					if (!Objects.equals(oldPreferences.getFormatterUrl(), newPreferences.getFormatterUrl()) || !Objects.equals(oldPreferences.getSettingsUrl(), newPreferences.getSettingsUrl())) {
+					if (!Objects.equals(oldPreferences.getFormatterUrl(), newPreferences.getFormatterUrl()) || !Objects.equals(oldPreferences.getSettingsUrl(), newPreferences.getSettingsUrl())
+							|| oldPreferences.isNativeFileWatcherEnabled() != newPreferences.isNativeFileWatcherEnabled()) {
 						registerWatcherJob.schedule(100L);
 					}
-					if (!Objects.equals(oldPreferences.getFormatterUrl(), newPreferences.getFormatterUrl()) || !Objects.equals(oldPreferences.getFormatterProfileName(), newPreferences.getFormatterProfileName())
-							|| !Objects.equals(oldPreferences.getSettingsUrl(), newPreferences.getSettingsUrl())) {
+					if (PreferencesDiff.Group.SETTINGS.hasChanged(oldPreferences, newPreferences)) {
 						configureSettings(newPreferences);
 					}
 					if (!Objects.equals(oldPreferences.getResourceFilters(), newPreferences.getResourceFilters())) {
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.ls.core.internal.IConstants;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.StatusFactory;
+
+/**
+ * Updates the configuration of the projects. The updates requested shortly
+ * one after the other, or while an update is running, are merged: each
+ * project is refreshed once, the projects are handed to their build support
+ * together, so that it can update the projects they share only once, and the
+ * file watchers are registered once, at the end.
+ */
+final class UpdateProjectsJob extends WorkspaceJob {
+
+	/**
+	 * The time, in milliseconds, during which the update requests are merged
+	 */
+	private static final long DELAY = 200;
+
+	private final ProjectsManager projectsManager;
+	/**
+	 * The projects to update, and whether their update is forced
+	 */
+	private final Map<IProject, Boolean> pending = new LinkedHashMap<>();
+	private final Set<String> projectNames = new HashSet<>();
+
+	UpdateProjectsJob(ProjectsManager projectsManager) {
+		super("Update projects");
+		this.projectsManager = projectsManager;
+	}
+
+	/**
+	 * Requests the update of the given project.
+	 *
+	 * @return this job
+	 */
+	UpdateProjectsJob update(IProject project, boolean force) {
+		synchronized (pending) {
+			pending.merge(project, force, Boolean::logicalOr);
+			projectNames.add(project.getName());
+		}
+		schedule(DELAY);
+		return this;
+	}
+
+	@Override
+	public boolean belongsTo(Object family) {
+		if (IConstants.UPDATE_PROJECT_FAMILY.equals(family) || IConstants.JOBS_FAMILY.equals(family)) {
+			return true;
+		}
+		String prefix = IConstants.JOBS_FAMILY + ".";
+		if (family instanceof String && ((String) family).startsWith(prefix)) {
+			synchronized (pending) {
+				return projectNames.contains(((String) family).substring(prefix.length()));
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public IStatus runInWorkspace(IProgressMonitor monitor) {
+		Map<IProject, Boolean> requests;
+		synchronized (pending) {
+			requests = new LinkedHashMap<>(pending);
+			pending.clear();
+		}
+		try {
+			return update(requests, monitor);
+		} finally {
+			synchronized (pending) {
+				projectNames.clear();
+				pending.keySet().forEach(project -> projectNames.add(project.getName()));
+			}
+		}
+	}
+
+	private IStatus update(Map<IProject, Boolean> requests, IProgressMonitor monitor) {
+		IStatus status = Status.OK_STATUS;
+		SubMonitor progress = SubMonitor.convert(monitor, requests.size() * 5 + 100).checkCanceled();
+		long start = System.currentTimeMillis();
+		// the projects to update by build support, the forced updates first
+		Map<Class<?>, IBuildSupport> buildSupports = new LinkedHashMap<>();
+		Map<Class<?>, List<IProject>> forced = new LinkedHashMap<>();
+		Map<Class<?>, List<IProject>> unforced = new LinkedHashMap<>();
+		for (Map.Entry<IProject, Boolean> request : requests.entrySet()) {
+			IProject project = request.getKey();
+			try {
+				project.refreshLocal(IResource.DEPTH_INFINITE, progress.split(5));
+			} catch (CoreException e) {
+				String msg = "Error updating " + project.getName();
+				JavaLanguageServerPlugin.logError(msg);
+				status = StatusFactory.newErrorStatus(msg, e);
+				continue;
+			}
+			Optional<IBuildSupport> buildSupport = projectsManager.getBuildSupport(project);
+			if (buildSupport.isPresent()) {
+				Class<?> key = buildSupport.get().getClass();
+				buildSupports.putIfAbsent(key, buildSupport.get());
+				(request.getValue() ? forced : unforced).computeIfAbsent(key, k -> new ArrayList<>()).add(project);
+			}
+		}
+		if (buildSupports.isEmpty()) {
+			return status;
+		}
+		progress.setWorkRemaining(forced.size() + unforced.size());
+		for (Map<Class<?>, List<IProject>> updates : Arrays.asList(forced, unforced)) {
+			for (Map.Entry<Class<?>, List<IProject>> update : updates.entrySet()) {
+				List<IProject> projects = update.getValue();
+				try {
+					buildSupports.get(update.getKey()).update(projects, updates == forced, progress.split(1));
+				} catch (CoreException e) {
+					String msg = "Error updating " + projects.stream().map(IProject::getName).reduce((p1, p2) -> p1 + ", " + p2).orElse("");
+					JavaLanguageServerPlugin.logError(msg);
+					status = StatusFactory.newErrorStatus(msg, e);
+				}
+			}
+		}
+		projectsManager.registerWatchers(true);
+		JavaLanguageServerPlugin.getJarIdentityIndex().scheduleClasspathIndexing();
+		long elapsed = System.currentTimeMillis() - start;
+		JavaLanguageServerPlugin.logInfo("Updated " + requests.size() + " project(s) in " + elapsed + " ms");
+		return status;
+	}
+}
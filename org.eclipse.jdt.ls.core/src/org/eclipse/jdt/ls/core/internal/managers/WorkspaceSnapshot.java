@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.StatusFactory;
+
+/**
+ * Persists what the last full import of the workspace produced: the root
+ * folders, the imported projects, their source roots and a fingerprint of
+ * their build files.
+ *
+ * On restart, when nothing the import depends on has changed, the projects
+ * already saved in the workspace can be used as they are, and the import is
+ * only validated in the background (see
+ * {@link #hasBuildFileChanges(IProgressMonitor)}). The resolved classpaths
+ * are not part of the snapshot, the classpath containers are persisted by
+ * JDT, m2e and Buildship themselves.
+ */
+public class WorkspaceSnapshot {
+
+	private static final String SERIALIZATION_FILE_NAME = ".workspace-snapshot";
+
+	/**
+	 * The files which may change the outcome of a project import.
+	 */
+	private static final String[] BUILD_FILE_NAMES = { "pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts", "gradle.properties", ".project", ".classpath" };
+	/**
+	 * The other files of a project which may change the outcome of its import,
+	 * e.g. the Gradle version or the version catalog.
+	 */
+	private static final String[] BUILD_INPUTS = { "gradle/wrapper/gradle-wrapper.properties", "gradle/libs.versions.toml", ".mvn/maven.config", ".mvn/extensions.xml" };
+	/**
+	 * The folder of the Gradle build logic, all its sources are build inputs.
+	 */
+	private static final String BUILD_SRC = "buildSrc";
+
+	private final File stateFile;
+	private volatile State state;
+
+	public WorkspaceSnapshot(File stateLocation) {
+		this.stateFile = new File(stateLocation, SERIALIZATION_FILE_NAME);
+		if (stateFile.isFile()) {
+			state = deserializeState();
+		}
+	}
+
+	/**
+	 * Checks whether the projects of the workspace still match the snapshot,
+	 * i.e. the same root folders were imported with the same settings, all
+	 * the projects still exist and none of their build files changed.
+	 *
+	 * @param rootPaths
+	 *            the root folders to import
+	 * @param settings
+	 *            the import related settings
+	 * @return whether the workspace can be used without importing the projects
+	 *         again
+	 */
+	public boolean isValid(Collection<IPath> rootPaths, String settings) {
+		State current = state;
+		if (current == null || !current.rootPaths.equals(toStrings(rootPaths)) || !Objects.equals(current.settings, settings)) {
+			return false;
+		}
+		Set<String> projectNames = new HashSet<>();
+		for (IProject project : ProjectUtils.getAllProjects()) {
+			if (!project.equals(ProjectsManager.getDefaultProject())) {
+				projectNames.add(project.getName());
+			}
+		}
+		if (!projectNames.equals(current.projects.keySet())) {
+			return false;
+		}
+		for (Map.Entry<String, String> entry : current.projects.entrySet()) {
+			IProject project = ProjectUtils.getProject(entry.getKey());
+			if (project == null || !project.isAccessible()) {
+				return false;
+			}
+			IPath location = ProjectUtils.getProjectRealFolder(project);
+			if (location == null || !location.toOSString().equals(entry.getValue())) {
+				return false;
+			}
+		}
+		for (String sourceRoot : current.sourceRoots) {
+			if (!new File(sourceRoot).isDirectory()) {
+				return false;
+			}
+		}
+		try {
+			return current.buildFiles.equals(computeBuildFileDigests(current.projects.values()));
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Records the projects currently in the workspace. Must be called after all
+	 * the root folders were imported.
+	 *
+	 * @param rootPaths
+	 *            the imported root folders
+	 * @param settings
+	 *            the import related settings
+	 * @param monitor
+	 *            the progress monitor
+	 */
+	public void save(Collection<IPath> rootPaths, String settings, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
+		try {
+			State newState = new State();
+			newState.rootPaths = toStrings(rootPaths);
+			newState.settings = settings;
+			for (IProject project : ProjectUtils.getAllProjects()) {
+				if (project.equals(ProjectsManager.getDefaultProject())) {
+					continue;
+				}
+				IPath location = ProjectUtils.getProjectRealFolder(project);
+				if (location == null) {
+					// the projects can't be validated on restart
+					invalidate();
+					return;
+				}
+				newState.projects.put(project.getName(), location.toOSString());
+				newState.sourceRoots.addAll(getSourceRoots(project));
+			}
+			newState.buildFiles = computeBuildFileDigests(newState.projects.values());
+			subMonitor.worked(1);
+			newState.buildDirectories = scanBuildDirectories(newState.rootPaths, subMonitor.split(1));
+			state = newState;
+			serializeState(newState);
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException("Failed to save the workspace snapshot", e);
+			invalidate();
+		}
+	}
+
+	/**
+	 * Looks for build files which were added or removed in the root folders
+	 * since the snapshot was saved, which might require new projects to be
+	 * imported or old ones to be removed.
+	 *
+	 * @param monitor
+	 *            the progress monitor
+	 * @return whether the projects of the root folders need to be imported
+	 *         again
+	 * @throws CoreException
+	 *             if the root folders can't be scanned
+	 */
+	public boolean hasBuildFileChanges(IProgressMonitor monitor) throws CoreException {
+		State current = state;
+		if (current == null) {
+			return true;
+		}
+		return !current.buildDirectories.equals(scanBuildDirectories(current.rootPaths, monitor));
+	}
+
+	/**
+	 * Forgets the snapshot, so that the projects are imported again on next
+	 * start.
+	 */
+	public void invalidate() {
+		state = null;
+		if (stateFile.exists() && !stateFile.delete()) {
+			JavaLanguageServerPlugin.logError("Failed to delete " + stateFile);
+		}
+	}
+
+	private static List<String> toStrings(Collection<IPath> rootPaths) {
+		return rootPaths.stream().map(IPath::toOSString).sorted().collect(Collectors.toList());
+	}
+
+	private static List<String> getSourceRoots(IProject project) throws CoreException {
+		List<String> sourceRoots = new ArrayList<>();
+		if (!ProjectUtils.isJavaProject(project)) {
+			return sourceRoots;
+		}
+		IJavaProject javaProject = JavaCore.create(project);
+		for (IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+				continue;
+			}
+			IResource resource = root.getResource();
+			// generated source folders may legitimately be missing on restart
+			if (resource != null && resource.exists() && !resource.isDerived(IResource.CHECK_ANCESTORS) && resource.getLocation() != null) {
+				sourceRoots.add(resource.getLocation().toOSString());
+			}
+		}
+		return sourceRoots;
+	}
+
+	private static Map<String, String> computeBuildFileDigests(Collection<String> locations) throws CoreException {
+		Map<String, String> digests = new HashMap<>();
+		for (String location : locations) {
+			List<File> files = new ArrayList<>();
+			for (String name : BUILD_FILE_NAMES) {
+				files.add(new File(location, name));
+			}
+			for (String path : BUILD_INPUTS) {
+				files.add(new File(location, path));
+			}
+			File buildSrc = new File(location, BUILD_SRC);
+			if (buildSrc.isDirectory()) {
+				try {
+					files.addAll(listBuildSources(buildSrc.toPath()));
+				} catch (IOException e) {
+					throw new CoreException(StatusFactory.newErrorStatus("Exception listing " + buildSrc, e));
+				}
+			}
+			for (File file : files) {
+				try {
+					digests.put(file.getPath(), file.isFile() ? DigestStore.computeDigest(file.toPath()) : "");
+				} catch (NoSuchAlgorithmException | IOException e) {
+					throw new CoreException(StatusFactory.newErrorStatus("Exception computing digest for " + file, e));
+				}
+			}
+		}
+		return digests;
+	}
+
+	/**
+	 * Lists the files of the <code>buildSrc</code> folder, without its build
+	 * outputs.
+	 */
+	private static List<File> listBuildSources(Path buildSrc) throws IOException {
+		List<File> files = new ArrayList<>();
+		Files.walkFileTree(buildSrc, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				Path name = dir.getFileName();
+				if (!dir.equals(buildSrc) && name != null && (name.toString().equals("build") || name.toString().startsWith("."))) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				files.add(file.toFile());
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return files;
+	}
+
+	private static Set<String> scanBuildDirectories(List<String> rootPaths, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, rootPaths.size());
+		Set<String> directories = new HashSet<>();
+		for (String rootPath : rootPaths) {
+			//@formatter:off
+			BasicFileDetector detector = new BasicFileDetector(new File(rootPath).toPath(), BUILD_FILE_NAMES)
+					.addExclusions("**/target", "**/build", "**/bin", "**/node_modules");
+			//@formatter:on
+			for (Path directory : detector.scan(subMonitor.split(1))) {
+				directories.add(directory.toString());
+			}
+		}
+		return directories;
+	}
+
+	private void serializeState(State newState) {
+		try (ObjectOutputStream outStream = new ObjectOutputStream(new FileOutputStream(stateFile))) {
+			outStream.writeObject(newState);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while serialization of the workspace snapshot", e);
+		}
+	}
+
+	private State deserializeState() {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(stateFile))) {
+			return (State) ois.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of the workspace snapshot", e);
+			return null;
+		}
+	}
+
+	private static class State implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private List<String> rootPaths = new ArrayList<>();
+		private String settings;
+		private Map<String, String> projects = new HashMap<>();
+		private Set<String> sourceRoots = new HashSet<>();
+		private Map<String, String> buildFiles = new HashMap<>();
+		private Set<String> buildDirectories = new HashSet<>();
+	}
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations, with a precision of 1/16th of the recorded value.
+ *
+ * The durations are recorded in microseconds, in log-linear buckets: each
+ * power of two is split in {@link #SUB_BUCKETS} buckets. Recording a duration
+ * is lock-free and does not allocate.
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/**
+	 * The highest power of two of the recorded durations; 2^40 microseconds
+	 * is about 12 days.
+	 */
+	private static final int MAX_EXPONENT = 40;
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records the given duration.
+	 *
+	 * @param nanos
+	 *            the duration, in nanoseconds
+	 */
+	public void record(long nanos) {
+		long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+		counts.incrementAndGet(getIndex(micros));
+		count.incrementAndGet();
+		total.addAndGet(micros);
+		if (micros > max.get()) {
+			max.accumulateAndGet(micros, Math::max);
+		}
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return the mean of the recorded durations, in milliseconds
+	 */
+	public double getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : toMillis(total.get() / n);
+	}
+
+	/**
+	 * @return the maximum of the recorded durations, in milliseconds
+	 */
+	public double getMax() {
+		return toMillis(max.get());
+	}
+
+	/**
+	 * Returns the duration below which the given percentage of the recorded
+	 * durations fall.
+	 *
+	 * @param percentile
+	 *            the percentage, between 0 and 100
+	 * @return the duration, in milliseconds
+	 */
+	public double getPercentile(double percentile) {
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(n * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return toMillis(Math.min(getUpperBound(i), max.get()));
+			}
+		}
+		return getMax();
+	}
+
+	static int getIndex(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+		int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+		if (exponent == MAX_EXPONENT && micros >= (1L << (MAX_EXPONENT + 1))) {
+			subBucket = SUB_BUCKETS - 1;
+		}
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return the highest duration, in microseconds, recorded in the given
+	 *         bucket
+	 */
+	static long getUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+
+	private static double toMillis(long micros) {
+		return micros / 1000d;
+	}
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+
+/**
+ * Measures the latency of every request received from the client, from its
+ * reception to the sending of its response, and counts the cancelled and
+ * failed requests.
+ *
+ * Wraps both the incoming and the outgoing message streams of the launcher.
+ * It must be applied before the other wrappers, to recognize the incoming
+ * stream by its {@link RemoteEndpoint} consumer.
+ */
+public final class MessageMetrics implements Function<MessageConsumer, MessageConsumer> {
+
+	private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+	@Override
+	public MessageConsumer apply(MessageConsumer consumer) {
+		if (consumer instanceof RemoteEndpoint) {
+			return message -> {
+				if (!(message instanceof RequestMessage)) {
+					consumer.consume(message);
+					return;
+				}
+				RequestMessage request = (RequestMessage) message;
+				pendingRequests.put(request.getId(), new PendingRequest(request.getMethod(), System.nanoTime()));
+				// the request is dispatched to the server in the current thread
+				Metrics.setCurrentMethod(request.getMethod());
+				try {
+					consumer.consume(message);
+				} finally {
+					Metrics.setCurrentMethod(null);
+				}
+			};
+		}
+		return message -> {
+			if (message instanceof ResponseMessage) {
+				ResponseMessage response = (ResponseMessage) message;
+				PendingRequest request = response.getId() == null ? null : pendingRequests.remove(response.getId());
+				if (request != null) {
+					Metrics.recordResponse(request.method, System.nanoTime() - request.received, response.getError());
+				}
+			}
+			consumer.consume(message);
+		};
+	}
+
+	private static class PendingRequest {
+		private final String method;
+		private final long received;
+
+		PendingRequest(String method, long received) {
+			this.method = method;
+			this.received = received;
+		}
+	}
+}
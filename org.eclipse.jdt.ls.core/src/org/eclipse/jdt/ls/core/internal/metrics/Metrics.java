@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsSnapshot.CacheStats;
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsSnapshot.GarbageCollectorStats;
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsSnapshot.HistogramStats;
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsSnapshot.MemoryStats;
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsSnapshot.RequestStats;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+
+/**
+ * Collects the latencies of the requests handled by the language server, the
+ * durations of its internal operations and the hit rates of its caches.
+ *
+ * The requests are measured by {@link MessageMetrics}: their latency is the
+ * time between the reception of the request and the sending of its response.
+ * The requests computed asynchronously (see {@link #track(Function)}) are
+ * further split in the time waiting for a thread and the execution time.
+ */
+public final class Metrics {
+
+	private static final Map<String, RequestMetrics> requests = new ConcurrentHashMap<>();
+	private static final Map<String, LatencyHistogram> operations = new ConcurrentHashMap<>();
+	private static final Map<String, CacheMetrics> caches = new ConcurrentHashMap<>();
+	/**
+	 * The method of the request being dispatched by the current thread.
+	 */
+	private static final ThreadLocal<String> currentMethod = new ThreadLocal<>();
+
+	private Metrics() {
+	}
+
+	/**
+	 * Wraps the given computation of the request being dispatched, to record
+	 * how long it waits before running and how long it runs.
+	 */
+	public static <R> Function<CancelChecker, R> track(Function<CancelChecker, R> code) {
+		String method = currentMethod.get();
+		if (method == null) {
+			return code;
+		}
+		RequestMetrics metrics = getRequestMetrics(method);
+		long submitted = System.nanoTime();
+		return cancelChecker -> {
+			long started = System.nanoTime();
+			metrics.queueWait.record(started - submitted);
+			try {
+				return code.apply(cancelChecker);
+			} finally {
+				metrics.execution.record(System.nanoTime() - started);
+			}
+		};
+	}
+
+	/**
+	 * Records the duration of an internal operation, e.g. a reconcile.
+	 *
+	 * @param operation
+	 *            the name of the operation
+	 * @param nanos
+	 *            the duration, in nanoseconds
+	 */
+	public static void record(String operation, long nanos) {
+		operations.computeIfAbsent(operation, o -> new LatencyHistogram()).record(nanos);
+	}
+
+	/**
+	 * @return the hit and miss counters of the given cache
+	 */
+	public static CacheMetrics getCacheMetrics(String cache) {
+		return caches.computeIfAbsent(cache, c -> new CacheMetrics());
+	}
+
+	/**
+	 * Resets all the collected metrics.
+	 */
+	public static void reset() {
+		requests.clear();
+		operations.clear();
+		// the caches hold on to their counters
+		caches.values().forEach(CacheMetrics::reset);
+	}
+
+	public static MetricsSnapshot snapshot() {
+		MetricsSnapshot snapshot = new MetricsSnapshot();
+		snapshot.timestamp = System.currentTimeMillis();
+		snapshot.uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		snapshot.requests = new TreeMap<>();
+		requests.forEach((method, metrics) -> snapshot.requests.put(method, metrics.getStats()));
+		snapshot.operations = new TreeMap<>();
+		operations.forEach((operation, histogram) -> snapshot.operations.put(operation, new HistogramStats(histogram)));
+		snapshot.caches = new TreeMap<>();
+		caches.forEach((cache, metrics) -> snapshot.caches.put(cache, metrics.getStats()));
+		MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+		snapshot.memory = new MemoryStats();
+		snapshot.memory.heapUsed = heap.getUsed();
+		snapshot.memory.heapCommitted = heap.getCommitted();
+		snapshot.memory.heapMax = heap.getMax();
+		snapshot.garbageCollectors = new TreeMap<>();
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			GarbageCollectorStats stats = new GarbageCollectorStats();
+			stats.count = gc.getCollectionCount();
+			stats.time = gc.getCollectionTime();
+			snapshot.garbageCollectors.put(gc.getName(), stats);
+		}
+		snapshot.threads = ManagementFactory.getThreadMXBean().getThreadCount();
+		return snapshot;
+	}
+
+	static void setCurrentMethod(String method) {
+		if (method == null) {
+			currentMethod.remove();
+		} else {
+			currentMethod.set(method);
+		}
+	}
+
+	static void recordResponse(String method, long nanos, ResponseError error) {
+		RequestMetrics metrics = getRequestMetrics(method);
+		metrics.latency.record(nanos);
+		if (error != null) {
+			if (error.getCode() == ResponseErrorCode.RequestCancelled.getValue()) {
+				metrics.cancelled.increment();
+			} else {
+				metrics.failed.increment();
+			}
+		}
+	}
+
+	private static RequestMetrics getRequestMetrics(String method) {
+		return requests.computeIfAbsent(method, m -> new RequestMetrics());
+	}
+
+	private static class RequestMetrics {
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final LatencyHistogram queueWait = new LatencyHistogram();
+		private final LatencyHistogram execution = new LatencyHistogram();
+		private final LongAdder cancelled = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+
+		RequestStats getStats() {
+			RequestStats stats = new RequestStats();
+			stats.latency = new HistogramStats(latency);
+			if (queueWait.getCount() > 0) {
+				stats.queueWait = new HistogramStats(queueWait);
+				stats.execution = new HistogramStats(execution);
+			}
+			stats.cancelled = cancelled.sum();
+			stats.failed = failed.sum();
+			return stats;
+		}
+	}
+
+	/**
+	 * Counts the lookups of a cache.
+	 */
+	public static final class CacheMetrics {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+
+		private CacheMetrics() {
+		}
+
+		public void hit() {
+			hits.increment();
+		}
+
+		public void miss() {
+			misses.increment();
+		}
+
+		/**
+		 * Counts a hit if the given value was found in the cache, a miss if it
+		 * is <code>null</code>.
+		 *
+		 * @return the given value
+		 */
+		public <T> T lookup(T value) {
+			if (value == null) {
+				miss();
+			} else {
+				hit();
+			}
+			return value;
+		}
+
+		private void reset() {
+			hits.reset();
+			misses.reset();
+		}
+
+		CacheStats getStats() {
+			CacheStats stats = new CacheStats();
+			stats.hits = hits.sum();
+			stats.misses = misses.sum();
+			long lookups = stats.hits + stats.misses;
+			stats.hitRate = lookups == 0 ? 0 : (double) stats.hits / lookups;
+			return stats;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Periodically writes a JSON snapshot of the {@link Metrics} to the file set
+ * by the <code>metrics.file</code> system property, every
+ * <code>metrics.interval</code> seconds (60 by default).
+ */
+public final class MetricsReporter {
+
+	private static final String METRICS_FILE = "metrics.file";
+	private static final String METRICS_INTERVAL = "metrics.interval";
+	private static final long DEFAULT_INTERVAL = 60;
+
+	private final Path file;
+	private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+	private ScheduledExecutorService executor;
+
+	private MetricsReporter(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Starts writing the snapshots, if the <code>metrics.file</code> system
+	 * property is set.
+	 *
+	 * @return the started reporter, or <code>null</code>
+	 */
+	public static MetricsReporter start() {
+		String file = System.getProperty(METRICS_FILE);
+		if (file == null || file.isEmpty()) {
+			return null;
+		}
+		long interval = DEFAULT_INTERVAL;
+		try {
+			interval = Math.max(1, Long.parseLong(System.getProperty(METRICS_INTERVAL, String.valueOf(DEFAULT_INTERVAL))));
+		} catch (NumberFormatException e) {
+			JavaLanguageServerPlugin.logError("Invalid " + METRICS_INTERVAL + ": " + e.getMessage());
+		}
+		MetricsReporter reporter = new MetricsReporter(Paths.get(file));
+		reporter.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "Java LS metrics reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reporter.executor.scheduleWithFixedDelay(reporter::write, interval, interval, TimeUnit.SECONDS);
+		return reporter;
+	}
+
+	/**
+	 * Writes a last snapshot and stops.
+	 */
+	public void stop() {
+		executor.shutdownNow();
+		write();
+	}
+
+	private synchronized void write() {
+		try {
+			Path parent = file.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			// replaces the file at once, so that it is never read half written
+			Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				gson.toJson(Metrics.snapshot(), writer);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Failed to write the metrics to " + file, e);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import java.util.Map;
+
+/**
+ * The metrics collected by {@link Metrics}, as returned by the
+ * <code>java.metrics.dump</code> command. The durations are in milliseconds,
+ * the sizes in bytes.
+ */
+public class MetricsSnapshot {
+
+	public long timestamp;
+	public long uptime;
+	public Map<String, RequestStats> requests;
+	public Map<String, HistogramStats> operations;
+	public Map<String, CacheStats> caches;
+	public MemoryStats memory;
+	public Map<String, GarbageCollectorStats> garbageCollectors;
+	public int threads;
+
+	public static class RequestStats {
+		public HistogramStats latency;
+		/**
+		 * The time spent waiting for a thread, for the requests computed
+		 * asynchronously
+		 */
+		public HistogramStats queueWait;
+		public HistogramStats execution;
+		public long cancelled;
+		public long failed;
+	}
+
+	public static class HistogramStats {
+		public long count;
+		public double mean;
+		public double p50;
+		public double p90;
+		public double p99;
+		public double max;
+
+		public HistogramStats() {
+		}
+
+		HistogramStats(LatencyHistogram histogram) {
+			count = histogram.getCount();
+			mean = histogram.getMean();
+			p50 = histogram.getPercentile(50);
+			p90 = histogram.getPercentile(90);
+			p99 = histogram.getPercentile(99);
+			max = histogram.getMax();
+		}
+	}
+
+	public static class CacheStats {
+		public long hits;
+		public long misses;
+		public double hitRate;
+	}
+
+	public static class MemoryStats {
+		public long heapUsed;
+		public long heapCommitted;
+		public long heapMax;
+	}
+
+	public static class GarbageCollectorStats {
+		public long count;
+		public long time;
+	}
+}
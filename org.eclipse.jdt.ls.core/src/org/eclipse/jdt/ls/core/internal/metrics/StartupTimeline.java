@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records when each phase of the startup of the language server begins and
+ * how long it lasts, from the activation of the plugin to the end of the first
+ * build.
+ *
+ * Phases may run concurrently, in different threads. Once the timeline is
+ * ended, the phases are no longer recorded.
+ */
+public final class StartupTimeline {
+
+	private static final AtomicReference<StartupTimeline> current = new AtomicReference<>();
+
+	private final transient long origin = System.nanoTime();
+	/**
+	 * The duration of the startup, in milliseconds
+	 */
+	private long duration = -1;
+	private final List<Phase> phases = new ArrayList<>();
+
+	private StartupTimeline() {
+	}
+
+	/**
+	 * Starts recording the startup, unless it's already recorded.
+	 */
+	public static void begin() {
+		current.compareAndSet(null, new StartupTimeline());
+	}
+
+	/**
+	 * Starts a phase of the startup, to be closed when the phase is over.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @return the started phase
+	 */
+	public static Phase phase(String name) {
+		StartupTimeline timeline = current.get();
+		if (timeline == null) {
+			return Phase.NONE;
+		}
+		Phase phase = new Phase(name, timeline.origin);
+		synchronized (timeline.phases) {
+			timeline.phases.add(phase);
+		}
+		return phase;
+	}
+
+	/**
+	 * Stops recording the startup.
+	 *
+	 * @return the recorded timeline, or <code>null</code> if the startup
+	 *         wasn't recorded or was already ended
+	 */
+	public static StartupTimeline end() {
+		StartupTimeline timeline = current.getAndSet(null);
+		if (timeline != null) {
+			timeline.duration = toMillis(System.nanoTime() - timeline.origin);
+		}
+		return timeline;
+	}
+
+	public long getDuration() {
+		return duration;
+	}
+
+	public List<Phase> getPhases() {
+		synchronized (phases) {
+			return new ArrayList<>(phases);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder("Startup timeline (").append(duration).append("ms):");
+		for (Phase phase : getPhases()) {
+			result.append(String.format("%n  %6dms %8s  %s [%s]", phase.start, phase.duration < 0 ? "-" : phase.duration + "ms", phase.name, phase.thread));
+		}
+		return result.toString();
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	/**
+	 * A phase of the startup.
+	 */
+	public static final class Phase implements AutoCloseable {
+		private static final Phase NONE = new Phase(null, 0);
+
+		private final String name;
+		private final String thread;
+		/**
+		 * The time elapsed between the beginning of the startup and of this
+		 * phase, in milliseconds
+		 */
+		private final long start;
+		/**
+		 * The duration of this phase, in milliseconds, or -1 if it isn't over
+		 */
+		private volatile long duration = -1;
+		private final transient long started = System.nanoTime();
+
+		private Phase(String name, long origin) {
+			this.name = name;
+			this.thread = Thread.currentThread().getName();
+			this.start = toMillis(started - origin);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getStart() {
+			return start;
+		}
+
+		public long getDuration() {
+			return duration;
+		}
+
+		/**
+		 * Ends this phase.
+		 */
+		@Override
+		public void close() {
+			if (this != NONE && duration < 0) {
+				duration = toMillis(System.nanoTime() - started);
+			}
+		}
+	}
+}
@@ -202,8 +202,11 @@ public class PreferenceManager {
 			reloadTemplateStore();
 		}
 		Hashtable<String, String> options = JavaCore.getOptions();
-		preferences.updateTabSizeInsertSpaces(options);
-		JavaCore.setOptions(options);
+		Hashtable<String, String> newOptions = new Hashtable<>(options);
+		preferences.updateTabSizeInsertSpaces(newOptions);
+		if (!newOptions.equals(options)) {
+			JavaCore.setOptions(newOptions);
+		}
 		// TODO serialize preferences
 	}
 
@@ -225,6 +225,12 @@ public class Preferences {
 	public static final String JAVA_IMPORT_EXCLUSIONS_KEY = "java.import.exclusions";
 	public static final List<String> JAVA_IMPORT_EXCLUSIONS_DEFAULT;
 
+	/**
+	 * Preference key to skip the directories ignored by the .gitignore files
+	 * when importing projects.
+	 */
+	public static final String JAVA_IMPORT_RESPECT_GITIGNORE_KEY = "java.import.respectGitIgnore";
+
 	/**
 	 * Preference key to specify the local libraries referenced by invisible project
 	 */
@@ -303,6 +309,21 @@ public class Preferences {
 	public static final String JAVA_COMPLETION_MAX_RESULTS_KEY = "java.completion.maxResults";
 	public static final int JAVA_COMPLETION_MAX_RESULTS_DEFAULT = 50;
 
+	/**
+	 * Preference key for the time, in milliseconds, allotted to a code action
+	 * request. The processors it can't afford are deferred to the background.
+	 * Defaults to 0, i.e. no limit.
+	 */
+	public static final String JAVA_CODEACTION_TIME_BUDGET_KEY = "java.codeAction.timeBudget";
+	public static final int JAVA_CODEACTION_TIME_BUDGET_DEFAULT = 0;
+
+	/**
+	 * Preference key to watch the files on the server side, with the native
+	 * file watching service of the OS, instead of registering file watchers
+	 * with the client. Defaults to false.
+	 */
+	public static final String JAVA_NATIVE_FILE_WATCHER_ENABLED_KEY = "java.nativeFileWatcher.enabled";
+
 	/**
 	 * A named preference that controls if the Java code assist only inserts
 	 * completions. When set to true, code completion overwrites the current text.
@@ -509,6 +530,7 @@ public class Preferences {
 	private List<?> gradleWrapperList;
 
 	private List<String> javaImportExclusions = new LinkedList<>();
+	private boolean javaImportRespectGitIgnore;
 	private ReferencedLibraries referencedLibraries;
 	private String invisibleProjectOutputPath;
 	private List<String> invisibleProjectSourcePaths;
@@ -523,6 +545,8 @@ public class Preferences {
 	private Collection<IPath> projectConfigurations;
 	private int parallelBuildsCount;
 	private int maxCompletionResults;
+	private int codeActionTimeBudget;
+	private boolean nativeFileWatcherEnabled;
 	private int importOnDemandThreshold;
 	private int staticImportOnDemandThreshold;
 	private Set<RuntimeEnvironment> runtimes = new HashSet<>();
@@ -724,6 +748,7 @@ public class Preferences {
 		codeGenerationInsertionLocation = null;
 		preferredContentProviderIds = null;
 		javaImportExclusions = JAVA_IMPORT_EXCLUSIONS_DEFAULT;
+		javaImportRespectGitIgnore = false;
 		javaCompletionFavoriteMembers = JAVA_COMPLETION_FAVORITE_MEMBERS_DEFAULT;
 		javaHome = null;
 		formatterUrl = null;
@@ -733,6 +758,7 @@ public class Preferences {
 		filteredTypes = JAVA_COMPLETION_FILTERED_TYPES_DEFAULT;
 		parallelBuildsCount = PreferenceInitializer.PREF_MAX_CONCURRENT_BUILDS_DEFAULT;
 		maxCompletionResults = JAVA_COMPLETION_MAX_RESULTS_DEFAULT;
+		codeActionTimeBudget = JAVA_CODEACTION_TIME_BUDGET_DEFAULT;
 		importOnDemandThreshold = IMPORTS_ONDEMANDTHRESHOLD_DEFAULT;
 		staticImportOnDemandThreshold = IMPORTS_STATIC_ONDEMANDTHRESHOLD_DEFAULT;
 		referencedLibraries = JAVA_PROJECT_REFERENCED_LIBRARIES_DEFAULT;
@@ -865,6 +891,8 @@ public class Preferences {
 			List<String> copy = new LinkedList<>(javaImportExclusions);
 			prefs.setJavaImportExclusions(copy);
 		}
+		boolean javaImportRespectGitIgnore = getBoolean(configuration, JAVA_IMPORT_RESPECT_GITIGNORE_KEY, false);
+		prefs.setJavaImportRespectGitIgnore(javaImportRespectGitIgnore);
 
 		Object referencedLibraries = getValue(configuration, JAVA_PROJECT_REFERENCED_LIBRARIES_KEY);
 		if (referencedLibraries == null) {
@@ -946,6 +974,12 @@ public class Preferences {
 		int maxCompletions = getInt(configuration, JAVA_COMPLETION_MAX_RESULTS_KEY, JAVA_COMPLETION_MAX_RESULTS_DEFAULT);
 		prefs.setMaxCompletionResults(maxCompletions);
 
+		int codeActionTimeBudget = getInt(configuration, JAVA_CODEACTION_TIME_BUDGET_KEY, JAVA_CODEACTION_TIME_BUDGET_DEFAULT);
+		prefs.setCodeActionTimeBudget(codeActionTimeBudget);
+
+		boolean nativeFileWatcherEnabled = getBoolean(configuration, JAVA_NATIVE_FILE_WATCHER_ENABLED_KEY, false);
+		prefs.setNativeFileWatcherEnabled(nativeFileWatcherEnabled);
+
 		int onDemandThreshold = getInt(configuration, IMPORTS_ONDEMANDTHRESHOLD, IMPORTS_ONDEMANDTHRESHOLD_DEFAULT);
 		prefs.setImportOnDemandThreshold(onDemandThreshold);
 
@@ -1090,6 +1124,11 @@ public class Preferences {
 		return this;
 	}
 
+	public Preferences setJavaImportRespectGitIgnore(boolean javaImportRespectGitIgnore) {
+		this.javaImportRespectGitIgnore = javaImportRespectGitIgnore;
+		return this;
+	}
+
 	public Preferences setJavaCompletionFavoriteMembers(List<String> javaCompletionFavoriteMembers) {
 		this.javaCompletionFavoriteMembers = (javaCompletionFavoriteMembers == null || javaCompletionFavoriteMembers.isEmpty()) ? JAVA_COMPLETION_FAVORITE_MEMBERS_DEFAULT : javaCompletionFavoriteMembers;
 		return this;
@@ -1295,6 +1334,10 @@ public class Preferences {
 		return javaImportExclusions;
 	}
 
+	public boolean isJavaImportRespectGitIgnore() {
+		return javaImportRespectGitIgnore;
+	}
+
 	public String[] getJavaCompletionFavoriteMembers() {
 		return javaCompletionFavoriteMembers.toArray(new String[0]);
 	}
@@ -1624,6 +1667,30 @@ public class Preferences {
 		return this;
 	}
 
+	public int getCodeActionTimeBudget() {
+		return codeActionTimeBudget;
+	}
+
+	/**
+	 * Sets the time, in milliseconds, after which the remaining code action
+	 * processors are skipped. 0 or lower disables the limit.
+	 *
+	 * @param codeActionTimeBudget
+	 */
+	public Preferences setCodeActionTimeBudget(int codeActionTimeBudget) {
+		this.codeActionTimeBudget = Math.max(0, codeActionTimeBudget);
+		return this;
+	}
+
+	public boolean isNativeFileWatcherEnabled() {
+		return nativeFileWatcherEnabled;
+	}
+
+	public Preferences setNativeFileWatcherEnabled(boolean nativeFileWatcherEnabled) {
+		this.nativeFileWatcherEnabled = nativeFileWatcherEnabled;
+		return this;
+	}
+
 	public ReferencedLibraries getReferencedLibraries() {
 		return referencedLibraries;
 	}
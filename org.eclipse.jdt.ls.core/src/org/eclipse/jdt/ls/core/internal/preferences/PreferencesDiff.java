@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.preferences;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.ls.core.internal.RuntimeEnvironment;
+
+/**
+ * Tells which groups of preferences differ between two {@link Preferences},
+ * so that a configuration change only reconfigures what it affects.
+ */
+public final class PreferencesDiff {
+
+	/**
+	 * The groups of preferences which are applied together.
+	 */
+	public enum Group {
+		/**
+		 * The JDKs, see {@link org.eclipse.jdt.ls.core.internal.JVMConfigurator}
+		 */
+		RUNTIMES(PreferencesDiff::getRuntimes, Preferences::getJavaHome),
+		/**
+		 * The capabilities registered dynamically
+		 */
+		CAPABILITIES(Preferences::isCompletionEnabled, Preferences::isJavaFormatEnabled, Preferences::isJavaFormatOnTypeEnabled, Preferences::isCodeLensEnabled, Preferences::isSignatureHelpEnabled,
+				Preferences::isRenameEnabled, Preferences::isExecuteCommandEnabled, Preferences::isFoldingRangeEnabled, Preferences::isSelectionRangeEnabled),
+		AUTOBUILD(Preferences::isAutobuildEnabled),
+		/**
+		 * The formatter profile and the compiler settings files
+		 */
+		SETTINGS(Preferences::getFormatterUrl, Preferences::getFormatterProfileName, Preferences::getSettingsUrl);
+
+		private final List<Function<Preferences, ?>> properties;
+
+		@SafeVarargs
+		Group(Function<Preferences, ?>... properties) {
+			this.properties = Arrays.asList(properties);
+		}
+
+		/**
+		 * @return whether a preference of this group differs between the given
+		 *         preferences
+		 */
+		public boolean hasChanged(Preferences oldPreferences, Preferences newPreferences) {
+			if (oldPreferences == newPreferences) {
+				return false;
+			}
+			if (oldPreferences == null || newPreferences == null) {
+				return true;
+			}
+			for (Function<Preferences, ?> property : properties) {
+				if (!Objects.equals(property.apply(oldPreferences), property.apply(newPreferences))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private PreferencesDiff() {
+	}
+
+	/**
+	 * @return the groups of preferences which differ between the given
+	 *         preferences; all the groups if one of them is <code>null</code>
+	 */
+	public static Set<Group> compute(Preferences oldPreferences, Preferences newPreferences) {
+		Set<Group> changed = EnumSet.noneOf(Group.class);
+		for (Group group : Group.values()) {
+			if (group.hasChanged(oldPreferences, newPreferences)) {
+				changed.add(group);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * {@link RuntimeEnvironment#equals(Object)} only compares the names.
+	 */
+	private static Set<List<Object>> getRuntimes(Preferences preferences) {
+		return preferences.getRuntimes().stream().map(r -> Arrays.<Object>asList(r.getName(), r.getPath(), r.getJavadoc(), r.getSources(), r.isDefault())).collect(Collectors.toSet());
+	}
+}
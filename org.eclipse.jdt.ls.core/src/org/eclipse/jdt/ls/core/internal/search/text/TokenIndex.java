@@ -0,0 +1,516 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.search.text;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * An index of the identifiers found in the non-Java text files of the
+ * workspace, used to narrow down the files searched for qualified names (see
+ * {@link #filter(IFile[], String)}).
+ *
+ * An identifier is a maximal run of Java identifier characters. A qualified
+ * name which is not embedded in a longer name can only be found in a file
+ * which contains all its segments as identifiers, so a file without one of
+ * them doesn't need to be read. The identifiers are stored as hashes, a
+ * collision only adds a candidate file.
+ *
+ * The index is only built once it was used, or if it was persisted by a
+ * previous session, and is then kept up to date from the resource deltas. A
+ * file which isn't indexed yet, or changed since it was indexed, is always a
+ * candidate. A persisted index isn't checked against the whole workspace: the
+ * files found out of date while filtering are indexed again.
+ *
+ * The index is kept in memory and persisted on {@link #close()}, or
+ * periodically while it changes.
+ */
+public class TokenIndex implements IResourceChangeListener {
+
+	private static final String SERIALIZATION_FILE_NAME = ".token-index";
+	/**
+	 * The identifiers shorter than that aren't indexed, they hardly narrow
+	 * down the files
+	 */
+	private static final int MIN_TOKEN_LENGTH = 2;
+	private static final long MAX_FILE_SIZE = 8 * 1024 * 1024;
+	/**
+	 * The delay of the periodic save of a changed index, in milliseconds
+	 */
+	private static final long SAVE_INTERVAL = 10 * 60 * 1000;
+
+	private static final class FileEntry implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int id;
+		private final long timestamp;
+
+		private FileEntry(int id, long timestamp) {
+			this.id = id;
+			this.timestamp = timestamp;
+		}
+	}
+
+	private static final class State implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Map<String, FileEntry> files = new HashMap<>();
+		/**
+		 * The ids of the files containing a token, by token hash, sorted
+		 */
+		private final Map<Integer, int[]> postings = new HashMap<>();
+		private final Map<Integer, Integer> postingSizes = new HashMap<>();
+		/**
+		 * The ids of the files which are indexed and unchanged since
+		 */
+		private final BitSet live = new BitSet();
+		private int nextId;
+	}
+
+	private final File stateFile;
+	private final Object lock = new Object();
+	private State state;
+	/**
+	 * Whether the index was persisted by a previous session
+	 */
+	private final boolean persisted;
+	private boolean started;
+	private boolean dirty;
+	private final Set<IFile> queue = new LinkedHashSet<>();
+	private final Job indexJob = new Job("Index text files") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			long start = System.currentTimeMillis();
+			int count = 0;
+			for (IFile file = poll(); file != null; file = poll()) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				index(file);
+				count++;
+			}
+			if (count > 0) {
+				JavaLanguageServerPlugin.logInfo("Indexed " + count + " text file(s) in " + (System.currentTimeMillis() - start) + "ms");
+			}
+			// a timer, not postponed by the next batches
+			if (saveJob.getState() == Job.NONE) {
+				saveJob.schedule(SAVE_INTERVAL);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+	private final Job saveJob = new Job("Save the text file index") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			save();
+			return Status.OK_STATUS;
+		}
+	};
+
+	public TokenIndex(File stateLocation) {
+		this.stateFile = new File(stateLocation, SERIALIZATION_FILE_NAME);
+		indexJob.setSystem(true);
+		indexJob.setPriority(Job.DECORATE);
+		saveJob.setSystem(true);
+		saveJob.setPriority(Job.DECORATE);
+		state = stateFile.isFile() ? deserializeState() : null;
+		persisted = state != null;
+		if (state == null) {
+			state = new State();
+		}
+		if (persisted) {
+			start();
+		}
+	}
+
+	/**
+	 * Returns the given files which may contain the given qualified name, not
+	 * embedded in a longer name. Starts maintaining the index if needed.
+	 *
+	 * @param files
+	 *            the files to search
+	 * @param qualifiedName
+	 *            the qualified name
+	 * @return the files to search
+	 */
+	public IFile[] filter(IFile[] files, String qualifiedName) {
+		start();
+		List<int[]> tokenPostings = new ArrayList<>();
+		IFile[] result;
+		boolean schedule = false;
+		synchronized (lock) {
+			for (String segment : qualifiedName.split("\\.", -1)) {
+				if (!isIdentifier(segment)) {
+					// e.g. a pattern, the index can't be used
+					return files;
+				}
+				if (segment.length() >= MIN_TOKEN_LENGTH) {
+					int[] posting = state.postings.get(segment.hashCode());
+					if (posting == null) {
+						posting = new int[0];
+					}
+					tokenPostings.add(Arrays.copyOf(posting, state.postingSizes.getOrDefault(segment.hashCode(), 0)));
+				}
+			}
+			if (tokenPostings.isEmpty()) {
+				return files;
+			}
+			List<IFile> candidates = new ArrayList<>();
+			for (IFile file : files) {
+				if (hasBuffer(file)) {
+					candidates.add(file);
+					continue;
+				}
+				FileEntry entry = state.files.get(file.getFullPath().toString());
+				if (entry == null || !state.live.get(entry.id) || entry.timestamp != file.getLocalTimeStamp()) {
+					candidates.add(file);
+					// e.g. changed while the server wasn't running
+					if (isIndexable(file.createProxy()) && queue.add(file)) {
+						schedule = true;
+					}
+					continue;
+				}
+				boolean candidate = true;
+				for (int[] posting : tokenPostings) {
+					if (Arrays.binarySearch(posting, entry.id) < 0) {
+						candidate = false;
+						break;
+					}
+				}
+				if (candidate) {
+					candidates.add(file);
+				}
+			}
+			result = candidates.toArray(new IFile[candidates.size()]);
+		}
+		if (schedule) {
+			indexJob.schedule(500);
+		}
+		return result;
+	}
+
+	/**
+	 * Starts maintaining the index: indexes the files of the workspace if the
+	 * index wasn't persisted, and listens to the resource changes.
+	 */
+	public void start() {
+		synchronized (lock) {
+			if (started) {
+				return;
+			}
+			started = true;
+		}
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		if (persisted) {
+			// the files out of date are indexed again once filtered
+			return;
+		}
+		Job job = new Job("Collect text files") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				Set<String> existing = new HashSet<>();
+				List<IFile> files = new ArrayList<>();
+				try {
+					ResourcesPlugin.getWorkspace().getRoot().accept(proxy -> {
+						if (monitor.isCanceled()) {
+							return false;
+						}
+						if (proxy.getType() == IResource.FILE && isIndexable(proxy)) {
+							IFile file = (IFile) proxy.requestResource();
+							existing.add(file.getFullPath().toString());
+							files.add(file);
+						}
+						return true;
+					}, IResource.NONE);
+				} catch (CoreException e) {
+					JavaLanguageServerPlugin.logException(e.getMessage(), e);
+					return Status.OK_STATUS;
+				}
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				synchronized (lock) {
+					for (String path : new ArrayList<>(state.files.keySet())) {
+						if (!existing.contains(path)) {
+							remove(path);
+						}
+					}
+					for (IFile file : files) {
+						FileEntry entry = state.files.get(file.getFullPath().toString());
+						if (entry == null || entry.timestamp != file.getLocalTimeStamp()) {
+							queue.add(file);
+						}
+					}
+				}
+				indexJob.schedule();
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+	}
+
+	/**
+	 * Stops listening to the resource changes and persists the index.
+	 */
+	public void close() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		indexJob.cancel();
+		saveJob.cancel();
+		save();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(child -> {
+				IResource resource = child.getResource();
+				if (resource.getType() != IResource.FILE) {
+					return true;
+				}
+				synchronized (lock) {
+					if (child.getKind() == IResourceDelta.REMOVED) {
+						remove(resource.getFullPath().toString());
+					} else if ((child.getKind() == IResourceDelta.ADDED || (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) && isIndexable(resource.createProxy())) {
+						queue.add((IFile) resource);
+					}
+				}
+				return false;
+			});
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		}
+		boolean schedule;
+		synchronized (lock) {
+			schedule = !queue.isEmpty();
+		}
+		if (schedule) {
+			indexJob.schedule(500);
+		}
+	}
+
+	/**
+	 * Indexes the given file now.
+	 */
+	void index(IFile file) {
+		long timestamp = file.getLocalTimeStamp();
+		Set<Integer> tokens = new HashSet<>();
+		try (Reader reader = new BufferedReader(new InputStreamReader(file.getContents(true), file.getCharset()))) {
+			StringBuilder token = new StringBuilder();
+			for (int c = reader.read();; c = reader.read()) {
+				if (c >= 0 && Character.isJavaIdentifierPart(c)) {
+					token.append((char) c);
+					continue;
+				}
+				if (token.length() >= MIN_TOKEN_LENGTH) {
+					tokens.add(token.toString().hashCode());
+				}
+				token.setLength(0);
+				if (c < 0) {
+					break;
+				}
+			}
+		} catch (IOException | CoreException e) {
+			// the file stays a candidate
+			synchronized (lock) {
+				remove(file.getFullPath().toString());
+			}
+			return;
+		}
+		synchronized (lock) {
+			String path = file.getFullPath().toString();
+			remove(path);
+			int id = state.nextId++;
+			state.files.put(path, new FileEntry(id, timestamp));
+			state.live.set(id);
+			for (Integer token : tokens) {
+				add(token, id);
+			}
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Writes the index, if it changed.
+	 */
+	void save() {
+		synchronized (lock) {
+			if (!dirty) {
+				return;
+			}
+			prune();
+			compact();
+			try (ObjectOutputStream outStream = new ObjectOutputStream(new FileOutputStream(stateFile))) {
+				outStream.writeObject(state);
+				dirty = false;
+			} catch (IOException e) {
+				JavaLanguageServerPlugin.logException("Exception occured while serialization of the token index", e);
+			}
+		}
+	}
+
+	/**
+	 * @return whether the index doesn't have files to index
+	 */
+	boolean isUpToDate() {
+		synchronized (lock) {
+			return queue.isEmpty() && indexJob.getState() == Job.NONE;
+		}
+	}
+
+	private IFile poll() {
+		synchronized (lock) {
+			if (queue.isEmpty()) {
+				return null;
+			}
+			IFile file = queue.iterator().next();
+			queue.remove(file);
+			return file;
+		}
+	}
+
+	private void remove(String path) {
+		FileEntry entry = state.files.remove(path);
+		if (entry != null) {
+			state.live.clear(entry.id);
+			dirty = true;
+		}
+	}
+
+	private void add(Integer token, int id) {
+		int size = state.postingSizes.getOrDefault(token, 0);
+		int[] posting = state.postings.get(token);
+		if (posting == null) {
+			posting = new int[2];
+		} else if (posting.length == size) {
+			posting = Arrays.copyOf(posting, size * 2);
+		}
+		// the ids are increasing, the postings stay sorted
+		posting[size] = id;
+		state.postings.put(token, posting);
+		state.postingSizes.put(token, size + 1);
+	}
+
+	/**
+	 * Removes the files which aren't in the workspace anymore, e.g. deleted while
+	 * the server wasn't running.
+	 */
+	private void prune() {
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		for (String path : new ArrayList<>(state.files.keySet())) {
+			if (!root.getFile(new Path(path)).exists()) {
+				remove(path);
+			}
+		}
+	}
+
+	/**
+	 * Removes the ids of the removed or changed files from the postings.
+	 */
+	private void compact() {
+		for (Integer token : new ArrayList<>(state.postings.keySet())) {
+			int[] posting = state.postings.get(token);
+			int size = state.postingSizes.get(token);
+			int liveSize = 0;
+			for (int i = 0; i < size; i++) {
+				if (state.live.get(posting[i])) {
+					posting[liveSize++] = posting[i];
+				}
+			}
+			if (liveSize == 0) {
+				state.postings.remove(token);
+				state.postingSizes.remove(token);
+			} else {
+				state.postings.put(token, Arrays.copyOf(posting, liveSize));
+				state.postingSizes.put(token, liveSize);
+			}
+		}
+	}
+
+	private static boolean isIndexable(IResourceProxy proxy) {
+		if (proxy.isDerived() || proxy.isHidden() || JavaCore.isJavaLikeFileName(proxy.getName())) {
+			return false;
+		}
+		IResource resource = proxy.requestResource();
+		File file = resource.getLocation() == null ? null : resource.getLocation().toFile();
+		return file != null && file.length() <= MAX_FILE_SIZE && FileBuffers.getTextFileBufferManager().isTextFileLocation(resource.getFullPath(), false);
+	}
+
+	private static boolean hasBuffer(IFile file) {
+		return FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE) != null;
+	}
+
+	private static boolean isIdentifier(String segment) {
+		if (segment.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < segment.length(); i++) {
+			if (!Character.isJavaIdentifierPart(segment.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private State deserializeState() {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(stateFile))) {
+			return (State) ois.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of the token index", e);
+			return null;
+		}
+	}
+}
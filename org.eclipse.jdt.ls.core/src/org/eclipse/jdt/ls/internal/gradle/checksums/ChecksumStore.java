@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.internal.gradle.checksums;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Stores the downloaded Gradle wrapper checksums in a single file, instead of
+ * one file per Gradle version. The file is read once, and written again only
+ * when checksums were added.
+ *
+ * The file starts with a magic number and the number of entries, followed by
+ * the entries: the length and the UTF-8 bytes of the name of the checksum
+ * file (e.g. <code>gradle-6.3-wrapper.jar.sha256</code>) and the 32 bytes of
+ * the SHA-256 checksum.
+ */
+public class ChecksumStore {
+
+	private static final String FILE_NAME = "checksums.db";
+	private static final int MAGIC = 0x4a4c4357;
+	private static final int SHA256_LENGTH = 32;
+
+	private final File file;
+	private final Map<String, String> checksums = new LinkedHashMap<>();
+	private boolean dirty;
+
+	public ChecksumStore(File directory) {
+		this.file = new File(directory, FILE_NAME);
+		if (file.isFile()) {
+			load();
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @param fileName
+	 *            the name of the checksum file
+	 * @return the checksum, or <code>null</code> if unknown
+	 */
+	public synchronized String get(String fileName) {
+		return checksums.get(fileName);
+	}
+
+	/**
+	 * Adds the given checksum. It is written by the next {@link #save()}.
+	 *
+	 * @return whether the checksum is valid
+	 */
+	public synchronized boolean put(String fileName, String sha256) {
+		sha256 = sha256 == null ? null : sha256.trim().toLowerCase();
+		if (fileName == null || sha256 == null || sha256.length() != SHA256_LENGTH * 2 || !sha256.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+			return false;
+		}
+		if (!sha256.equals(checksums.put(fileName, sha256))) {
+			dirty = true;
+		}
+		return true;
+	}
+
+	public synchronized Collection<String> getChecksums() {
+		return Collections.unmodifiableCollection(checksums.values());
+	}
+
+	/**
+	 * Writes the checksums, if some were added since they were loaded or saved.
+	 */
+	public synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		Path tmp = null;
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			// the directory may be shared by several servers
+			tmp = Files.createTempFile(file.getParentFile().toPath(), "checksums", ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(checksums.size());
+				for (Map.Entry<String, String> entry : checksums.entrySet()) {
+					byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+					out.writeShort(name.length);
+					out.write(name);
+					out.write(toBytes(entry.getValue()));
+				}
+			}
+			Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			dirty = false;
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Cannot save Gradle wrapper checksums to " + file, e);
+			if (tmp != null) {
+				try {
+					Files.deleteIfExists(tmp);
+				} catch (IOException e1) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	private void load() {
+		try {
+			// not memory-mapped, a mapped file can't be replaced on Windows
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+			if (buffer.getInt() != MAGIC) {
+				JavaLanguageServerPlugin.logInfo("Ignoring invalid Gradle wrapper checksums " + file);
+				return;
+			}
+			int count = buffer.getInt();
+			byte[] sha256 = new byte[SHA256_LENGTH];
+			for (int i = 0; i < count; i++) {
+				byte[] name = new byte[buffer.getShort() & 0xffff];
+				buffer.get(name);
+				buffer.get(sha256);
+				checksums.put(new String(name, StandardCharsets.UTF_8), toHex(sha256));
+			}
+		} catch (IOException | BufferUnderflowException e) {
+			JavaLanguageServerPlugin.logException("Cannot read Gradle wrapper checksums from " + file, e);
+			checksums.clear();
+		}
+	}
+
+	private static byte[] toBytes(String hex) {
+		byte[] bytes = new byte[hex.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+		}
+		return bytes;
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder result = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(String.format("%02x", b));
+		}
+		return result.toString();
+	}
+}
@@ -12,14 +12,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.internal.gradle.checksums;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -75,10 +72,11 @@ public class DownloadChecksumJob extends Job {
 				continue;
 			}
 			try (AutoCloseable closer = (() -> connection.disconnect()); InputStreamReader reader = new InputStreamReader(connection.getInputStream(), Charsets.UTF_8);) {
-				String sha256 = CharStreams.toString(reader);
-				File sha256File = new File(WrapperValidator.getSha256CacheFile(), WrapperValidator.getFileName(urlStr));
-				write(sha256File, sha256);
-				WrapperValidator.allow(sha256);
+				ChecksumStore store = WrapperValidator.getChecksumStore();
+				String fileName = WrapperValidator.getFileName(urlStr);
+				if (store.put(fileName, CharStreams.toString(reader))) {
+					WrapperValidator.allow(store.get(fileName));
+				}
 				subMonitor.worked(2);
 			} catch (Exception e) {
 				JavaLanguageServerPlugin.logException("Cannot download Gradle sha256 checksum: " + url.toString(), e);
@@ -93,14 +91,6 @@ public class DownloadChecksumJob extends Job {
 		queue.add(urlStr);
 	}
 
-	private void write(File sha256File, String sha256) {
-		try {
-			Files.write(Paths.get(sha256File.getAbsolutePath()), sha256.getBytes());
-		} catch (IOException e) {
-			JavaLanguageServerPlugin.logException(e);
-		}
-	}
-
 	/* (non-Javadoc)
 	 * @see org.eclipse.core.runtime.jobs.Job#belongsTo(java.lang.Object)
 	 */
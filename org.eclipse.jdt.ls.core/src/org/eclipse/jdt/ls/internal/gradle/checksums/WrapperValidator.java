@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.runtime.CoreException;
@@ -76,6 +77,11 @@ public class WrapperValidator {
 	private static Set<String> disallowed = new HashSet<>();
 	private static Set<String> wrapperChecksumUrls = new HashSet<>();
 	private static AtomicBoolean downloaded = new AtomicBoolean(false);
+	private static ChecksumStore checksumStore;
+	/**
+	 * The checksums of the wrapper jars, by path
+	 */
+	private static Map<String, WrapperChecksum> wrapperChecksums = new ConcurrentHashMap<>();
 	private HashProvider hashProvider;
 	private int queueLength;
 
@@ -128,6 +134,7 @@ public class WrapperValidator {
 					DownloadChecksumJob downloadJob = new DownloadChecksumJob();
 					int count = 0;
 					File cacheDir = getSha256CacheFile();
+					ChecksumStore store = getChecksumStore();
 					for (String wrapperChecksumUrl : urls) {
 						try {
 							if (WrapperValidator.wrapperChecksumUrls.contains(wrapperChecksumUrl)) {
@@ -137,8 +144,15 @@ public class WrapperValidator {
 							if (fileName == null) {
 								continue;
 							}
-							File sha256File = new File(cacheDir, fileName);
-							if (!sha256File.exists() || sha256File.lastModified() < versionFile.lastModified()) {
+							String sha256 = store.get(fileName);
+							if (sha256 == null) {
+								// migrate the checksum downloaded by a previous version
+								File sha256File = new File(cacheDir, fileName);
+								if (sha256File.isFile() && store.put(fileName, read(sha256File))) {
+									sha256 = store.get(fileName);
+								}
+							}
+							if (sha256 == null) {
 								count++;
 								if (count > queueLength) {
 									downloadJob.schedule();
@@ -147,7 +161,6 @@ public class WrapperValidator {
 								}
 								downloadJob.add(wrapperChecksumUrl);
 							} else {
-								String sha256 = read(sha256File);
 								allowed.add(sha256);
 							}
 						} catch (Exception e) {
@@ -158,6 +171,7 @@ public class WrapperValidator {
 						downloadJob.schedule();
 					}
 					JobHelpers.waitForJobs(DownloadChecksumJob.WRAPPER_VALIDATOR_JOBS, new NullProgressMonitor());
+					store.save();
 					downloaded.set(true);
 				} catch (IOException | OperationCanceledException e) {
 					throw ExceptionFactory.newException(e);
@@ -173,13 +187,33 @@ public class WrapperValidator {
 			}
 		}
 		try {
-			String sha256 = hashProvider.getChecksum(wrapperJar.toFile());
+			String sha256 = getChecksum(wrapperJar.toFile());
 			return new ValidationResult(wrapperJar.toString(), sha256, allowed.contains(sha256));
 		} catch (IOException e) {
 			throw ExceptionFactory.newException(e);
 		}
 	}
 
+	/**
+	 * Returns the checksum of the given wrapper jar, which is computed again
+	 * only if the jar changed.
+	 */
+	private String getChecksum(File wrapperJar) throws IOException {
+		String path = wrapperJar.getAbsolutePath();
+		long size = wrapperJar.length();
+		long lastModified = wrapperJar.lastModified();
+		WrapperChecksum checksum = wrapperChecksums.get(path);
+		if (checksum == null || checksum.size != size || checksum.lastModified != lastModified) {
+			String sha256 = hashProvider.getChecksum(wrapperJar);
+			if (sha256 == null) {
+				return null;
+			}
+			checksum = new WrapperChecksum(size, lastModified, sha256);
+			wrapperChecksums.put(path, checksum);
+		}
+		return checksum.sha256;
+	}
+
 	private void loadInternalChecksums() {
 		Bundle bundle = Platform.getBundle(IConstants.PLUGIN_ID);
 		URL url = FileLocator.find(bundle, new org.eclipse.core.runtime.Path(GRADLE_CHECKSUMS));
@@ -265,6 +299,17 @@ public class WrapperValidator {
 		return xdgCache;
 	}
 
+	/**
+	 * @return the store of the checksums downloaded to the cache directory
+	 */
+	public static synchronized ChecksumStore getChecksumStore() {
+		File cacheDir = getSha256CacheFile();
+		if (checksumStore == null || !checksumStore.getFile().getParentFile().equals(cacheDir)) {
+			checksumStore = new ChecksumStore(cacheDir);
+		}
+		return checksumStore;
+	}
+
 	public static File getSha256CacheFile() {
 		String checksumCache = System.getProperty("gradle.checksum.cacheDir");
 		File file;
@@ -312,4 +357,17 @@ public class WrapperValidator {
 		return Collections.unmodifiableSet(allowed);
 	}
 
+	private static final class WrapperChecksum {
+
+		private final long size;
+		private final long lastModified;
+		private final String sha256;
+
+		private WrapperChecksum(long size, long lastModified, String sha256) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.sha256 = sha256;
+		}
+	}
+
 }
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.launching.IVMInstallType;
+import org.eclipse.jdt.launching.LibraryLocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JVMProbeCacheTest {
+
+	private File stateLocation;
+	private File installation;
+	private IVMInstallType installType;
+	private LibraryLocation[] libraries;
+
+	@Before
+	public void setup() throws Exception {
+		stateLocation = Files.createTempDirectory("jvm-probes").toFile();
+		installation = new File(stateLocation, "jdk");
+		installation.mkdirs();
+		Files.write(new File(installation, "release").toPath(), "JAVA_VERSION=\"11\"".getBytes());
+		libraries = new LibraryLocation[] { new LibraryLocation(Path.fromOSString(new File(installation, "jrt-fs.jar").getAbsolutePath()), Path.EMPTY, Path.EMPTY) };
+		installType = mock(IVMInstallType.class);
+		when(installType.getId()).thenReturn("test");
+		when(installType.validateInstallLocation(any())).thenReturn(Status.OK_STATUS);
+		when(installType.getDefaultLibraryLocations(any())).thenReturn(libraries);
+	}
+
+	@After
+	public void cleanUp() throws Exception {
+		FileUtils.deleteDirectory(stateLocation);
+	}
+
+	@Test
+	public void testProbesArePersisted() {
+		JVMProbeCache cache = new JVMProbeCache(stateLocation);
+		Map<File, JVMProbeCache.Probe> probes = cache.probe(Collections.singleton(installation), installType);
+		assertTrue(probes.get(installation).getStatus().isOK());
+
+		JVMProbeCache restored = new JVMProbeCache(stateLocation);
+		probes = restored.probe(Collections.singleton(installation), installType);
+		assertTrue(probes.get(installation).getStatus().isOK());
+		assertArrayEquals(libraries, probes.get(installation).getLibraryLocations());
+		verify(installType, times(1)).validateInstallLocation(installation);
+	}
+
+	@Test
+	public void testChangedInstallationIsProbedAgain() throws Exception {
+		JVMProbeCache cache = new JVMProbeCache(stateLocation);
+		cache.probe(Collections.singleton(installation), installType);
+		Files.write(new File(installation, "release").toPath(), "JAVA_VERSION=\"11.0.2\"".getBytes());
+		cache.probe(Collections.singleton(installation), installType);
+		verify(installType, times(2)).validateInstallLocation(installation);
+	}
+
+	@Test
+	public void testInvalidInstallationIsNotCached() {
+		when(installType.validateInstallLocation(any())).thenReturn(Status.CANCEL_STATUS);
+		JVMProbeCache cache = new JVMProbeCache(stateLocation);
+		assertFalse(cache.probe(Collections.singleton(installation), installType).get(installation).getStatus().isOK());
+		cache.probe(Collections.singleton(installation), installType);
+		verify(installType, times(2)).validateInstallLocation(installation);
+	}
+}
@@ -16,6 +16,8 @@ package org.eclipse.jdt.ls.core.internal.commands;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -25,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.JavaRuntime;
@@ -241,6 +244,25 @@ public class ProjectCommandTest extends AbstractInvisibleProjectBasedTest {
         assertEquals(0, result.modulepaths.length);
     }
 
+    @Test
+    public void testGetClasspathsIsCached() throws Exception {
+        importProjects("eclipse/hello");
+        IProject project = WorkspaceHelper.getProject("hello");
+        String uriString = project.getFile("src/java/Bar.java").getLocationURI().toString();
+        ClasspathOptions options = new ClasspathOptions();
+        options.scope = "test";
+        ClasspathResult result = ProjectCommand.getClasspaths(uriString, options);
+        assertEquals(2, result.classpaths.length);
+        assertSame(result, ProjectCommand.getClasspaths(uriString, options));
+
+        IJavaProject javaProject = ProjectUtils.getJavaProject(project);
+        IClasspathEntry[] rawClasspath = Arrays.stream(javaProject.getRawClasspath()).filter(entry -> !entry.getPath().lastSegment().equals("test")).toArray(IClasspathEntry[]::new);
+        javaProject.setRawClasspath(rawClasspath, monitor);
+        ClasspathResult newResult = ProjectCommand.getClasspaths(uriString, options);
+        assertNotSame(result, newResult);
+        assertEquals(1, newResult.classpaths.length);
+    }
+
     @Test
     public void testIsTestFileForMaven() throws Exception {
         importProjects("maven/classpathtest");
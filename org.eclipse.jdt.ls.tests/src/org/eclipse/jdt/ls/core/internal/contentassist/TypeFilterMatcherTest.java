@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class TypeFilterMatcherTest {
+
+	@Test
+	public void testPrefixes() {
+		TypeFilterMatcher matcher = new TypeFilterMatcher(Arrays.asList("java.awt.*", "com.sun.*", "sun.*"));
+		assertTrue(matcher.matches("java.awt.List"));
+		assertTrue(matcher.matches("java.awt.event.ActionEvent".toCharArray()));
+		assertTrue(matcher.matches("sun.misc.Unsafe"));
+		assertFalse(matcher.matches("java.util.List"));
+		assertFalse(matcher.matches("java.aw"));
+		assertFalse(matcher.matches("org.sun.Foo".toCharArray()));
+	}
+
+	@Test
+	public void testExactNames() {
+		TypeFilterMatcher matcher = new TypeFilterMatcher(Arrays.asList("java.util.List", "java.util.Lis*"));
+		assertTrue(matcher.matches("java.util.List"));
+		assertTrue(matcher.matches("java.util.Lisp"));
+		assertFalse(matcher.matches("java.util.Li"));
+		TypeFilterMatcher exact = new TypeFilterMatcher(Arrays.asList("java.util.List"));
+		assertFalse(exact.matches("java.util.ListIterator"));
+	}
+
+	@Test
+	public void testWildcards() {
+		TypeFilterMatcher matcher = new TypeFilterMatcher(Arrays.asList("*.internal.*", "org.?oo.Bar", "*Test"));
+		assertTrue(matcher.matches("org.eclipse.jdt.internal.core.JavaModel"));
+		assertTrue(matcher.matches("org.foo.Bar".toCharArray()));
+		assertTrue(matcher.matches("org.goo.Bar"));
+		assertTrue(matcher.matches("org.example.FooTest"));
+		assertFalse(matcher.matches("org.fooo.Bar"));
+		assertFalse(matcher.matches("org.example.FooTests"));
+		assertFalse(matcher.matches("org.eclipse.jdt.core.JavaCore"));
+	}
+
+	@Test
+	public void testEmpty() {
+		TypeFilterMatcher matcher = new TypeFilterMatcher(Collections.emptyList());
+		assertTrue(matcher.isEmpty());
+		assertFalse(matcher.matches("java.util.List"));
+		assertTrue(new TypeFilterMatcher(Arrays.asList("*")).matches("java.util.List"));
+	}
+}
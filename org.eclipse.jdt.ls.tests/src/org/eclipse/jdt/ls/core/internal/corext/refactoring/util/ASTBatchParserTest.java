@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.corext.refactoring.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.Test;
+
+public class ASTBatchParserTest extends AbstractProjectsManagerBasedTest {
+
+	@Test
+	public void testParseInOrder() throws Exception {
+		importProjects("eclipse/hello");
+		IJavaProject project = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		IPackageFragment pack = project.getPackageFragmentRoot(project.getProject().getFolder("src")).createPackageFragment("batch", false, monitor);
+		List<ICompilationUnit> units = new ArrayList<>();
+		units.add(pack.createCompilationUnit("A.java", "package batch;\npublic class A {}\n", true, monitor));
+		for (int i = 0; i < 30; i++) {
+			units.add(pack.createCompilationUnit("B" + i + ".java", "package batch;\npublic class B" + i + " extends A {}\n", true, monitor));
+		}
+
+		List<ICompilationUnit> handled = new ArrayList<>();
+		ASTBatchParser.parse(units, (unit, ast) -> {
+			handled.add(unit);
+			ITypeBinding binding = ((AbstractTypeDeclaration) ast.types().get(0)).resolveBinding();
+			assertNotNull(binding);
+			assertEquals(unit.findPrimaryType().getFullyQualifiedName(), binding.getQualifiedName());
+		}, monitor);
+		assertEquals(units, handled);
+	}
+
+	@Test
+	public void testWindowSize() {
+		assertEquals(25, ASTBatchParser.getWindowSize(64 * 0x100000L));
+		assertEquals(256, ASTBatchParser.getWindowSize(1024 * 0x100000L));
+		assertEquals(500, ASTBatchParser.getWindowSize(8192 * 0x100000L));
+		assertEquals(500, ASTBatchParser.getWindowSize(Long.MAX_VALUE));
+	}
+}
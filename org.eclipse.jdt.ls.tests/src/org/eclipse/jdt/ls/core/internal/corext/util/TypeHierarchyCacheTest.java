@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.corext.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeHierarchyCacheTest extends AbstractProjectsManagerBasedTest {
+
+	private IJavaProject project;
+	private IPackageFragment pack;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		project = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		pack = project.getPackageFragmentRoot(project.getProject().getFolder("src")).createPackageFragment("hierarchy", false, monitor);
+	}
+
+	@After
+	public void clearCache() {
+		TypeHierarchyCache.clear();
+	}
+
+	@Test
+	public void testHierarchyIsShared() throws Exception {
+		ICompilationUnit unit = pack.createCompilationUnit("A.java", "package hierarchy;\npublic class A {}\n", true, monitor);
+		IType type = unit.getType("A");
+		ITypeHierarchy hierarchy = TypeHierarchyCache.getTypeHierarchy(type, monitor);
+		assertEquals(0, hierarchy.getAllSubtypes(type).length);
+		assertSame(hierarchy, TypeHierarchyCache.getTypeHierarchy(type, monitor));
+		assertSame(hierarchy, TypeHierarchyCache.getSupertypeHierarchy(type, monitor));
+	}
+
+	@Test
+	public void testHierarchyIsUpdated() throws Exception {
+		ICompilationUnit unit = pack.createCompilationUnit("A.java", "package hierarchy;\npublic class A {}\n", true, monitor);
+		IType type = unit.getType("A");
+		ITypeHierarchy hierarchy = TypeHierarchyCache.getTypeHierarchy(type, monitor);
+		assertEquals(0, hierarchy.getAllSubtypes(type).length);
+
+		pack.createCompilationUnit("B.java", "package hierarchy;\npublic class B extends A {}\n", true, monitor);
+		ITypeHierarchy newHierarchy = TypeHierarchyCache.getTypeHierarchy(type, monitor);
+		assertNotSame(hierarchy, newHierarchy);
+		IType[] subtypes = newHierarchy.getAllSubtypes(type);
+		assertEquals(1, subtypes.length);
+		assertEquals("B", subtypes[0].getElementName());
+	}
+}
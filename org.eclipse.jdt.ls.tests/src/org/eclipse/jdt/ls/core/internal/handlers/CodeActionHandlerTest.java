@@ -24,9 +24,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -45,6 +47,7 @@ import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.codemanipulation.AbstractSourceTestCase;
 import org.eclipse.jdt.ls.core.internal.correction.AbstractQuickFixTest;
+import org.eclipse.jdt.ls.core.internal.corrections.CorrectionBudget;
 import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.CodeAction;
@@ -482,6 +485,87 @@ public class CodeActionHandlerTest extends AbstractCompilationUnitBasedTest {
 		Assert.assertEquals(CodeActionHandler.COMMAND_ID_APPLY_EDIT, c.getCommand());
 	}
 
+	@Test
+	public void testCodeAction_cachedForSameRequest() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/java/Foo.java", "import java.sql.*; \n" + "public class Foo {\n" + "	void foo() {\n" + "	}\n" + "}\n");
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		final Range range = CodeActionUtil.getRange(unit, "java.sql");
+		params.setRange(range);
+		params.setContext(new CodeActionContext(Arrays.asList(getDiagnostic(Integer.toString(IProblem.UnusedImport), range))));
+		List<Either<Command, CodeAction>> codeActions = getCodeActions(params);
+		List<Either<Command, CodeAction>> cachedCodeActions = getCodeActions(params);
+		Assert.assertEquals(codeActions.size(), cachedCodeActions.size());
+		for (int i = 0; i < codeActions.size(); i++) {
+			Assert.assertEquals(codeActions.get(i).getRight().getTitle(), cachedCodeActions.get(i).getRight().getTitle());
+			Assert.assertNotSame(codeActions.get(i).getRight(), cachedCodeActions.get(i).getRight());
+		}
+	}
+
+	@Test
+	public void testCodeAction_withinTimeBudget() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/java/Foo.java", "import java.sql.*; \n" + "public class Foo {\n" + "	void foo() {\n" + "	}\n" + "}\n");
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		final Range range = CodeActionUtil.getRange(unit, "java.sql");
+		params.setRange(range);
+		params.setContext(new CodeActionContext(Arrays.asList(getDiagnostic(Integer.toString(IProblem.UnusedImport), range))));
+		try {
+			preferences.setCodeActionTimeBudget(60000);
+			List<Either<Command, CodeAction>> codeActions = new CodeActionHandler(this.preferenceManager).getCodeActionCommands(params, new NullProgressMonitor());
+			Assert.assertNotNull(codeActions);
+			Assert.assertTrue(codeActions.size() >= 3);
+			Assert.assertEquals(CodeActionKind.QuickFix, codeActions.get(0).getRight().getKind());
+		} finally {
+			preferences.setCodeActionTimeBudget(0);
+		}
+	}
+
+	@Test
+	public void testCodeAction_exceededTimeBudget() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/java/Foo.java", "import java.sql.*; \n" + "public class Foo {\n" + "	void foo() {\n" + "	}\n" + "}\n");
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		final Range range = CodeActionUtil.getRange(unit, "java.sql");
+		params.setRange(range);
+		params.setContext(new CodeActionContext(Arrays.asList(getDiagnostic(Integer.toString(IProblem.UnusedImport), range))));
+		CodeActionCache codeActionCache = new CodeActionCache();
+		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager, codeActionCache) {
+			@Override
+			CorrectionBudget createBudget(long timeBudget) {
+				// a budget spent as soon as the request starts
+				return new CorrectionBudget(1) {
+					@Override
+					public boolean isExceeded() {
+						return true;
+					}
+				};
+			}
+		};
+		List<Either<Command, CodeAction>> codeActions = handler.getCodeActionCommands(params, new NullProgressMonitor());
+		Assert.assertFalse(codeActions.isEmpty());
+		for (Either<Command, CodeAction> codeAction : codeActions) {
+			// the quick fixes of the diagnostic are kept, the refactorings, assists and source actions are skipped
+			Assert.assertEquals(CodeActionKind.QuickFix, codeAction.getRight().getKind());
+		}
+		Assert.assertTrue(codeActions.stream().anyMatch(ca -> ca.getRight().getTitle().startsWith("Remove unused import")));
+		// the deferred processors are run in the background, the complete result is cached for the next identical request
+		Job.getJobManager().join(CodeActionHandler.CODE_ACTION_COMPLETION_JOBS, new NullProgressMonitor());
+		List<Either<Command, CodeAction>> allCodeActions = handler.getCodeActionCommands(params, new NullProgressMonitor());
+		Assert.assertTrue(allCodeActions.size() > codeActions.size());
+		Assert.assertTrue(allCodeActions.stream().anyMatch(ca -> ca.isLeft() || !CodeActionKind.QuickFix.equals(ca.getRight().getKind())));
+	}
+
+	@Test
+	public void testCodeAction_deferExpensiveProcessors() throws Exception {
+		CorrectionBudget.unlimited().record("expensive", System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+		CorrectionBudget budget = new CorrectionBudget(500);
+		Assert.assertTrue("A processor costing more than what is left of the budget should be deferred", budget.defer("expensive"));
+		Assert.assertFalse("A processor of unknown cost should run", budget.defer("unknown"));
+		Assert.assertTrue(budget.hasDeferred());
+		Assert.assertFalse(CorrectionBudget.unlimited().defer("expensive"));
+	}
+
 	@Test
 	public void testCodeAction_customFileFormattingOptions() throws Exception {
 		when(clientPreferences.isWorkspaceConfigurationSupported()).thenReturn(true);
@@ -121,6 +121,48 @@ public class CodeActionResolveHandlerTest extends AbstractCompilationUnitBasedTe
 		Assert.assertEquals(buf.toString(), actual);
 	}
 
+	@Test
+	public void testResolveCodeAction_CachedQuickFixes() throws Exception {
+		when(preferenceManager.getClientPreferences().isResolveCodeActionSupported()).thenReturn(true);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("public class Foo {\n");
+		buf.append("    void foo() {\n");
+		buf.append("        String bar = \"astring\";");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit unit = defaultPackage.createCompilationUnit("Foo.java", buf.toString(), false, null);
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		final Range range = CodeActionUtil.getRange(unit, "bar");
+		params.setRange(range);
+		CodeActionContext context = new CodeActionContext(
+			Arrays.asList(getDiagnostic(Integer.toString(IProblem.LocalVariableIsNeverUsed), range)),
+			Collections.singletonList(CodeActionKind.QuickFix)
+		);
+		params.setContext(context);
+
+		List<Either<Command, CodeAction>> quickfixActions = server.codeAction(params).join();
+		// the proposals aren't cached, the cached code actions are resolved by computing them again
+		List<Either<Command, CodeAction>> cachedQuickfixActions = server.codeAction(params).join();
+		assertEquals(quickfixActions.size(), cachedQuickfixActions.size());
+		Optional<Either<Command, CodeAction>> removeUnusedResponse = cachedQuickfixActions.stream().filter(codeAction -> {
+			return "Remove 'bar' and all assignments".equals(codeAction.getRight().getTitle());
+		}).findFirst();
+		Assert.assertTrue("Should return the quickfix \"Remove 'bar' and all assignments\"", removeUnusedResponse.isPresent());
+		CodeAction unresolvedCodeAction = removeUnusedResponse.get().getRight();
+		Assert.assertNotNull("Should preserve the data property for the unresolved code action", unresolvedCodeAction.getData());
+
+		CodeAction resolvedCodeAction = server.resolveCodeAction(unresolvedCodeAction).join();
+		Assert.assertNotNull("Should resolve the edit property in the resolveCodeAction request", resolvedCodeAction.getEdit());
+		String actual = AbstractQuickFixTest.evaluateWorkspaceEdit(resolvedCodeAction.getEdit());
+		buf = new StringBuilder();
+		buf.append("public class Foo {\n");
+		buf.append("    void foo() {    }\n");
+		buf.append("}\n");
+		Assert.assertEquals(buf.toString(), actual);
+	}
+
 	// See https://github.com/redhat-developer/vscode-java/issues/1992
 	@Test
 	public void testResolveCodeAction_AnnotationQuickFixes() throws Exception {
@@ -1480,6 +1480,26 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertFalse("No snippets should be returned", list.getItems().stream().anyMatch(ci -> ci.getKind() == CompletionItemKind.Snippet));
 	}
 
+	@Test
+	public void testSnippet_inner_class_after_modifier() throws JavaModelException {
+		//@formatter:off
+		ICompilationUnit unit = getWorkingCopy("src/org/sample/Test.java",
+				"package org.sample;\n" +
+				"public class Test {\n" +
+				"	void foo() {}\n" +
+				"	private cl\n" +
+				"}\n");
+		//@formatter:on
+		CompletionList list = requestCompletions(unit, "private cl");
+
+		assertNotNull(list);
+		CompletionItem item = list.getItems().stream().filter(i -> i.getKind() == CompletionItemKind.Snippet && "class".equals(i.getLabel())).findFirst().orElse(null);
+		assertNotNull(item);
+		String te = item.getInsertText();
+		assertTrue(te, te.contains("\nclass ${1:InnerTest} {"));
+		assertFalse(te, te.contains("public class"));
+	}
+
 	@Test
 	public void testSnippet_nested_inner_class() throws JavaModelException {
 		ICompilationUnit unit = getWorkingCopy("src/org/sample/Test.java", "package org.sample;\npublic class Test {}\npublic class InnerTest{\n");
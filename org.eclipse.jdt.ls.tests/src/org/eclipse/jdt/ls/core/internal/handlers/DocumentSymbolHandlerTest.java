@@ -34,8 +34,10 @@ import com.google.common.collect.TreeTraverser;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.lsp4j.DocumentSymbol;
@@ -211,6 +213,41 @@ public class DocumentSymbolHandlerTest extends AbstractProjectsManagerBasedTest
 		assertTrue("Should be deprecated", deprecated.getDeprecated());
 	}
 
+	@Test
+	public void testCachedHierarchicalSymbols() throws Exception {
+		String uri = ClassFileUtil.getURI(project, "org.sample.Bar");
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
+		unit.becomeWorkingCopy(monitor);
+		try {
+			DocumentSymbolCache cache = new DocumentSymbolCache();
+			List<DocumentSymbol> symbols = getHierarchicalSymbols(uri, cache);
+			List<DocumentSymbol> cachedSymbols = getHierarchicalSymbols(uri, cache);
+			assertSame(symbols.get(0), cachedSymbols.get(0));
+
+			int offset = unit.getSource().indexOf("\tpublic static final String EMPTY");
+			unit.getBuffer().replace(offset, 0, "\tint count;\n");
+			unit.reconcile(ICompilationUnit.NO_AST, false, null, monitor);
+			List<DocumentSymbol> updatedSymbols = getHierarchicalSymbols(uri, cache);
+			assertEquals(getHierarchicalSymbols(uri, null), updatedSymbols);
+			DocumentSymbol type = symbols.get(1);
+			DocumentSymbol updatedType = updatedSymbols.get(1);
+			assertEquals("Bar", updatedType.getName());
+			assertEquals(type.getChildren().size() + 1, updatedType.getChildren().size());
+			// the members before the change are reused
+			assertSame(type.getChildren().get(0), updatedType.getChildren().get(0));
+			assertSame(type.getChildren().get(2), updatedType.getChildren().get(2));
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
+	private List<DocumentSymbol> getHierarchicalSymbols(String uri, DocumentSymbolCache cache) {
+		DocumentSymbolParams params = new DocumentSymbolParams();
+		params.setTextDocument(new TextDocumentIdentifier(uri));
+		when(preferenceManager.getClientPreferences().isHierarchicalDocumentSymbolSupported()).thenReturn(true);
+		return new DocumentSymbolHandler(preferenceManager, cache).documentSymbol(params, monitor).stream().map(Either::getRight).collect(toList());
+	}
+
 	private List<? extends DocumentSymbol> internalGetHierarchicalSymbols(IProject project, IProgressMonitor monitor, String className)
 			throws JavaModelException, UnsupportedEncodingException, InterruptedException, ExecutionException {
 		String uri = ClassFileUtil.getURI(project, className);
@@ -13,11 +13,13 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.net.URL;
 import java.util.Hashtable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
@@ -27,6 +29,9 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.URIUtil;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
@@ -127,6 +132,41 @@ public class JavaSettingsTest extends AbstractCompilationUnitBasedTest {
 		assertEquals("ignore", JavaCore.getOption(MISSING_SERIAL_VERSION));
 	}
 
+	@Test
+	public void testCleanBuildOnlyWhenSettingsChange() throws Exception {
+		AtomicBoolean cleanScheduled = new AtomicBoolean();
+		JobChangeAdapter listener = new JobChangeAdapter() {
+
+			@Override
+			public void scheduled(IJobChangeEvent event) {
+				if ("Clean workspace...".equals(event.getJob().getName())) {
+					cleanScheduled.set(true);
+				}
+			}
+		};
+		Job.getJobManager().addJobChangeListener(listener);
+		try {
+			preferences.setSettingsUrl("../../formatter/settings.prefs");
+			StandardProjectsManager.configureSettings(preferences);
+			waitForBackgroundJobs();
+			assertTrue("the changed settings should have cleaned the workspace", cleanScheduled.get());
+			cleanScheduled.set(false);
+			StandardProjectsManager.configureSettings(preferences);
+			waitForBackgroundJobs();
+			assertFalse("the unchanged settings shouldn't have cleaned the workspace", cleanScheduled.get());
+			preferences.setSettingsUrl(null);
+			StandardProjectsManager.configureSettings(preferences);
+			waitForBackgroundJobs();
+			assertTrue("the changed settings should have cleaned the workspace", cleanScheduled.get());
+		} finally {
+			Job.getJobManager().removeJobChangeListener(listener);
+			JavaCore.setOptions(options);
+			preferences.setSettingsUrl(null);
+			StandardProjectsManager.configureSettings(preferences);
+		}
+		assertEquals("ignore", JavaCore.getOption(MISSING_SERIAL_VERSION));
+	}
+
 	@Test
 	public void testFileChanged() throws Exception {
 		assertEquals("ignore", JavaCore.getOption(MISSING_SERIAL_VERSION));
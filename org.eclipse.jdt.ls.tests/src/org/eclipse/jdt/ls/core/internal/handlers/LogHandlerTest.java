@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.lsp4j.MessageType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class LogHandlerTest {
+
+	private JavaClientConnection connection;
+	private LogHandler logHandler;
+	private String logLevel;
+
+	@Before
+	public void setUp() {
+		logLevel = System.getProperty("log.level");
+		System.setProperty("log.level", "ALL");
+		connection = mock(JavaClientConnection.class);
+		logHandler = new LogHandler(new ILogFilter() {
+			@Override
+			public boolean accepts(IStatus status) {
+				return status.getMessage().startsWith("LogHandlerTest");
+			}
+		});
+		logHandler.install(connection);
+	}
+
+	@After
+	public void tearDown() {
+		logHandler.uninstall();
+		if (logLevel == null) {
+			System.clearProperty("log.level");
+		} else {
+			System.setProperty("log.level", logLevel);
+		}
+	}
+
+	@Test
+	public void testSendErrors() {
+		JavaLanguageServerPlugin.logError("LogHandlerTest error 1");
+		JavaLanguageServerPlugin.logError("LogHandlerTest error 2");
+		verify(connection, timeout(1000).atLeastOnce()).logMessage(eq(MessageType.Error), contains("LogHandlerTest error 2"));
+	}
+
+	@Test
+	public void testFilteredMessages() {
+		JavaLanguageServerPlugin.logError("Filtered error");
+		logHandler.uninstall();
+		verify(connection, never()).logMessage(eq(MessageType.Error), contains("Filtered error"));
+	}
+
+	@Test
+	public void testBatching() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch sent = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			// holds the writer while the next messages are queued
+			sending.countDown();
+			sent.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(connection).logMessage(eq(MessageType.Error), contains("LogHandlerTest error 0"));
+		JavaLanguageServerPlugin.logError("LogHandlerTest error 0");
+		assertTrue(sending.await(5, TimeUnit.SECONDS));
+		JavaLanguageServerPlugin.logError("LogHandlerTest error 1");
+		JavaLanguageServerPlugin.logError("LogHandlerTest error 2");
+		JavaLanguageServerPlugin.logInfo("LogHandlerTest info 3");
+		sent.countDown();
+
+		ArgumentCaptor<String> errors = ArgumentCaptor.forClass(String.class);
+		verify(connection, timeout(1000).times(2)).logMessage(eq(MessageType.Error), errors.capture());
+		String batch = errors.getAllValues().get(1);
+		assertTrue(batch, batch.contains("LogHandlerTest error 1\n") && batch.endsWith("LogHandlerTest error 2"));
+		// a message of another type starts a new batch
+		verify(connection, timeout(1000)).logMessage(eq(MessageType.Info), contains("LogHandlerTest info 3"));
+	}
+
+	@Test
+	public void testRateLimit() {
+		for (int i = 0; i < 60; i++) {
+			JavaLanguageServerPlugin.logInfo("LogHandlerTest info " + i);
+		}
+		JavaLanguageServerPlugin.logError("LogHandlerTest error");
+		// errors are never limited
+		verify(connection, timeout(1000)).logMessage(eq(MessageType.Error), contains("LogHandlerTest error"));
+		// the suppressed messages are reported once the period is over, without new messages
+		verify(connection, timeout(3000)).logMessage(eq(MessageType.Log), contains("10 similar messages were suppressed: LogHandlerTest info "));
+
+		ArgumentCaptor<String> infos = ArgumentCaptor.forClass(String.class);
+		verify(connection, timeout(1000).atLeastOnce()).logMessage(eq(MessageType.Info), infos.capture());
+		int sent = 0;
+		for (String batch : infos.getAllValues()) {
+			sent += StringUtils.countMatches(batch, "LogHandlerTest info ");
+		}
+		assertEquals(50, sent);
+	}
+
+	@Test
+	public void testGetCategory() {
+		assertEquals("Reconciled ", LogHandler.getCategory("Reconciled 1. Took 2 ms"));
+		assertEquals("", LogHandler.getCategory(null));
+		assertEquals("abcdefghijabcdefghijabcdefghijabcdefghij", LogHandler.getCategory("abcdefghijabcdefghijabcdefghijabcdefghijabcdefghij"));
+	}
+}
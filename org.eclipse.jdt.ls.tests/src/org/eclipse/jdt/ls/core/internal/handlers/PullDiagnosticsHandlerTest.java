@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsResultStore.DiagnosticsResult;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.DocumentDiagnosticParams;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.DocumentDiagnosticReport;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.PreviousResultId;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.WorkspaceDiagnosticParams;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.WorkspaceDiagnosticReport;
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PullDiagnosticsHandlerTest {
+
+	private static final String FOO_URI = "file:///project/src/Foo.java";
+	private static final String BAR_URI = "file:///project/src/Bar.java";
+
+	private DiagnosticsResultStore store;
+	private PullDiagnosticsHandler handler;
+
+	@Before
+	public void setup() {
+		store = new DiagnosticsResultStore();
+		handler = new PullDiagnosticsHandler(store, null);
+	}
+
+	@Test
+	public void testResultIdIsStable() {
+		DiagnosticsResult first = store.update(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 1)));
+		DiagnosticsResult second = store.update(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 1)));
+		assertSame(first, second);
+		DiagnosticsResult third = store.update(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 2)));
+		assertNotEquals(first.getResultId(), third.getResultId());
+	}
+
+	@Test
+	public void testDocumentDiagnostic() {
+		store.update(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 1)));
+		DocumentDiagnosticReport report = handler.documentDiagnostic(new DocumentDiagnosticParams(new TextDocumentIdentifier(FOO_URI), null), null);
+		assertEquals(PullDiagnosticsHandler.FULL, report.kind);
+		assertEquals(1, report.items.size());
+
+		DocumentDiagnosticReport unchanged = handler.documentDiagnostic(new DocumentDiagnosticParams(new TextDocumentIdentifier(FOO_URI), report.resultId), null);
+		assertEquals(PullDiagnosticsHandler.UNCHANGED, unchanged.kind);
+		assertEquals(report.resultId, unchanged.resultId);
+		assertNull(unchanged.items);
+
+		store.update(FOO_URI, Collections.emptyList());
+		DocumentDiagnosticReport fixed = handler.documentDiagnostic(new DocumentDiagnosticParams(new TextDocumentIdentifier(FOO_URI), report.resultId), null);
+		assertEquals(PullDiagnosticsHandler.FULL, fixed.kind);
+		assertEquals(0, fixed.items.size());
+	}
+
+	@Test
+	public void testWorkspaceDiagnostic() {
+		String fooResultId = store.update(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 1))).getResultId();
+		store.update(BAR_URI, Arrays.asList(diagnostic("Bar cannot be resolved", 3)));
+
+		WorkspaceDiagnosticReport report = handler.workspaceDiagnostic(new WorkspaceDiagnosticParams(Arrays.asList(new PreviousResultId(FOO_URI, fooResultId))), null);
+		assertEquals(2, report.items.size());
+		for (WorkspaceDocumentDiagnosticReport item : report.items) {
+			if (FOO_URI.equals(item.uri)) {
+				assertEquals(PullDiagnosticsHandler.UNCHANGED, item.kind);
+			} else {
+				assertEquals(BAR_URI, item.uri);
+				assertEquals(PullDiagnosticsHandler.FULL, item.kind);
+				assertEquals(1, item.items.size());
+			}
+		}
+	}
+
+	@Test
+	public void testWorkspaceDiagnosticSkipsUnknownCleanDocuments() {
+		store.update(FOO_URI, Collections.emptyList());
+		List<WorkspaceDocumentDiagnosticReport> items = handler.workspaceDiagnostic(new WorkspaceDiagnosticParams(null), null).items;
+		assertEquals(0, items.size());
+	}
+
+	@Test
+	public void testWorkspaceDiagnosticClearsRemovedDocuments() {
+		String fooResultId = store.update(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 1))).getResultId();
+		store.update(BAR_URI, Arrays.asList(diagnostic("Bar cannot be resolved", 3)));
+		store.removeAll("file:///project/src");
+		assertNull(store.get(BAR_URI));
+
+		List<WorkspaceDocumentDiagnosticReport> items = handler.workspaceDiagnostic(new WorkspaceDiagnosticParams(Arrays.asList(new PreviousResultId(FOO_URI, fooResultId))), null).items;
+		assertEquals(1, items.size());
+		assertEquals(FOO_URI, items.get(0).uri);
+		assertEquals(PullDiagnosticsHandler.FULL, items.get(0).kind);
+		assertEquals(0, items.get(0).items.size());
+
+		items = handler.workspaceDiagnostic(new WorkspaceDiagnosticParams(Arrays.asList(new PreviousResultId(FOO_URI, items.get(0).resultId))), null).items;
+		assertEquals("Cleared documents should not be reported again", 0, items.size());
+	}
+
+	@Test
+	public void testPublishAsksPullingClientsToRefresh() throws Exception {
+		DiagnosticsResultStore pluginStore = JavaLanguageServerPlugin.getDiagnosticsResultStore();
+		JavaLanguageClient client = mock(JavaLanguageClient.class);
+		JavaClientConnection connection = new JavaClientConnection(client);
+		boolean pullEnabled = pluginStore.isPullEnabled();
+		try {
+			pluginStore.setPullEnabled(true);
+			connection.publishDiagnostics(new PublishDiagnosticsParams(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 1))));
+			verify(client, timeout(1000)).refreshDiagnostics();
+
+			connection.publishDiagnostics(new PublishDiagnosticsParams(FOO_URI, Arrays.asList(diagnostic("Foo cannot be resolved", 1))));
+			// unchanged diagnostics are not refreshed
+			Thread.sleep(500);
+			verify(client, times(1)).refreshDiagnostics();
+			verify(client, never()).publishDiagnostics(any(PublishDiagnosticsParams.class));
+		} finally {
+			pluginStore.setPullEnabled(pullEnabled);
+			pluginStore.remove(FOO_URI);
+			connection.disconnect();
+		}
+	}
+
+	private static Diagnostic diagnostic(String message, int line) {
+		Diagnostic diagnostic = new Diagnostic();
+		diagnostic.setMessage(message);
+		diagnostic.setSeverity(DiagnosticSeverity.Error);
+		diagnostic.setCode("16777218");
+		diagnostic.setRange(new Range(new Position(line, 0), new Position(line, 3)));
+		return diagnostic;
+	}
+}
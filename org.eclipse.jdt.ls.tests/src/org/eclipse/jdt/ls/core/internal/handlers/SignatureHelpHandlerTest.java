@@ -16,6 +16,7 @@ import static org.eclipse.jdt.ls.core.internal.JsonMessageHelper.getParams;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -191,6 +192,98 @@ public class SignatureHelpHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertEquals(help.getSignatures().get(help.getActiveSignature()).getLabel(), "foo(String s, String b) : void");
 	}
 
+	@Test
+	public void testSignatureHelp_session() throws JavaModelException {
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("   public void bar() {\n");
+		buf.append("     foo(\"a\", \"b\");\n");
+		buf.append("   }\n");
+		buf.append("   public void foo(String s) {}\n");
+		buf.append("   public void foo(String s, String b) {}\n");
+		buf.append("}\n");
+		ICompilationUnit cu = pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+		handler = new SignatureHelpHandler(preferenceManager, new SignatureHelpSession());
+		SignatureHelp help = getSignatureHelp(cu, 3, 9);
+		assertNotNull(help);
+		assertEquals(Integer.valueOf(0), help.getActiveParameter());
+		SignatureHelp next = getSignatureHelp(cu, 3, 14);
+		assertNotNull(next);
+		assertSame(help.getSignatures(), next.getSignatures());
+		assertEquals(Integer.valueOf(1), next.getActiveParameter());
+		assertEquals("foo(String s, String b) : void", next.getSignatures().get(next.getActiveSignature()).getLabel());
+	}
+
+	@Test
+	public void testSignatureHelp_sessionSelectsByType() throws JavaModelException {
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("   public void bar() {\n");
+		buf.append("     foo(\"a\", \"b\");\n");
+		buf.append("   }\n");
+		buf.append("   public void foo(String s, String b) {}\n");
+		buf.append("   public void foo(String s, int i) {}\n");
+		buf.append("}\n");
+		ICompilationUnit cu = pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+		SignatureHelpSession session = new SignatureHelpSession();
+		session.addElementChangeListener();
+		cu.becomeWorkingCopy(null);
+		try {
+			handler = new SignatureHelpHandler(preferenceManager, session);
+			SignatureHelp help = getSignatureHelp(cu, 3, 14);
+			assertNotNull(help);
+			assertEquals("foo(String s, String b) : void", help.getSignatures().get(help.getActiveSignature()).getLabel());
+
+			// the type of the argument changes, not the signatures
+			cu.getBuffer().replace(buf.indexOf("\"b\""), 3, "1");
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			SignatureHelp next = getSignatureHelp(cu, 3, 14);
+			assertNotNull(next);
+			assertSame(help.getSignatures(), next.getSignatures());
+			assertEquals("foo(String s, int i) : void", next.getSignatures().get(next.getActiveSignature()).getLabel());
+		} finally {
+			cu.discardWorkingCopy();
+			session.removeElementChangeListener();
+		}
+	}
+
+	@Test
+	public void testSignatureHelp_sessionInvalidated() throws JavaModelException {
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("   public void bar() {\n");
+		buf.append("     foo(\"a\", \"b\");\n");
+		buf.append("   }\n");
+		buf.append("   public void foo(String s, String b) {}\n");
+		buf.append("}\n");
+		ICompilationUnit cu = pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+		SignatureHelpSession session = new SignatureHelpSession();
+		session.addElementChangeListener();
+		cu.becomeWorkingCopy(null);
+		try {
+			handler = new SignatureHelpHandler(preferenceManager, session);
+			SignatureHelp help = getSignatureHelp(cu, 3, 14);
+			assertNotNull(help);
+			assertEquals(1, help.getSignatures().size());
+
+			// an overload is added after the invocation
+			cu.getBuffer().replace(buf.lastIndexOf("}"), 0, "   public void foo(String s, int i) {}\n");
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			SignatureHelp next = getSignatureHelp(cu, 3, 14);
+			assertNotNull(next);
+			assertEquals(2, next.getSignatures().size());
+		} finally {
+			cu.discardWorkingCopy();
+			session.removeElementChangeListener();
+		}
+	}
+
 	@Test
 	public void testSignatureHelp_constructor() throws JavaModelException {
 		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
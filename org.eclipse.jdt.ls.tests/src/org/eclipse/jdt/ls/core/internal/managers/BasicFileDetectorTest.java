@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.junit.Test;
 
 /**
@@ -234,6 +235,71 @@ public class BasicFileDetectorTest {
 		}
 	}
 
+	@Test
+	public void testScanGitIgnoredDirectories() throws Exception {
+		File tempDirectory = new File(System.getProperty("java.io.tmpdir"), "/gitignore_ws-" + new Random().nextInt(10000));
+		try {
+			FileUtils.copyDirectory(new File("projects/buildfiles"), tempDirectory);
+			FileUtils.writeStringToFile(new File(tempDirectory, ".gitignore"), "# generated\n/parent/1_0/\n");
+			FileUtils.writeStringToFile(new File(tempDirectory, "parent/1_1/.gitignore"), "1_2_*\n!1_2_1\n");
+			try (BasicFileDetector.ListingCache cache = BasicFileDetector.openListingCache()) {
+				BasicFileDetector detector = new BasicFileDetector(Paths.get(tempDirectory.getPath()), "buildfile").respectGitIgnore(true);
+				Collection<Path> dirs = detector.scan(null);
+				List<String> expectedDirs = separatorsToSystem(list("", "parent/1_1", "parent/1_1/1_2_1"));
+				assertEquals("Found " + dirs, expectedDirs, dirs.stream().map(dir -> tempDirectory.toPath().relativize(dir).toString()).collect(Collectors.toList()));
+
+				detector = new BasicFileDetector(Paths.get(tempDirectory.getPath()), "buildfile").respectGitIgnore(false);
+				dirs = detector.scan(null);
+				assertEquals("Found " + dirs, 6, dirs.size());
+			}
+		} finally {
+			FileUtils.deleteDirectory(tempDirectory);
+		}
+	}
+
+	@Test
+	public void testRespectGitIgnorePreference() throws Exception {
+		File tempDirectory = new File(System.getProperty("java.io.tmpdir"), "/gitignore_ws-" + new Random().nextInt(10000));
+		Preferences preferences = JavaLanguageServerPlugin.getPreferencesManager().getPreferences();
+		boolean respectGitIgnore = preferences.isJavaImportRespectGitIgnore();
+		try {
+			FileUtils.copyDirectory(new File("projects/buildfiles"), tempDirectory);
+			FileUtils.writeStringToFile(new File(tempDirectory, ".gitignore"), "/parent/\n");
+			preferences.setJavaImportRespectGitIgnore(false);
+			Collection<Path> dirs = new BasicFileDetector(Paths.get(tempDirectory.getPath()), "buildfile").scan(null);
+			assertEquals("The .gitignore files should be ignored by default, found " + dirs, 6, dirs.size());
+
+			preferences.setJavaImportRespectGitIgnore(true);
+			dirs = new BasicFileDetector(Paths.get(tempDirectory.getPath()), "buildfile").scan(null);
+			assertEquals("Found " + dirs, 1, dirs.size());
+		} finally {
+			preferences.setJavaImportRespectGitIgnore(respectGitIgnore);
+			FileUtils.deleteDirectory(tempDirectory);
+		}
+	}
+
+	@Test
+	public void testScanGitIgnoredDirectoriesAtAnyDepth() throws Exception {
+		File tempDirectory = new File(System.getProperty("java.io.tmpdir"), "/gitignore_ws-" + new Random().nextInt(10000));
+		try {
+			FileUtils.copyDirectory(new File("projects/buildfiles"), tempDirectory);
+			File gitIgnore = new File(tempDirectory, ".gitignore");
+			FileUtils.writeStringToFile(gitIgnore, "**/1_0\n**/1_1/1_2_1/\n");
+			BasicFileDetector detector = new BasicFileDetector(Paths.get(tempDirectory.getPath()), "buildfile").respectGitIgnore(true);
+			Collection<Path> dirs = detector.scan(null);
+			List<String> expectedDirs = separatorsToSystem(list("", "parent/1_1", "parent/1_1/1_2_0"));
+			assertEquals("Found " + dirs, expectedDirs, dirs.stream().map(dir -> tempDirectory.toPath().relativize(dir).toString()).collect(Collectors.toList()));
+
+			// a pattern starting with "**/" matches at the top level too
+			FileUtils.writeStringToFile(gitIgnore, "**/parent\n");
+			detector = new BasicFileDetector(Paths.get(tempDirectory.getPath()), "buildfile").respectGitIgnore(true);
+			dirs = detector.scan(null);
+			assertEquals("Found " + dirs, 1, dirs.size());
+		} finally {
+			FileUtils.deleteDirectory(tempDirectory);
+		}
+	}
+
 	@SafeVarargs
 	private final <E> List<E> list(E... elements) {
 		return new ArrayList<>(Arrays.asList(elements));
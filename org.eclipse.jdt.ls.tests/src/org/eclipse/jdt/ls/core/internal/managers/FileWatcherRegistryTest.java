@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
+import org.eclipse.lsp4j.FileSystemWatcher;
+import org.eclipse.lsp4j.Registration;
+import org.eclipse.lsp4j.Unregistration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class FileWatcherRegistryTest {
+
+	private static final FileSystemWatcher POM = new FileSystemWatcher("**/pom.xml");
+	private static final FileSystemWatcher GRADLE = new FileSystemWatcher("**/*.gradle");
+	private static final FileSystemWatcher JAVA = new FileSystemWatcher("**/*.java");
+
+	private JDTLanguageServer server;
+	private FileWatcherRegistry registry;
+
+	@Before
+	public void setUp() {
+		server = mock(JDTLanguageServer.class);
+		JavaLanguageServerPlugin.getInstance().setProtocol(server);
+		registry = new FileWatcherRegistry();
+	}
+
+	@After
+	public void tearDown() {
+		JavaLanguageServerPlugin.getInstance().setProtocol(null);
+	}
+
+	@Test
+	public void testRegisterEachWatcher() {
+		assertTrue(registry.update(Arrays.asList(POM, GRADLE)));
+		List<Registration> registrations = captureRegistrations(server, 1);
+		assertEquals(2, registrations.size());
+		assertNotEquals(registrations.get(0).getId(), registrations.get(1).getId());
+		for (Registration registration : registrations) {
+			assertEquals(Preferences.WORKSPACE_WATCHED_FILES, registration.getMethod());
+			assertEquals(1, ((DidChangeWatchedFilesRegistrationOptions) registration.getRegisterOptions()).getWatchers().size());
+		}
+		assertEquals(Collections.singletonList(POM), getWatchers(registrations.get(0)));
+		assertEquals(Collections.singletonList(GRADLE), getWatchers(registrations.get(1)));
+
+		assertFalse("The same watchers shouldn't be registered again", registry.update(Arrays.asList(GRADLE, POM)));
+		verify(server, times(1)).registerCapabilities(any());
+		verify(server, times(1)).unregisterCapabilities(any());
+	}
+
+	@Test
+	public void testUpdateOnlyChangedWatchers() {
+		registry.update(Arrays.asList(POM, GRADLE));
+		List<Registration> registrations = captureRegistrations(server, 1);
+
+		assertTrue(registry.update(Arrays.asList(GRADLE, JAVA)));
+		List<Registration> added = captureRegistrations(server, 2);
+		assertEquals(1, added.size());
+		assertEquals(Collections.singletonList(JAVA), getWatchers(added.get(0)));
+		List<Unregistration> removed = captureUnregistrations(server, 2);
+		assertEquals(1, removed.size());
+		assertEquals(registrations.get(0).getId(), removed.get(0).getId());
+		assertEquals(Preferences.WORKSPACE_WATCHED_FILES, removed.get(0).getMethod());
+	}
+
+	@Test
+	public void testRegisterAgainWithNewConnection() {
+		registry.update(Arrays.asList(POM, GRADLE));
+		JDTLanguageServer newServer = mock(JDTLanguageServer.class);
+		JavaLanguageServerPlugin.getInstance().setProtocol(newServer);
+
+		assertTrue(registry.update(Arrays.asList(POM, GRADLE)));
+		assertEquals(2, captureRegistrations(newServer, 1).size());
+		assertTrue("The watchers of the previous connection are gone", captureUnregistrations(newServer, 1).isEmpty());
+	}
+
+	@Test
+	public void testNoConnection() {
+		JavaLanguageServerPlugin.getInstance().setProtocol(null);
+		assertFalse(registry.update(Arrays.asList(POM, GRADLE)));
+	}
+
+	private static List<FileSystemWatcher> getWatchers(Registration registration) {
+		return ((DidChangeWatchedFilesRegistrationOptions) registration.getRegisterOptions()).getWatchers();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Registration> captureRegistrations(JDTLanguageServer server, int calls) {
+		ArgumentCaptor<List<Registration>> captor = ArgumentCaptor.forClass(List.class);
+		verify(server, times(calls)).registerCapabilities(captor.capture());
+		return captor.getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Unregistration> captureUnregistrations(JDTLanguageServer server, int calls) {
+		ArgumentCaptor<List<Unregistration>> captor = ArgumentCaptor.forClass(List.class);
+		verify(server, times(calls)).unregisterCapabilities(captor.capture());
+		return captor.getValue();
+	}
+}
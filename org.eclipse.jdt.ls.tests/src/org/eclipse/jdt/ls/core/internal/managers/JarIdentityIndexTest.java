@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.ls.core.internal.managers.JarIdentityIndex.Identity;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JarIdentityIndexTest {
+
+	private File stateLocation;
+	private List<String> lookups = new ArrayList<>();
+	private JarIdentityIndex.IChecksumIdentifier identifier = (sha1, monitor) -> {
+		lookups.add(sha1);
+		return new ArtifactKey("org.example", "foo", "1.0", null);
+	};
+
+	@Before
+	public void setup() throws Exception {
+		stateLocation = Files.createTempDirectory("jar-identities").toFile();
+	}
+
+	@After
+	public void cleanUp() throws Exception {
+		FileUtils.deleteDirectory(stateLocation);
+	}
+
+	@Test
+	public void testIdentitiesArePersisted() throws Exception {
+		IPath jar = createJar("foo.jar", "Foo.class");
+		JarIdentityIndex index = new JarIdentityIndex(stateLocation, identifier);
+		assertNull(index.get(jar));
+		assertNull(index.identify(jar, null));
+		assertTrue(index.index(Collections.singletonList(jar), null));
+		Identity identity = index.get(jar);
+		assertNotNull(identity);
+		assertEquals(40, identity.getSha1().length());
+		assertNull(identity.getArtifact());
+
+		ArtifactKey artifact = index.identify(jar, null);
+		assertEquals("org.example", artifact.getGroupId());
+		assertEquals("foo", artifact.getArtifactId());
+		assertEquals(Collections.singletonList(identity.getSha1()), lookups);
+		index.setSources(jar, new Path("/tmp/foo-sources.jar"));
+		index.close();
+
+		index = new JarIdentityIndex(stateLocation, identifier);
+		assertEquals(artifact, index.identify(jar, null));
+		assertEquals(new Path("/tmp/foo-sources.jar"), index.get(jar).getSources());
+		assertEquals("The remote lookup should have been persisted", 1, lookups.size());
+	}
+
+	@Test
+	public void testFailedLookupsAreNotPersisted() throws Exception {
+		IPath jar = createJar("foo.jar", "Foo.class");
+		boolean[] offline = { true };
+		JarIdentityIndex index = new JarIdentityIndex(stateLocation, (sha1, monitor) -> {
+			lookups.add(sha1);
+			if (offline[0]) {
+				throw new IOException("offline");
+			}
+			return null;
+		});
+		index.index(Collections.singletonList(jar), null);
+		assertNull(index.identify(jar, null));
+		offline[0] = false;
+		assertNull(index.identify(jar, null));
+		assertEquals("The failed lookup should have been tried again", 2, lookups.size());
+		assertNull(index.identify(jar, null));
+		assertEquals("The jar which isn't found should not be looked up again", 2, lookups.size());
+	}
+
+	@Test
+	public void testChangedJarsAreIndexedAgain() throws Exception {
+		IPath jar = createJar("bar.jar", "Bar.class");
+		JarIdentityIndex index = new JarIdentityIndex(stateLocation, identifier);
+		index.index(Collections.singletonList(jar), null);
+		String sha1 = index.get(jar).getSha1();
+		createJar("bar.jar", "Bar.class", "Baz.class");
+		assertNull(index.get(jar));
+		assertTrue(index.index(Collections.singletonList(jar), null));
+		assertNotEquals(sha1, index.get(jar).getSha1());
+	}
+
+	@Test
+	public void testDeletedJarsArePruned() throws Exception {
+		IPath foo = createJar("foo.jar", "Foo.class");
+		IPath bar = createJar("bar.jar", "Bar.class");
+		JarIdentityIndex index = new JarIdentityIndex(stateLocation, identifier);
+		index.index(Arrays.asList(foo, bar), null);
+		assertEquals(2, index.size());
+		assertTrue(foo.toFile().delete());
+		assertFalse(index.index(Collections.singletonList(bar), null));
+		assertEquals(1, index.size());
+		index.close();
+		assertEquals(1, new JarIdentityIndex(stateLocation, identifier).size());
+	}
+
+	private IPath createJar(String name, String... entries) throws Exception {
+		File jar = new File(stateLocation, name);
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+			for (String entry : entries) {
+				out.putNextEntry(new ZipEntry(entry));
+				out.write(entry.getBytes());
+				out.closeEntry();
+			}
+		}
+		return Path.fromOSString(jar.getAbsolutePath());
+	}
+}
@@ -21,6 +21,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.net.URI;
@@ -33,6 +37,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.IJobChangeListener;
@@ -44,6 +49,7 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.core.BinaryType;
 import org.eclipse.jdt.ls.core.internal.DependencyUtil;
+import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
@@ -52,6 +58,8 @@ import org.eclipse.jdt.ls.core.internal.SourceContentProvider;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager.CHANGE_TYPE;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.FeatureStatus;
+import org.eclipse.m2e.core.project.IProjectConfigurationManager;
+import org.eclipse.m2e.core.project.MavenUpdateRequest;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -91,6 +99,24 @@ public class MavenBuildSupportTest extends AbstractMavenBasedTest {
 		assertNoErrors(project);
 	}
 
+	@Test
+	public void testSkipUpdateWithoutSemanticChange() throws Exception {
+		IProject project = importMavenProject("salut");
+		URI pomUri = project.getFile("pom.xml").getRawLocationURI();
+		String originalPom = getContent(pomUri);
+		IProjectConfigurationManager configurationManager = mock(IProjectConfigurationManager.class);
+		MavenBuildSupport buildSupport = new MavenBuildSupport(configurationManager);
+		buildSupport.setShouldCollectProjects(false);
+
+		setContent(pomUri, originalPom.replace("<build>", "<!-- salut -->\n\t<description>Salut</description>\n\t<build>"));
+		buildSupport.update(project, false, monitor);
+		verify(configurationManager, never()).updateProjectConfiguration(any(MavenUpdateRequest.class), any(IProgressMonitor.class));
+
+		setContent(pomUri, originalPom.replace("<version>3.5</version>", "<version>3.9</version>"));
+		buildSupport.update(project, false, monitor);
+		verify(configurationManager).updateProjectConfiguration(any(MavenUpdateRequest.class), any(IProgressMonitor.class));
+	}
+
 	@Test
 	public void testCompileWithErrorProne() throws Exception {
 		testNonStandardCompilerId("compile-with-error-prone");
@@ -127,6 +153,19 @@ public class MavenBuildSupportTest extends AbstractMavenBasedTest {
 		}
 	}
 
+	@Test
+	public void testMergedUpdates() throws Exception {
+		IProject project = importMavenProject("multimodule");
+		IProject module1 = WorkspaceHelper.getProject("module1");
+		assertNotNull(module1);
+		Job job = projectsManager.updateProject(project, false);
+		assertTrue(job == projectsManager.updateProject(module1, true));
+		assertTrue(job.belongsTo(IConstants.JOBS_FAMILY + "." + module1.getName()));
+		job.join();
+		assertTrue(job.getResult().isOK());
+		assertFalse(job.belongsTo(IConstants.JOBS_FAMILY + "." + module1.getName()));
+	}
+
 	@Test
 	public void testIgnoreInnerPomChanges() throws Exception {
 		IProject project = importMavenProject("archetyped");
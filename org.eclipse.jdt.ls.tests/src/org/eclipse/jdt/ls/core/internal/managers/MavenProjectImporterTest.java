@@ -395,6 +395,15 @@ public class MavenProjectImporterTest extends AbstractMavenBasedTest {
 
 	}
 
+	@Test
+	public void testImportBatchSize() {
+		long mb = 1024L * 1024L;
+		assertEquals(500, MavenProjectImporter.getImportBatchSize(500, Long.MAX_VALUE, 0));
+		assertEquals(32, MavenProjectImporter.getImportBatchSize(500, 2048 * mb, 1024 * mb));
+		assertEquals(20, MavenProjectImporter.getImportBatchSize(20, 2048 * mb, 1024 * mb));
+		assertEquals(10, MavenProjectImporter.getImportBatchSize(500, 1024 * mb, 1024 * mb));
+	}
+
 	private static class ProgressReporter extends NullProgressMonitor {
 		private boolean scanned = false;
 
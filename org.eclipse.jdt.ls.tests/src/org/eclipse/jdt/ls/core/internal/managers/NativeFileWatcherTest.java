@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.eclipse.lsp4j.FileSystemWatcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NativeFileWatcherTest {
+
+	private File root;
+	private BlockingQueue<DidChangeWatchedFilesParams> notifications = new LinkedBlockingQueue<>();
+	private NativeFileWatcher watcher = new NativeFileWatcher(notifications::add);
+
+	@Before
+	public void setup() throws Exception {
+		root = Files.createTempDirectory("native-watcher").toFile().getCanonicalFile();
+	}
+
+	@After
+	public void cleanUp() throws Exception {
+		watcher.close();
+		FileUtils.deleteDirectory(root);
+	}
+
+	@Test
+	public void testWatchedFilesAreReported() throws Exception {
+		watcher.watch(Collections.singletonList(Path.fromOSString(root.getAbsolutePath())), Arrays.asList(new FileSystemWatcher("**/*.java")));
+		File folder = new File(root, "src/foo");
+		folder.mkdirs();
+		File java = new File(folder, "Foo.java");
+		FileUtils.writeStringToFile(java, "class Foo {}");
+		FileUtils.writeStringToFile(new File(folder, "foo.txt"), "foo");
+
+		DidChangeWatchedFilesParams params = notifications.poll(10, TimeUnit.SECONDS);
+		assertNotNull("No change reported", params);
+		List<FileEvent> changes = params.getChanges();
+		assertEquals(1, changes.size());
+		assertEquals(ResourceUtils.fixURI(java.toURI()), changes.get(0).getUri());
+		assertEquals(FileChangeType.Created, changes.get(0).getType());
+		assertTrue(watcher.isWatching());
+	}
+
+	@Test
+	public void testDerivedFoldersAreNotWatched() throws Exception {
+		List<java.nio.file.Path> registered = new ArrayList<>();
+		watcher = new NativeFileWatcher(notifications::add, (folder, service) -> {
+			registered.add(folder);
+			return folder.register(service, ENTRY_CREATE);
+		});
+		new File(root, "src/main").mkdirs();
+		new File(root, "target/classes").mkdirs();
+		new File(root, ".gradle/caches").mkdirs();
+		watcher.watch(Collections.singletonList(Path.fromOSString(root.getAbsolutePath())), Collections.singletonList(Path.fromOSString(new File(root, "target").getAbsolutePath())),
+				Arrays.asList(new FileSystemWatcher("**/*.java")));
+		assertEquals(new HashSet<>(Arrays.asList(root.toPath(), root.toPath().resolve("src"), root.toPath().resolve("src/main"))), new HashSet<>(registered));
+	}
+
+	@Test
+	public void testFailureStopsWatching() throws Exception {
+		watcher = new NativeFileWatcher(notifications::add, (folder, service) -> {
+			throw new IOException("User limit of inotify watches reached");
+		});
+		try {
+			watcher.watch(Collections.singletonList(Path.fromOSString(root.getAbsolutePath())), Arrays.asList(new FileSystemWatcher("**/*.java")));
+			fail("The failure should be reported");
+		} catch (IOException e) {
+			assertFalse(watcher.isWatching());
+		}
+	}
+
+	@Test
+	public void testChangesAreCoalesced() throws Exception {
+		watcher.watch(Collections.emptyList(), Arrays.asList(new FileSystemWatcher("**/*.java")));
+		java.nio.file.Path created = root.toPath().resolve("Created.java");
+		java.nio.file.Path deleted = root.toPath().resolve("Deleted.java");
+		java.nio.file.Path replaced = root.toPath().resolve("Replaced.java");
+		watcher.addChange(created, FileChangeType.Created);
+		watcher.addChange(created, FileChangeType.Changed);
+		watcher.addChange(deleted, FileChangeType.Created);
+		watcher.addChange(deleted, FileChangeType.Deleted);
+		watcher.addChange(replaced, FileChangeType.Deleted);
+		watcher.addChange(replaced, FileChangeType.Created);
+		watcher.addChange(root.toPath().resolve("Ignored.txt"), FileChangeType.Changed);
+		watcher.flush();
+
+		List<FileEvent> changes = notifications.poll().getChanges();
+		assertEquals(2, changes.size());
+		assertEquals(ResourceUtils.fixURI(created.toUri()), changes.get(0).getUri());
+		assertEquals(FileChangeType.Created, changes.get(0).getType());
+		assertEquals(ResourceUtils.fixURI(replaced.toUri()), changes.get(1).getUri());
+		assertEquals(FileChangeType.Changed, changes.get(1).getType());
+	}
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+
+public class PathTrieTest {
+
+	@Test
+	public void testContainment() {
+		PathTrie trie = new PathTrie();
+		assertTrue(trie.isEmpty());
+		assertTrue(trie.add(new Path("/work/project/lib")));
+		assertTrue(trie.add(new Path("/work/other/src")));
+		assertFalse(trie.add(new Path("/work/project/lib/foo.jar")));
+		assertFalse(trie.add(new Path("/work/project/lib")));
+		assertTrue(trie.contains(new Path("/work/project/lib/foo.jar")));
+		assertTrue(trie.contains(new Path("/work/project/lib")));
+		assertFalse(trie.contains(new Path("/work/project")));
+		assertFalse(trie.contains(new Path("/work/project/library")));
+		assertEquals(Arrays.asList(new Path("/work/project/lib"), new Path("/work/other/src")), trie.getPaths());
+	}
+
+	@Test
+	public void testContainingPathReplacesContainedPaths() {
+		PathTrie trie = new PathTrie();
+		trie.add(new Path("/work/project/lib/foo.jar"));
+		trie.add(new Path("/work/project/src"));
+		trie.add(new Path("/work/other"));
+		assertTrue(trie.add(new Path("/work/project")));
+		assertEquals(Arrays.asList(new Path("/work/other"), new Path("/work/project")), trie.getPaths());
+		assertTrue(trie.contains(new Path("/work/project/lib/bar.jar")));
+	}
+}
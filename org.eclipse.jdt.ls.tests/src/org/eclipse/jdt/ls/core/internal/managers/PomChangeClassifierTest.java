@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jdt.ls.core.internal.managers.PomChangeClassifier.Kind;
+import org.eclipse.jdt.ls.core.internal.managers.PomChangeClassifier.PomChange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PomChangeClassifierTest {
+
+	private static final String POM = "<project>\n" +
+			"  <parent><groupId>org.example</groupId><artifactId>parent</artifactId><version>1.0</version></parent>\n" +
+			"  <artifactId>foo</artifactId>\n" +
+			"  <description>%s</description>\n" +
+			"  <modules>%s</modules>\n" +
+			"  <properties>%s</properties>\n" +
+			"</project>\n";
+
+	private File directory;
+	private Path pom;
+	private PomChangeClassifier classifier;
+
+	@Before
+	public void setup() throws Exception {
+		directory = Files.createTempDirectory("pom-sections").toFile();
+		pom = new File(directory, "pom.xml").toPath();
+		classifier = new PomChangeClassifier(directory);
+	}
+
+	@After
+	public void cleanUp() throws Exception {
+		FileUtils.deleteDirectory(directory);
+	}
+
+	@Test
+	public void testClassify() throws Exception {
+		write("Foo", "<module>a</module>", "<java.version>11</java.version>");
+		PomChange change = classifier.classify(pom);
+		assertEquals("Unknown POMs should be fully updated", Kind.UNKNOWN, change.getKind());
+		assertEquals(Collections.emptySet(), change.getSections());
+		assertEquals("org.example:parent", classifier.getParent(pom));
+
+		write("The Foo project", "\n    <module>a</module>\n    <!-- b -->\n  ", "<java.version>11</java.version>");
+		assertEquals(Kind.NONE, classifier.classify(pom).getKind());
+
+		write("The Foo project", "<module>a</module><module>b</module>", "<java.version>11</java.version>");
+		change = classifier.classify(pom);
+		assertEquals(Kind.LOCAL, change.getKind());
+		assertEquals(Arrays.asList("b"), change.getAddedModules());
+
+		write("The Foo project", "<module>a</module><module>b</module>", "<java.version>17</java.version>");
+		change = classifier.classify(pom);
+		assertEquals(Kind.INHERITED, change.getKind());
+		assertEquals(Collections.singleton("properties"), change.getSections());
+	}
+
+	@Test
+	public void testSectionsArePersisted() throws Exception {
+		write("Foo", "", "<java.version>11</java.version>");
+		classifier.classify(pom);
+		classifier.save();
+		write("Bar", "", "<java.version>11</java.version>");
+		assertEquals(Kind.NONE, new PomChangeClassifier(directory).classify(pom).getKind());
+	}
+
+	@Test
+	public void testInvalidPom() throws Exception {
+		write("Foo", "", "<java.version>11</java.version>");
+		classifier.classify(pom);
+		Files.write(pom, "<project><properties>".getBytes());
+		assertEquals(Kind.UNKNOWN, classifier.classify(pom).getKind());
+		assertNull(new PomChangeClassifier(directory).getParent(pom));
+		write("Foo", "", "<java.version>11</java.version>");
+		assertEquals("The last valid POM should be compared", Kind.NONE, classifier.classify(pom).getKind());
+	}
+
+	private void write(String description, String modules, String properties) throws Exception {
+		Files.write(pom, String.format(POM, description, modules, properties).getBytes());
+	}
+}
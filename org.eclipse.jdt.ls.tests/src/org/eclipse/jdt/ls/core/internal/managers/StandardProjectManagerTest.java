@@ -13,16 +13,32 @@
 package org.eclipse.jdt.ls.core.internal.managers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
+import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jdt.ls.core.internal.preferences.StandardPreferenceManager;
+import org.eclipse.lsp4j.FileSystemWatcher;
+import org.eclipse.lsp4j.Registration;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 /**
  * @author siarhei_leanavets1
@@ -55,4 +71,36 @@ public class StandardProjectManagerTest {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testNativeWatchingFallsBackToClientWatchers() throws Exception {
+		File root = Files.createTempDirectory("native-watcher").toFile();
+		PreferenceManager preferenceManager = mock(StandardPreferenceManager.class);
+		Preferences preferences = mock(Preferences.class);
+		when(preferences.isNativeFileWatcherEnabled()).thenReturn(Boolean.TRUE);
+		when(preferences.getRootPaths()).thenReturn(Collections.singletonList(Path.fromOSString(root.getAbsolutePath())));
+		when(preferenceManager.getPreferences()).thenReturn(preferences);
+		ClientPreferences clientPreferences = mock(ClientPreferences.class);
+		when(clientPreferences.isWorkspaceChangeWatchedFilesDynamicRegistered()).thenReturn(Boolean.TRUE);
+		when(preferenceManager.getClientPreferences()).thenReturn(clientPreferences);
+		JDTLanguageServer server = mock(JDTLanguageServer.class);
+		JavaLanguageServerPlugin.getInstance().setProtocol(server);
+		NativeFileWatcher nativeWatcher = new NativeFileWatcher(params -> {
+		}, (folder, service) -> {
+			throw new IOException("User limit of inotify watches reached");
+		});
+		StandardProjectsManager.setNativeFileWatcher(nativeWatcher);
+		try {
+			List<FileSystemWatcher> watchers = new StandardProjectsManagerDummy(preferenceManager).registerWatchers();
+			assertFalse(nativeWatcher.isWatching());
+			ArgumentCaptor<List<Registration>> registrations = ArgumentCaptor.forClass(List.class);
+			verify(server).registerCapabilities(registrations.capture());
+			assertEquals("The watchers should be registered with the client", watchers.size(), registrations.getValue().size());
+		} finally {
+			StandardProjectsManager.setNativeFileWatcher(new NativeFileWatcher());
+			JavaLanguageServerPlugin.getInstance().setProtocol(null);
+			FileUtils.deleteDirectory(root);
+		}
+	}
+
 }
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkspaceSnapshotTest extends AbstractProjectsManagerBasedTest {
+
+	private static final String SETTINGS = "settings";
+
+	private File stateLocation;
+
+	@Before
+	public void createStateLocation() throws Exception {
+		stateLocation = Files.createTempDirectory("jdtls-snapshot").toFile();
+	}
+
+	@After
+	public void deleteStateLocation() throws Exception {
+		FileUtils.deleteDirectory(stateLocation);
+	}
+
+	@Test
+	public void testSnapshot() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = WorkspaceHelper.getProject("hello");
+		Collection<IPath> rootPaths = Collections.singleton(Path.fromOSString(project.getLocation().toOSString()));
+		WorkspaceSnapshot snapshot = new WorkspaceSnapshot(stateLocation);
+		assertFalse(snapshot.isValid(rootPaths, SETTINGS));
+
+		snapshot.save(rootPaths, SETTINGS, monitor);
+		assertTrue(snapshot.isValid(rootPaths, SETTINGS));
+		assertFalse(snapshot.isValid(rootPaths, "other settings"));
+		assertFalse(snapshot.hasBuildFileChanges(monitor));
+
+		// the snapshot is persisted
+		snapshot = new WorkspaceSnapshot(stateLocation);
+		assertTrue(snapshot.isValid(rootPaths, SETTINGS));
+
+		File classpath = project.getFile(".classpath").getLocation().toFile();
+		FileUtils.writeStringToFile(classpath, FileUtils.readFileToString(classpath) + "\n");
+		assertFalse(snapshot.isValid(rootPaths, SETTINGS));
+	}
+
+	@Test
+	public void testNewBuildFile() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = WorkspaceHelper.getProject("hello");
+		Collection<IPath> rootPaths = Collections.singleton(Path.fromOSString(project.getLocation().toOSString()));
+		WorkspaceSnapshot snapshot = new WorkspaceSnapshot(stateLocation);
+		snapshot.save(rootPaths, SETTINGS, monitor);
+
+		File module = new File(project.getLocation().toFile(), "module");
+		module.mkdirs();
+		FileUtils.writeStringToFile(new File(module, "pom.xml"), "<project/>");
+		assertTrue(snapshot.hasBuildFileChanges(monitor));
+
+		snapshot.invalidate();
+		assertFalse(new WorkspaceSnapshot(stateLocation).isValid(rootPaths, SETTINGS));
+	}
+
+	@Test
+	public void testGradleBuildInputs() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = WorkspaceHelper.getProject("hello");
+		File location = project.getLocation().toFile();
+		Collection<IPath> rootPaths = Collections.singleton(Path.fromOSString(location.getPath()));
+		WorkspaceSnapshot snapshot = new WorkspaceSnapshot(stateLocation);
+		snapshot.save(rootPaths, SETTINGS, monitor);
+
+		FileUtils.writeStringToFile(new File(location, "gradle/wrapper/gradle-wrapper.properties"), "distributionUrl=gradle-7.0-bin.zip");
+		assertFalse(snapshot.isValid(rootPaths, SETTINGS));
+
+		snapshot.save(rootPaths, SETTINGS, monitor);
+		FileUtils.writeStringToFile(new File(location, "buildSrc/build/classes/Plugin.class"), "output");
+		assertTrue(snapshot.isValid(rootPaths, SETTINGS));
+		FileUtils.writeStringToFile(new File(location, "buildSrc/src/main/groovy/plugin.gradle"), "apply plugin: 'java'");
+		assertFalse(snapshot.isValid(rootPaths, SETTINGS));
+	}
+}
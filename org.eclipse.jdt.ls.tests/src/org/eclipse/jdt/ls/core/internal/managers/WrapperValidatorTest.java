@@ -24,7 +24,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -32,10 +31,12 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.internal.gradle.checksums.ChecksumStore;
 import org.eclipse.jdt.ls.internal.gradle.checksums.ValidationResult;
 import org.eclipse.jdt.ls.internal.gradle.checksums.WrapperValidator;
 import org.junit.After;
@@ -83,11 +84,9 @@ public class WrapperValidatorTest extends AbstractGradleBasedTest{
 		String sha256 = null;
 		if (url == null) {
 			String message = Files.list(Paths.get(sha256Directory.getAbsolutePath())).collect(Collectors.toList()).toString();
-			file = new File(sha256Directory, fileName);
-			if (file.isFile()) {
-				assertTrue(message, file.isFile());
-				sha256 = Files.lines(Paths.get(file.getAbsolutePath()), StandardCharsets.UTF_8).findFirst().get();
-			}
+			ChecksumStore store = new ChecksumStore(sha256Directory);
+			assertTrue(message, store.getFile().isFile());
+			sha256 = store.get(fileName);
 		} else {
 			try (InputStream inputStream = url.openStream(); InputStreamReader inputStreamReader = new InputStreamReader(inputStream); Reader reader = new BufferedReader(inputStreamReader)) {
 				JsonElement jsonElement = new JsonParser().parse(reader);
@@ -108,6 +107,22 @@ public class WrapperValidatorTest extends AbstractGradleBasedTest{
 		assertEquals("1cef53de8dc192036e7b0cc47584449b0cf570a00d560bfaa6c9eabe06e1fc06", sha256);
 	}
 
+	@Test
+	public void testChecksumStore() throws Exception {
+		File directory = Files.createTempDirectory("checksums").toFile();
+		try {
+			ChecksumStore store = new ChecksumStore(directory);
+			assertTrue(store.put("gradle-6.3-wrapper.jar.sha256", "1CEF53DE8DC192036E7B0CC47584449B0CF570A00D560BFAA6C9EABE06E1FC06\n"));
+			assertFalse(store.put("invalid.sha256", "<html>Not found</html>"));
+			store.save();
+			store = new ChecksumStore(directory);
+			assertEquals("1cef53de8dc192036e7b0cc47584449b0cf570a00d560bfaa6c9eabe06e1fc06", store.get("gradle-6.3-wrapper.jar.sha256"));
+			assertEquals(1, store.getChecksums().size());
+		} finally {
+			FileUtils.deleteDirectory(directory);
+		}
+	}
+
 	@Test
 	public void testMissingSha256() throws Exception {
 		WrapperValidator wrapperValidator = new WrapperValidator(100);
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBuckets() {
+		for (long micros = 0; micros < 100000; micros++) {
+			int index = LatencyHistogram.getIndex(micros);
+			assertTrue(micros <= LatencyHistogram.getUpperBound(index));
+			// the error is less than 1/16th of the value
+			assertTrue(LatencyHistogram.getUpperBound(index) - micros <= micros / 16);
+			if (index > 0) {
+				assertTrue(micros > LatencyHistogram.getUpperBound(index - 1));
+			}
+		}
+		// longer durations fall in the last bucket
+		assertEquals(LatencyHistogram.getIndex(Long.MAX_VALUE), LatencyHistogram.getIndex((1L << 41) - 1));
+	}
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int millis = 1; millis <= 100; millis++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(50.5, histogram.getMean(), 0.001);
+		assertEquals(100, histogram.getMax(), 0.001);
+		assertEquals(50, histogram.getPercentile(50), 50 / 16d);
+		assertEquals(90, histogram.getPercentile(90), 90 / 16d);
+		assertEquals(100, histogram.getPercentile(100), 0.001);
+	}
+
+	@Test
+	public void testEmpty() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMean(), 0);
+		assertEquals(0, histogram.getPercentile(99), 0);
+	}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsSnapshot.CacheStats;
+import org.eclipse.jdt.ls.core.internal.metrics.MetricsSnapshot.RequestStats;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.junit.After;
+import org.junit.Test;
+
+public class MetricsTest {
+
+	@After
+	public void tearDown() {
+		Metrics.setCurrentMethod(null);
+		Metrics.reset();
+	}
+
+	@Test
+	public void testRequests() {
+		Metrics.setCurrentMethod("textDocument/hover");
+		assertEquals("hover", Metrics.track(cc -> "hover").apply(null));
+		Metrics.setCurrentMethod(null);
+		Metrics.recordResponse("textDocument/hover", 1000000, null);
+		Metrics.recordResponse("textDocument/hover", 2000000, new ResponseError(ResponseErrorCode.RequestCancelled, "cancelled", null));
+		Metrics.recordResponse("textDocument/hover", 3000000, new ResponseError(ResponseErrorCode.InternalError, "failed", null));
+
+		RequestStats stats = Metrics.snapshot().requests.get("textDocument/hover");
+		assertNotNull(stats);
+		assertEquals(3, stats.latency.count);
+		assertEquals(3, stats.latency.max, 0.001);
+		assertEquals(1, stats.queueWait.count);
+		assertEquals(1, stats.execution.count);
+		assertEquals(1, stats.cancelled);
+		assertEquals(1, stats.failed);
+	}
+
+	@Test
+	public void testRequestsNotDispatched() {
+		Metrics.recordResponse("textDocument/documentSymbol", 1000000, null);
+		RequestStats stats = Metrics.snapshot().requests.get("textDocument/documentSymbol");
+		assertEquals(1, stats.latency.count);
+		assertNull(stats.queueWait);
+	}
+
+	@Test
+	public void testCaches() {
+		Metrics.getCacheMetrics("test").lookup("value");
+		Metrics.getCacheMetrics("test").lookup(null);
+		Metrics.getCacheMetrics("test").hit();
+		CacheStats stats = Metrics.snapshot().caches.get("test");
+		assertEquals(2, stats.hits);
+		assertEquals(1, stats.misses);
+		assertEquals(2 / 3d, stats.hitRate, 0.001);
+	}
+
+	@Test
+	public void testJvm() {
+		MetricsSnapshot snapshot = Metrics.snapshot();
+		assertTrue(snapshot.memory.heapUsed > 0);
+		assertTrue(snapshot.threads > 0);
+		assertNotNull(snapshot.garbageCollectors);
+	}
+}
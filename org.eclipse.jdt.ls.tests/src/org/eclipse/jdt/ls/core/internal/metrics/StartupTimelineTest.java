@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class StartupTimelineTest {
+
+	@Before
+	public void setup() {
+		// the timeline of the startup of the test runtime
+		StartupTimeline.end();
+	}
+
+	@Test
+	public void testPhases() throws Exception {
+		StartupTimeline.begin();
+		try (StartupTimeline.Phase phase = StartupTimeline.phase("first")) {
+			Thread.sleep(5);
+		}
+		StartupTimeline.Phase pending = StartupTimeline.phase("second");
+		StartupTimeline timeline = StartupTimeline.end();
+		StartupTimeline.phase("ignored").close();
+		pending.close();
+
+		List<StartupTimeline.Phase> phases = timeline.getPhases();
+		assertEquals(2, phases.size());
+		assertEquals("first", phases.get(0).getName());
+		assertTrue(phases.get(0).getDuration() >= 5);
+		assertEquals("second", phases.get(1).getName());
+		assertTrue(phases.get(1).getStart() >= phases.get(0).getDuration());
+		assertTrue(timeline.getDuration() >= phases.get(0).getDuration());
+		assertNull(StartupTimeline.end());
+	}
+
+	@Test
+	public void testBeginOnce() {
+		StartupTimeline.begin();
+		StartupTimeline.phase("first").close();
+		StartupTimeline.begin();
+		assertEquals(1, StartupTimeline.end().getPhases().size());
+	}
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.preferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.eclipse.jdt.ls.core.internal.RuntimeEnvironment;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferencesDiff.Group;
+import org.junit.Test;
+
+public class PreferencesDiffTest {
+
+	@Test
+	public void testNoChange() {
+		Preferences oldPreferences = new Preferences();
+		Preferences newPreferences = new Preferences();
+		newPreferences.setImportOnDemandThreshold(10);
+		assertTrue(PreferencesDiff.compute(oldPreferences, newPreferences).isEmpty());
+	}
+
+	@Test
+	public void testChangedGroups() {
+		Preferences oldPreferences = new Preferences();
+		Preferences newPreferences = new Preferences();
+		newPreferences.setCompletionEnabled(!oldPreferences.isCompletionEnabled());
+		newPreferences.setFormatterUrl("file:///formatter.xml");
+		assertEquals(EnumSet.of(Group.CAPABILITIES, Group.SETTINGS), PreferencesDiff.compute(oldPreferences, newPreferences));
+	}
+
+	@Test
+	public void testChangedRuntime() {
+		RuntimeEnvironment oldRuntime = new RuntimeEnvironment();
+		oldRuntime.setName("JavaSE-11");
+		oldRuntime.setPath("/jdk/11");
+		RuntimeEnvironment newRuntime = new RuntimeEnvironment();
+		newRuntime.setName("JavaSE-11");
+		newRuntime.setPath("/jdk/11.0.2");
+		Preferences oldPreferences = new Preferences().setRuntimes(Collections.singleton(oldRuntime));
+		Preferences newPreferences = new Preferences().setRuntimes(Collections.singleton(newRuntime));
+		assertEquals(EnumSet.of(Group.RUNTIMES), PreferencesDiff.compute(oldPreferences, newPreferences));
+	}
+
+	@Test
+	public void testAllGroupsChangedWithoutPreviousPreferences() {
+		assertEquals(EnumSet.allOf(Group.class), PreferencesDiff.compute(null, new Preferences()));
+	}
+}
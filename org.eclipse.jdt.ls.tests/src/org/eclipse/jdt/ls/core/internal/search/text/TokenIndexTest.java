@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.search.text;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.ls.core.internal.AbstractWorkspaceTest;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TokenIndexTest extends AbstractWorkspaceTest {
+
+	private File stateLocation;
+	private IProject project;
+	private TokenIndex index;
+
+	@Before
+	public void setup() throws Exception {
+		stateLocation = Files.createTempDirectory("token-index").toFile();
+		project = WorkspaceHelper.getProject("tokens");
+		project.create(null);
+		project.open(null);
+		index = new TokenIndex(stateLocation);
+	}
+
+	@After
+	public void cleanUp() throws Exception {
+		index.close();
+		WorkspaceHelper.delete(project);
+		FileUtils.deleteDirectory(stateLocation);
+	}
+
+	@Test
+	public void testFilter() throws Exception {
+		IFile foo = createFile("foo.xml", "<bean class=\"org.example.Foo\"/>");
+		IFile bar = createFile("bar.properties", "main=org.example.Bar\nfoo=FooFactory");
+		IFile baz = createFile("baz.txt", "org.example.Foo, org.example.Bar");
+		index.index(foo);
+		index.index(bar);
+		IFile[] files = new IFile[] { foo, bar, baz };
+		assertArrayEquals("Unindexed files should be searched", new IFile[] { foo, baz }, index.filter(files, "org.example.Foo"));
+		assertArrayEquals(new IFile[] { bar, baz }, index.filter(files, "org.example.Bar"));
+		assertArrayEquals("Patterns can't be filtered", files, index.filter(files, "org.*.Foo"));
+
+		bar.setContents(new ByteArrayInputStream("main=org.example.Foo".getBytes()), IResource.FORCE, null);
+		assertArrayEquals("Changed files should be searched", new IFile[] { foo, bar, baz }, index.filter(files, "org.example.Foo"));
+	}
+
+	@Test
+	public void testIndexIsPersisted() throws Exception {
+		IFile foo = createFile("foo.xml", "<bean class=\"org.example.Foo\"/>");
+		index.index(foo);
+		index.save();
+		index.close();
+		index = new TokenIndex(stateLocation);
+		IFile[] files = new IFile[] { foo };
+		assertArrayEquals(files, index.filter(files, "org.example.Foo"));
+		assertArrayEquals(new IFile[0], index.filter(files, "org.example.Bar"));
+	}
+
+	@Test
+	public void testOutOfDateFilesAreIndexedAgain() throws Exception {
+		IFile foo = createFile("foo.xml", "<bean class=\"org.example.Foo\"/>");
+		index.index(foo);
+		index.close();
+		// changed while the index isn't maintained
+		foo.setContents(new ByteArrayInputStream("<bean class=\"org.example.Bar\"/>".getBytes()), IResource.FORCE, null);
+		index = new TokenIndex(stateLocation);
+		IFile[] files = new IFile[] { foo };
+		assertArrayEquals("Changed files should be searched", files, index.filter(files, "org.example.Foo"));
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!index.isUpToDate() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(50);
+		}
+		assertArrayEquals(new IFile[0], index.filter(files, "org.example.Foo"));
+		assertArrayEquals(files, index.filter(files, "org.example.Bar"));
+	}
+
+	private IFile createFile(String name, String content) throws Exception {
+		IFile file = project.getFile(name);
+		file.create(new ByteArrayInputStream(content.getBytes()), true, null);
+		return file;
+	}
+}